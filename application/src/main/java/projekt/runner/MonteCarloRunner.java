@@ -0,0 +1,156 @@
+package projekt.runner;
+
+import projekt.delivery.archetype.ProblemArchetype;
+import projekt.delivery.archetype.ProblemGroup;
+import projekt.delivery.rating.RatingCriteria;
+import projekt.delivery.service.DeliveryService;
+import projekt.delivery.simulation.Simulation;
+import projekt.delivery.simulation.SimulationConfig;
+import projekt.runner.handler.ResultHandler;
+import projekt.runner.handler.SimulationFinishedHandler;
+import projekt.runner.handler.SimulationResultHandler;
+import projekt.runner.handler.SimulationSetupHandler;
+
+import java.util.*;
+
+/**
+ * A {@link Runner} that stops simulating a {@link ProblemArchetype} once its scores are known precisely enough.<p>
+ *
+ * The scores of every {@link ProblemArchetype} and {@link RatingCriteria} are collected in {@link RunningStatistics}.
+ * After at least {@code minRuns} runs, a {@link ProblemArchetype} is not simulated any further once the confidence
+ * interval of the mean score of every {@link RatingCriteria} is narrower than twice the tolerance. The
+ * {@code simulationRuns} passed to {@link #run} are the maximum amount of runs per {@link ProblemArchetype}.<p>
+ *
+ * Like {@link RunnerImpl}, the simulations are executed one after another on the calling thread, in rounds over all
+ * {@link ProblemArchetype}s that have not converged yet. Every run uses its own {@link Simulation}, whose
+ * {@link projekt.delivery.generator.OrderGenerator.Factory} is {@linkplain ProblemArchetype#withSeed(long) seeded} with
+ * the index of the run, so the runs are independent samples and every execution of the runner gives the same results. The average passed to the {@link ResultHandler} is the mean of
+ * the mean scores of the {@link ProblemArchetype}s, so every {@link ProblemArchetype} is weighted equally regardless
+ * of its amount of runs.
+ */
+public class MonteCarloRunner extends RunnerImpl {
+
+    private final double tolerance;
+    private final double confidenceLevel;
+    private final int minRuns;
+    private final SimulationResultHandler simulationResultHandler;
+    private final Map<ProblemArchetype, Map<RatingCriteria, RunningStatistics>> statistics = new LinkedHashMap<>();
+
+    /**
+     * Creates a new {@link MonteCarloRunner} instance.
+     * @param tolerance The maximum half-width of the confidence intervals at which a {@link ProblemArchetype} is not
+     *                  simulated any further.
+     * @param confidenceLevel The confidence level of the confidence intervals, between 0 and 1 exclusive.
+     * @param minRuns The minimum amount of runs of every {@link ProblemArchetype}, at least 2.
+     * @param simulationResultHandler A {@link SimulationResultHandler} whose accept method will be called after every
+     *                                simulation with the scores of that simulation.
+     */
+    public MonteCarloRunner(double tolerance, double confidenceLevel, int minRuns, SimulationResultHandler simulationResultHandler) {
+        if (!(tolerance > 0)) {
+            throw new IllegalArgumentException("tolerance must be positive");
+        }
+        if (!(confidenceLevel > 0 && confidenceLevel < 1)) {
+            throw new IllegalArgumentException("confidenceLevel must be between 0 and 1 exclusive");
+        }
+        if (minRuns < 2) {
+            throw new IllegalArgumentException("minRuns must be at least 2");
+        }
+        this.tolerance = tolerance;
+        this.confidenceLevel = confidenceLevel;
+        this.minRuns = minRuns;
+        this.simulationResultHandler = simulationResultHandler;
+    }
+
+    /**
+     * Creates a new {@link MonteCarloRunner} instance with 95% confidence intervals and at least 10 runs per
+     * {@link ProblemArchetype}.
+     * @param tolerance The maximum half-width of the confidence intervals at which a {@link ProblemArchetype} is not
+     *                  simulated any further.
+     */
+    public MonteCarloRunner(double tolerance) {
+        this(tolerance, 0.95, 10, (problem, run, result) -> {});
+    }
+
+    @Override
+    public void run(ProblemGroup problemGroup,
+                    SimulationConfig simulationConfig,
+                    int simulationRuns,
+                    DeliveryService.Factory deliveryServiceFactory,
+                    SimulationSetupHandler simulationSetupHandler,
+                    SimulationFinishedHandler simulationFinishedHandler,
+                    ResultHandler resultHandler) {
+
+        List<RatingCriteria> criteria = problemGroup.ratingCriteria();
+        statistics.clear();
+        for (ProblemArchetype archetype : problemGroup.problems()) {
+            Map<RatingCriteria, RunningStatistics> archetypeStatistics = new EnumMap<>(RatingCriteria.class);
+            criteria.forEach(criterion -> archetypeStatistics.put(criterion, new RunningStatistics()));
+            statistics.put(archetype, archetypeStatistics);
+        }
+
+        List<ProblemArchetype> active = new ArrayList<>(problemGroup.problems());
+        for (int i = 0; i < simulationRuns && !active.isEmpty(); i++) {
+            for (Iterator<ProblemArchetype> iterator = active.iterator(); iterator.hasNext(); ) {
+                ProblemArchetype archetype = iterator.next();
+                Simulation simulation = createSimulation(archetype.withSeed(i), simulationConfig, deliveryServiceFactory);
+                simulationSetupHandler.accept(simulation, archetype, i);
+                simulation.runSimulation(archetype.simulationLength());
+                if (simulationFinishedHandler.accept(simulation, archetype)) {
+                    return;
+                }
+
+                Map<RatingCriteria, Double> result = new EnumMap<>(RatingCriteria.class);
+                for (RatingCriteria criterion : criteria) {
+                    double rating = simulation.getRatingForCriterion(criterion);
+                    result.put(criterion, rating);
+                    statistics.get(archetype).get(criterion).add(rating);
+                }
+                simulationResultHandler.accept(archetype, i, Collections.unmodifiableMap(result));
+
+                if (hasConverged(archetype)) {
+                    iterator.remove();
+                }
+            }
+        }
+
+        Map<RatingCriteria, Double> average = new HashMap<>();
+        for (RatingCriteria criterion : criteria) {
+            average.put(criterion, statistics.values().stream()
+                .mapToDouble(archetypeStatistics -> archetypeStatistics.get(criterion).getMean())
+                .average()
+                .orElse(0));
+        }
+        resultHandler.accept(average);
+    }
+
+    /**
+     * Returns True if the given {@link ProblemArchetype} was simulated often enough to know all of its mean scores
+     * within the tolerance.
+     * @param archetype The {@link ProblemArchetype} to check.
+     * @return True if the {@link ProblemArchetype} does not need to be simulated any further.
+     */
+    public boolean hasConverged(ProblemArchetype archetype) {
+        Map<RatingCriteria, RunningStatistics> archetypeStatistics = getStatistics(archetype);
+        for (RunningStatistics criterionStatistics : archetypeStatistics.values()) {
+            if (criterionStatistics.getCount() < minRuns || criterionStatistics.getHalfWidth(confidenceLevel) > tolerance) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the statistics of the scores of the given {@link ProblemArchetype} in the current or last call of
+     * {@link #run}.
+     * @param archetype The {@link ProblemArchetype} to return the statistics of.
+     * @return An unmodifiable {@link Map} containing the {@link RunningStatistics} of every {@link RatingCriteria}.
+     * @throws IllegalArgumentException If the given {@link ProblemArchetype} was not simulated.
+     */
+    public Map<RatingCriteria, RunningStatistics> getStatistics(ProblemArchetype archetype) {
+        Map<RatingCriteria, RunningStatistics> archetypeStatistics = statistics.get(archetype);
+        if (archetypeStatistics == null) {
+            throw new IllegalArgumentException("Problem %s was not simulated".formatted(archetype));
+        }
+        return Collections.unmodifiableMap(archetypeStatistics);
+    }
+}
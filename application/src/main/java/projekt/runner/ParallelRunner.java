@@ -0,0 +1,168 @@
+package projekt.runner;
+
+import projekt.delivery.archetype.ProblemArchetype;
+import projekt.delivery.archetype.ProblemGroup;
+import projekt.delivery.rating.RatingCriteria;
+import projekt.delivery.service.DeliveryService;
+import projekt.delivery.simulation.Simulation;
+import projekt.delivery.simulation.SimulationConfig;
+import projekt.runner.handler.ResultHandler;
+import projekt.runner.handler.SimulationFinishedHandler;
+import projekt.runner.handler.SimulationResultHandler;
+import projekt.runner.handler.SimulationSetupHandler;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * A {@link Runner} that executes simulations in parallel.<p>
+ *
+ * Every run of every {@link ProblemArchetype} is executed in its own {@link Simulation} on an independent
+ * {@link ProblemArchetype#copy() copy} of the {@link ProblemArchetype}, so all runs can be executed at the same time. The
+ * copies share the {@link projekt.delivery.routing.Region} and the cached paths of the original. The
+ * {@link projekt.delivery.generator.OrderGenerator.Factory} of every copy is {@linkplain ProblemArchetype#withSeed(long)
+ * seeded} with the index of the run, so the runs create different orders, but every run creates the same orders each time
+ * the runner is executed. Since the {@link projekt.delivery.routing.VehicleManager} ticks its vehicles in the order of
+ * their ids, a run also produces the same events and scores each time, regardless of the amount of threads. The order
+ * ids are the only exception, since they are drawn from a counter that is shared by all simulations. The simulations run
+ * on a thread pool with a configurable amount of threads.<p>
+ *
+ * The handlers are never called concurrently, so they do not need to be thread-safe, but they are called from the
+ * threads of the pool. They receive the original {@link ProblemArchetype}. The result of every single simulation is passed
+ * to a {@link SimulationResultHandler} as soon as it is finished. The average scores passed to the {@link ResultHandler}
+ * are summed up in the order of the {@link ProblemArchetype}s and runs, so they do not depend on the order in which the
+ * simulations finished.
+ */
+public class ParallelRunner extends RunnerImpl {
+
+    private final int parallelism;
+    private final SimulationResultHandler simulationResultHandler;
+
+    /**
+     * Creates a new {@link ParallelRunner} instance.
+     * @param parallelism The maximum amount of simulations that are executed at the same time.
+     * @param simulationResultHandler A {@link SimulationResultHandler} whose accept method will be called after every
+     *                                simulation with the scores of that simulation.
+     */
+    public ParallelRunner(int parallelism, SimulationResultHandler simulationResultHandler) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+        this.simulationResultHandler = simulationResultHandler;
+    }
+
+    /**
+     * Creates a new {@link ParallelRunner} instance that executes as many simulations at the same time as there are
+     * available processors.
+     */
+    public ParallelRunner() {
+        this(Runtime.getRuntime().availableProcessors(), (problem, run, result) -> {});
+    }
+
+    /**
+     * Returns the maximum amount of simulations that are executed at the same time.
+     * @return The maximum amount of simulations that are executed at the same time.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @Override
+    public void run(ProblemGroup problemGroup,
+                    SimulationConfig simulationConfig,
+                    int simulationRuns,
+                    DeliveryService.Factory deliveryServiceFactory,
+                    SimulationSetupHandler simulationSetupHandler,
+                    SimulationFinishedHandler simulationFinishedHandler,
+                    ResultHandler resultHandler) {
+
+        List<ProblemArchetype> problems = problemGroup.problems();
+        List<RatingCriteria> criteria = problemGroup.ratingCriteria();
+        // results[run][problem], null if the simulation was not executed
+        @SuppressWarnings("unchecked")
+        Map<RatingCriteria, Double>[][] results = (Map<RatingCriteria, Double>[][]) new Map<?, ?>[simulationRuns][problems.size()];
+        Object handlerLock = new Object();
+        boolean[] stopSimulations = {false};
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < simulationRuns; i++) {
+                for (int p = 0; p < problems.size(); p++) {
+                    int run = i;
+                    int problemIndex = p;
+                    ProblemArchetype archetype = problems.get(p);
+                    futures.add(executor.submit(() -> {
+                        synchronized (handlerLock) {
+                            if (stopSimulations[0]) {
+                                return;
+                            }
+                        }
+                        Simulation simulation = createSimulation(archetype.copy().withSeed(run), simulationConfig, deliveryServiceFactory);
+                        synchronized (handlerLock) {
+                            simulationSetupHandler.accept(simulation, archetype, run);
+                        }
+                        simulation.runSimulation(archetype.simulationLength());
+
+                        Map<RatingCriteria, Double> result = new EnumMap<>(RatingCriteria.class);
+                        for (RatingCriteria criterion : criteria) {
+                            result.put(criterion, simulation.getRatingForCriterion(criterion));
+                        }
+                        results[run][problemIndex] = result;
+                        synchronized (handlerLock) {
+                            if (simulationFinishedHandler.accept(simulation, archetype)) {
+                                stopSimulations[0] = true;
+                            }
+                            simulationResultHandler.accept(archetype, run, Collections.unmodifiableMap(result));
+                        }
+                    }));
+                }
+            }
+            for (Future<?> future : futures) {
+                await(future);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (!stopSimulations[0]) {
+            resultHandler.accept(average(criteria, results));
+        }
+    }
+
+    private static void await(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the simulations", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private static Map<RatingCriteria, Double> average(List<RatingCriteria> criteria, Map<RatingCriteria, Double>[][] results) {
+        Map<RatingCriteria, Double> average = new HashMap<>();
+        for (RatingCriteria criterion : criteria) {
+            double sum = 0;
+            int count = 0;
+            for (Map<RatingCriteria, Double>[] run : results) {
+                for (Map<RatingCriteria, Double> result : run) {
+                    if (result != null) {
+                        sum += result.get(criterion);
+                        count++;
+                    }
+                }
+            }
+            average.put(criterion, count == 0 ? 0.0 : sum / count);
+        }
+        return average;
+    }
+}
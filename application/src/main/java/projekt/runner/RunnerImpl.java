@@ -11,12 +11,9 @@ import projekt.runner.handler.ResultHandler;
 import projekt.runner.handler.SimulationFinishedHandler;
 import projekt.runner.handler.SimulationSetupHandler;
 
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
-import static org.tudalgo.algoutils.student.Student.crash;
-
 public class RunnerImpl implements Runner {
 
     @Override
@@ -29,33 +26,30 @@ public class RunnerImpl implements Runner {
                     ResultHandler resultHandler) {
 
         Map<ProblemArchetype, Simulation> simulationMap = createSimulations(problemGroup,simulationConfig, deliveryServiceFactory);
-        Map<RatingCriteria, Integer> runsAtCriterion = new HashMap<>();
-        Map<RatingCriteria, Double> average = new HashMap<>();
-        Arrays.stream(RatingCriteria.values()).forEach(r -> {
-            runsAtCriterion.put(r, 0);
-            average.put(r, 0.0);
-        });
+        Map<RatingCriteria, Double> sum = new HashMap<>();
+        problemGroup.ratingCriteria().forEach(criterion -> sum.put(criterion, 0.0));
+        int runs = 0;
 
-        boolean stopSimulations = false;
-        for (int i=0;i<simulationRuns && !stopSimulations; i++){
-            for (ProblemArchetype archetype: problemGroup.problems()){
-                if (stopSimulations) break;
-                simulationSetupHandler.accept(simulationMap.get(archetype), archetype, i);
-                long maxTicks = 500; //ToDo Was sind die MaxTicks?
-                simulationMap.get(archetype).runSimulation(maxTicks);
-                if (simulationFinishedHandler.accept(simulationMap.get(archetype), archetype)) stopSimulations = true;
-                Arrays.stream(RatingCriteria.values())
-                    .forEach(r -> {
-                        double rating = simulationMap.get(archetype).getRatingForCriterion(r);
-                        double av = average.get(r);
-                        int runs = runsAtCriterion.get(r) + 1;
-                        average.remove(r);
-                        runsAtCriterion.remove(r);
-                        runsAtCriterion.put(r, runs);
-                        average.put(r, (av+rating) / runs);
-                    });
+        for (int i = 0; i < simulationRuns; i++) {
+            for (ProblemArchetype archetype : problemGroup.problems()) {
+                Simulation simulation = simulationMap.get(archetype);
+                simulationSetupHandler.accept(simulation, archetype, i);
+                simulation.runSimulation(archetype.simulationLength());
+                if (simulationFinishedHandler.accept(simulation, archetype)) {
+                    return;
+                }
+                runs++;
+                for (RatingCriteria criterion : problemGroup.ratingCriteria()) {
+                    sum.put(criterion, sum.get(criterion) + simulation.getRatingForCriterion(criterion));
+                }
             }
         }
+
+        // every simulation is weighted equally
+        Map<RatingCriteria, Double> average = new HashMap<>();
+        for (RatingCriteria criterion : problemGroup.ratingCriteria()) {
+            average.put(criterion, runs == 0 ? 0.0 : sum.get(criterion) / runs);
+        }
         resultHandler.accept(average);
     }
 
@@ -65,15 +59,29 @@ public class RunnerImpl implements Runner {
                                                                 DeliveryService.Factory deliveryServiceFactory) {
         Map<ProblemArchetype, Simulation> returner = new HashMap<>();
         for (ProblemArchetype archetype: problemGroup.problems()){
-            BasicDeliverySimulation deliverySimulation = new BasicDeliverySimulation(
-                simulationConfig,
-                archetype.raterFactoryMap(),
-                deliveryServiceFactory.create(archetype.vehicleManager()),
-                archetype.orderGeneratorFactory()
-                );
-            returner.put(archetype, deliverySimulation);
+            returner.put(archetype, createSimulation(archetype, simulationConfig, deliveryServiceFactory));
         }
         return returner;
     }
 
+    /**
+     * Creates the {@link Simulation} for the given {@link ProblemArchetype}.<p>
+     *
+     * The default implementation creates a {@link BasicDeliverySimulation}.
+     * @param problem The {@link ProblemArchetype} to simulate.
+     * @param simulationConfig The config used by the created {@link Simulation}.
+     * @param deliveryServiceFactory The {@link DeliveryService.Factory} used to create the {@link DeliveryService}.
+     * @return The created {@link Simulation}.
+     */
+    protected Simulation createSimulation(ProblemArchetype problem,
+                                          SimulationConfig simulationConfig,
+                                          DeliveryService.Factory deliveryServiceFactory) {
+        return new BasicDeliverySimulation(
+            simulationConfig,
+            problem.raterFactoryMap(),
+            deliveryServiceFactory.create(problem.vehicleManager()),
+            problem.orderGeneratorFactory()
+        );
+    }
+
 }
@@ -0,0 +1,153 @@
+package projekt.runner;
+
+/**
+ * The mean and variance of a stream of values, updated with Welford's algorithm.<p>
+ *
+ * Only the amount of values, their mean and the sum of their squared deviations from the mean are stored, so the memory
+ * does not grow with the amount of values and no precision is lost by subtracting large sums.
+ */
+public class RunningStatistics {
+
+    private long count;
+    private double mean;
+    private double squaredDeviations;
+
+    /**
+     * Adds the given value.
+     * @param value The value to add.
+     */
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        squaredDeviations += delta * (value - mean);
+    }
+
+    /**
+     * Returns the amount of added values.
+     * @return The amount of added values.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the mean of the added values.
+     * @return The mean of the added values or 0 if no value was added.
+     */
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * Returns the sample variance of the added values.
+     * @return The sample variance of the added values or 0 if less than two values were added.
+     */
+    public double getVariance() {
+        return count < 2 ? 0 : squaredDeviations / (count - 1);
+    }
+
+    /**
+     * Returns the standard error of the mean of the added values.
+     * @return The standard error of the mean or {@link Double#POSITIVE_INFINITY} if less than two values were added.
+     */
+    public double getStandardError() {
+        return count < 2 ? Double.POSITIVE_INFINITY : Math.sqrt(getVariance() / count);
+    }
+
+    /**
+     * Returns the half-width of the confidence interval of the mean, assuming that the values are normally distributed.
+     * Since the variance is estimated from the values, the quantile of the Student's t-distribution with {@code count - 1}
+     * degrees of freedom is used, which is wider than the normal quantile for few values.
+     * @param confidenceLevel The probability that the interval contains the true mean, between 0 and 1 exclusive.
+     * @return The half-width of the confidence interval or {@link Double#POSITIVE_INFINITY} if less than two values were
+     *     added.
+     */
+    public double getHalfWidth(double confidenceLevel) {
+        if (count < 2) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return studentQuantile(0.5 + confidenceLevel / 2, count - 1) * getStandardError();
+    }
+
+    @Override
+    public String toString() {
+        return "RunningStatistics(count=%d, mean=%s, variance=%s)".formatted(count, mean, getVariance());
+    }
+
+    /**
+     * Returns the quantile of the Student's t-distribution with the given degrees of freedom for the given probability of
+     * at least 0.5, using the algorithm by G. W. Hill (ACM Algorithm 396). It is exact for one and two degrees of freedom,
+     * and its relative error is below 1e-4 otherwise.
+     */
+    static double studentQuantile(double p, long degreesOfFreedom) {
+        if (!(p >= 0.5 && p < 1)) {
+            throw new IllegalArgumentException("p must be between 0.5 inclusive and 1 exclusive: " + p);
+        }
+        if (degreesOfFreedom < 1) {
+            throw new IllegalArgumentException("degreesOfFreedom must be positive: " + degreesOfFreedom);
+        }
+        if (degreesOfFreedom == 1) {
+            return Math.tan(Math.PI * (p - 0.5));
+        }
+        // the algorithm works with the probability of both tails
+        double tails = 2 * (1 - p);
+        if (degreesOfFreedom == 2) {
+            return Math.sqrt(2 / (tails * (2 - tails)) - 2);
+        }
+        double n = degreesOfFreedom;
+        double a = 1 / (n - 0.5);
+        double b = 48 / (a * a);
+        double c = ((20700 * a / b - 98) * a - 16) * a + 96.36;
+        double d = ((94.5 / (b + c) - 3) / b + 1) * Math.sqrt(a * Math.PI / 2) * n;
+        double x = d * tails;
+        double y = Math.pow(x, 2 / n);
+        if (y > 0.05 + a) {
+            // asymptotic expansion around the normal quantile
+            x = normalQuantile(tails / 2);
+            y = x * x;
+            if (degreesOfFreedom < 5) {
+                c += 0.3 * (n - 4.5) * (x + 0.6);
+            }
+            c = (((0.05 * d * x - 5) * x - 7) * x - 2) * x + b + c;
+            y = (((((0.4 * y + 6.3) * y + 36) * y + 94.5) / c - y - 3) / b + 1) * x;
+            y = Math.expm1(a * y * y);
+        } else {
+            y = ((1 / (((n + 6) / (n * y) - 0.089 * d - 0.822) * (n + 2) * 3) + 0.5 / (n + 4)) * y - 1)
+                * (n + 1) / (n + 2) + 1 / y;
+        }
+        return Math.sqrt(n * y);
+    }
+
+    /**
+     * Returns the quantile of the standard normal distribution for the given probability, using the rational
+     * approximation by Peter J. Acklam, whose relative error is below 1.2e-9.
+     */
+    static double normalQuantile(double p) {
+        if (!(p > 0 && p < 1)) {
+            throw new IllegalArgumentException("p must be between 0 and 1 exclusive: " + p);
+        }
+        final double[] a = {-3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+            1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00};
+        final double[] b = {-5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+            6.680131188771972e+01, -1.328068155288572e+01};
+        final double[] c = {-7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+            -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00};
+        final double[] d = {7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+            3.754408661907416e+00};
+        final double low = 0.02425;
+
+        if (p < low) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            return (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        }
+        if (p > 1 - low) {
+            return -normalQuantile(1 - p);
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q
+            / (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1);
+    }
+}
@@ -0,0 +1,23 @@
+package projekt.runner.handler;
+
+import projekt.delivery.archetype.ProblemArchetype;
+import projekt.delivery.rating.RatingCriteria;
+import projekt.runner.Runner;
+
+import java.util.Map;
+
+/**
+ * An interface for handling the result of a single simulation of a {@link Runner}.
+ */
+@FunctionalInterface
+public interface SimulationResultHandler {
+
+    /**
+     * Handles the result of a finished simulation of a {@link Runner}.
+     *
+     * @param problem The simulated {@link ProblemArchetype}.
+     * @param run     The iteration count of the simulation.
+     * @param result  The score of the simulation for each {@link RatingCriteria}.
+     */
+    void accept(ProblemArchetype problem, int run, Map<RatingCriteria, Double> result);
+}
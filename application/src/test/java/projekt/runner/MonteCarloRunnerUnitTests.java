@@ -0,0 +1,97 @@
+package projekt.runner;
+
+import org.junit.jupiter.api.Test;
+import projekt.delivery.archetype.ProblemArchetype;
+import projekt.delivery.archetype.ProblemGroup;
+import projekt.delivery.rating.RatingCriteria;
+import projekt.delivery.service.DeliveryService;
+import projekt.delivery.simulation.SimulationConfig;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MonteCarloRunnerUnitTests {
+
+    private static final int SIMULATION_RUNS = 6;
+
+    @Test
+    public void testStopAfterMinRuns() {
+        ProblemGroup problemGroup = TestProblems.problemGroup();
+        // every score is between 0 and 1, so the half-widths are far below the tolerance after the minimum amount of runs
+        MonteCarloRunner runner = new MonteCarloRunner(100, 0.95, 3, (problem, run, result) -> {});
+        run(runner, problemGroup);
+
+        for (ProblemArchetype archetype : problemGroup.problems()) {
+            assertTrue(runner.hasConverged(archetype));
+            for (RunningStatistics statistics : runner.getStatistics(archetype).values()) {
+                assertEquals(3, statistics.getCount());
+            }
+        }
+    }
+
+    @Test
+    public void testMaximumRuns() {
+        ProblemGroup problemGroup = TestProblems.problemGroup();
+        MonteCarloRunner runner = new MonteCarloRunner(1e-9, 0.95, 2, (problem, run, result) -> {});
+        run(runner, problemGroup);
+
+        for (ProblemArchetype archetype : problemGroup.problems()) {
+            for (RunningStatistics statistics : runner.getStatistics(archetype).values()) {
+                assertEquals(SIMULATION_RUNS, statistics.getCount());
+            }
+        }
+    }
+
+    @Test
+    public void testStatisticsMatchResults() {
+        ProblemGroup problemGroup = TestProblems.problemGroup();
+        Map<String, RunningStatistics> expected = new HashMap<>();
+        MonteCarloRunner runner = new MonteCarloRunner(1e-9, 0.95, 2, (problem, run, result) ->
+            result.forEach((criterion, rating) ->
+                expected.computeIfAbsent(problem.name() + criterion, key -> new RunningStatistics()).add(rating)));
+        Map<RatingCriteria, Double> average = run(runner, problemGroup);
+
+        for (RatingCriteria criterion : problemGroup.ratingCriteria()) {
+            double sum = 0;
+            for (ProblemArchetype archetype : problemGroup.problems()) {
+                RunningStatistics statistics = runner.getStatistics(archetype).get(criterion);
+                assertEquals(expected.get(archetype.name() + criterion).getMean(), statistics.getMean(), 1e-12);
+                assertEquals(expected.get(archetype.name() + criterion).getVariance(), statistics.getVariance(), 1e-12);
+                sum += statistics.getMean();
+            }
+            assertEquals(sum / problemGroup.problems().size(), average.get(criterion), 1e-12);
+        }
+    }
+
+    @Test
+    public void testSameResultsInEveryExecution() {
+        ProblemGroup problemGroup = TestProblems.problemGroup();
+        MonteCarloRunner runner = new MonteCarloRunner(1e-9, 0.95, 2, (problem, run, result) -> {});
+
+        assertEquals(run(runner, problemGroup), run(runner, problemGroup));
+    }
+
+    @Test
+    public void testIllegalArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new MonteCarloRunner(0));
+        assertThrows(IllegalArgumentException.class, () -> new MonteCarloRunner(0.1, 1, 10, (problem, run, result) -> {}));
+        assertThrows(IllegalArgumentException.class, () -> new MonteCarloRunner(0.1, 0.95, 1, (problem, run, result) -> {}));
+        assertThrows(IllegalArgumentException.class, () -> new MonteCarloRunner(0.1).getStatistics(TestProblems.problemArchetype("Other", 1)));
+    }
+
+    private static Map<RatingCriteria, Double> run(MonteCarloRunner runner, ProblemGroup problemGroup) {
+        Map<RatingCriteria, Double> average = new HashMap<>();
+        runner.run(
+            problemGroup,
+            new SimulationConfig(0),
+            SIMULATION_RUNS,
+            DeliveryService.BASIC,
+            (simulation, problem, run) -> {},
+            (simulation, problem) -> false,
+            average::putAll
+        );
+        return average;
+    }
+}
@@ -0,0 +1,94 @@
+package projekt.runner;
+
+import org.junit.jupiter.api.Test;
+import projekt.delivery.archetype.ProblemGroup;
+import projekt.delivery.rating.RatingCriteria;
+import projekt.delivery.service.DeliveryService;
+import projekt.delivery.simulation.SimulationConfig;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelRunnerUnitTests {
+
+    private static final int SIMULATION_RUNS = 4;
+
+    @Test
+    public void testSameResultsInEveryExecution() {
+        // the events of BOGO depend on the order in which the vehicles on a node are ticked
+        for (DeliveryService.Factory deliveryServiceFactory : new DeliveryService.Factory[] {DeliveryService.BASIC, DeliveryService.BOGO}) {
+            ProblemGroup problemGroup = TestProblems.problemGroup();
+            Results expected = run(problemGroup, deliveryServiceFactory, 4);
+            Results actual = run(problemGroup, deliveryServiceFactory, 4);
+            Results sequential = run(problemGroup, deliveryServiceFactory, 1);
+
+            assertEquals(problemGroup.problems().size() * SIMULATION_RUNS, expected.simulationResults.size());
+            assertEquals(expected.simulationResults, actual.simulationResults);
+            assertEquals(expected.average, actual.average);
+            assertEquals(expected.events, actual.events);
+            assertEquals(expected.simulationResults, sequential.simulationResults);
+            assertEquals(expected.average, sequential.average);
+            assertEquals(expected.events, sequential.events);
+        }
+    }
+
+    @Test
+    public void testRunsAreSeededDifferently() {
+        Results results = run(TestProblems.problemGroup(), DeliveryService.BASIC, 2);
+        String name = TestProblems.problemGroup().problems().get(1).name();
+
+        assertNotEquals(results.simulationResults.get(name + " 0"), results.simulationResults.get(name + " 1"));
+    }
+
+    @Test
+    public void testStopSimulations() {
+        int[] finished = new int[1];
+        boolean[] resultHandled = new boolean[1];
+        new ParallelRunner(1, (problem, run, result) -> {}).run(
+            TestProblems.problemGroup(),
+            new SimulationConfig(0),
+            SIMULATION_RUNS,
+            DeliveryService.BASIC,
+            (simulation, problem, run) -> {},
+            (simulation, problem) -> ++finished[0] == 2,
+            result -> resultHandled[0] = true
+        );
+
+        assertEquals(2, finished[0]);
+        assertFalse(resultHandled[0]);
+    }
+
+    @Test
+    public void testIllegalParallelism() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelRunner(0, (problem, run, result) -> {}));
+    }
+
+    private static Results run(ProblemGroup problemGroup, DeliveryService.Factory deliveryServiceFactory, int parallelism) {
+        Results results = new Results();
+        new ParallelRunner(parallelism, (problem, run, result) -> results.simulationResults.put(problem.name() + " " + run, result)).run(
+            problemGroup,
+            new SimulationConfig(0),
+            SIMULATION_RUNS,
+            deliveryServiceFactory,
+            (simulation, problem, run) -> {
+                List<String> events = new ArrayList<>();
+                results.events.put(problem.name() + " " + run, events);
+                simulation.addListener((tickEvents, tick) -> tickEvents.forEach(event -> events.add(
+                    tick + " " + event.toString().replaceAll("@[0-9a-f]+|orderID=[0-9]+", ""))));
+            },
+            (simulation, problem) -> false,
+            result -> results.average = result
+        );
+        return results;
+    }
+
+    private static class Results {
+        private final Map<String, Map<RatingCriteria, Double>> simulationResults = new HashMap<>();
+        private final Map<String, List<String>> events = new HashMap<>();
+        private Map<RatingCriteria, Double> average;
+    }
+}
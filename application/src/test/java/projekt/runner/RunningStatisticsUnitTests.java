@@ -0,0 +1,85 @@
+package projekt.runner;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RunningStatisticsUnitTests {
+
+    @Test
+    public void testMeanAndVariance() {
+        RunningStatistics statistics = new RunningStatistics();
+        for (double value : new double[] {2, 4, 4, 4, 5, 5, 7, 9}) {
+            statistics.add(value);
+        }
+
+        assertEquals(8, statistics.getCount());
+        assertEquals(5, statistics.getMean(), 1e-12);
+        assertEquals(32.0 / 7, statistics.getVariance(), 1e-12);
+        assertEquals(Math.sqrt(32.0 / 7 / 8), statistics.getStandardError(), 1e-12);
+    }
+
+    @Test
+    public void testLargeOffset() {
+        // a naive sum of squares loses all digits of the variance here
+        RunningStatistics statistics = new RunningStatistics();
+        for (double value : new double[] {4, 7, 13, 16}) {
+            statistics.add(1e9 + value);
+        }
+
+        assertEquals(1e9 + 10, statistics.getMean(), 1e-6);
+        assertEquals(30, statistics.getVariance(), 1e-6);
+    }
+
+    @Test
+    public void testFewValues() {
+        RunningStatistics statistics = new RunningStatistics();
+        assertEquals(0, statistics.getMean());
+        assertEquals(0, statistics.getVariance());
+        assertEquals(Double.POSITIVE_INFINITY, statistics.getHalfWidth(0.95));
+
+        statistics.add(3);
+        assertEquals(3, statistics.getMean());
+        assertEquals(0, statistics.getVariance());
+        assertEquals(Double.POSITIVE_INFINITY, statistics.getStandardError());
+        assertEquals(Double.POSITIVE_INFINITY, statistics.getHalfWidth(0.95));
+
+        statistics.add(5);
+        // the quantile of the t-distribution with one degree of freedom is far wider than the normal one
+        assertEquals(12.7062 * statistics.getStandardError(), statistics.getHalfWidth(0.95), 1e-3);
+    }
+
+    @Test
+    public void testHalfWidth() {
+        RunningStatistics statistics = new RunningStatistics();
+        for (double value : new double[] {2, 4, 4, 4, 5, 5, 7, 9}) {
+            statistics.add(value);
+        }
+
+        assertEquals(2.3646 * Math.sqrt(32.0 / 7 / 8), statistics.getHalfWidth(0.95), 1e-3);
+        assertTrue(statistics.getHalfWidth(0.99) > statistics.getHalfWidth(0.95));
+    }
+
+    @Test
+    public void testStudentQuantile() {
+        // values from the table of the t-distribution
+        double[][] table = {
+            {0.975, 1, 12.7062}, {0.975, 2, 4.3027}, {0.975, 3, 3.1824}, {0.975, 4, 2.7764}, {0.975, 5, 2.5706},
+            {0.975, 10, 2.2281}, {0.975, 30, 2.0423}, {0.975, 1000, 1.9623}, {0.95, 4, 2.1318}, {0.995, 7, 3.4995},
+            {0.5, 12, 0}
+        };
+        for (double[] row : table) {
+            double quantile = RunningStatistics.studentQuantile(row[0], (long) row[1]);
+            assertEquals(row[2], quantile, 1e-4 * Math.max(1, row[2]), "quantile %s with %s degrees of freedom".formatted(row[0], row[1]));
+        }
+        assertThrows(IllegalArgumentException.class, () -> RunningStatistics.studentQuantile(0.4, 5));
+        assertThrows(IllegalArgumentException.class, () -> RunningStatistics.studentQuantile(0.975, 0));
+    }
+
+    @Test
+    public void testNormalQuantile() {
+        assertEquals(1.959964, RunningStatistics.normalQuantile(0.975), 1e-6);
+        assertEquals(-2.326348, RunningStatistics.normalQuantile(0.01), 1e-6);
+        assertEquals(0, RunningStatistics.normalQuantile(0.5), 1e-12);
+    }
+}
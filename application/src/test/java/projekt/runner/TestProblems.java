@@ -0,0 +1,109 @@
+package projekt.runner;
+
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.Location;
+import projekt.delivery.archetype.ProblemArchetype;
+import projekt.delivery.archetype.ProblemArchetypeImpl;
+import projekt.delivery.archetype.ProblemGroup;
+import projekt.delivery.archetype.ProblemGroupImpl;
+import projekt.delivery.generator.FridayOrderGenerator;
+import projekt.delivery.rating.AmountDeliveredRater;
+import projekt.delivery.rating.InTimeRater;
+import projekt.delivery.rating.Rater;
+import projekt.delivery.rating.RatingCriteria;
+import projekt.delivery.rating.TravelDistanceRater;
+import projekt.delivery.routing.CachedPathCalculator;
+import projekt.delivery.routing.DijkstraPathCalculator;
+import projekt.delivery.routing.Region;
+import projekt.delivery.routing.VehicleManager;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The problems shared by the unit tests of the runners.
+ */
+final class TestProblems {
+
+    private TestProblems() {
+    }
+
+    /**
+     * Creates a {@link ProblemGroup} of two {@link ProblemArchetype}s on the region of the problem presets, which differ
+     * in the amount of orders, and rates all {@link RatingCriteria}.
+     * @return The created {@link ProblemGroup}.
+     */
+    static ProblemGroup problemGroup() {
+        return new ProblemGroupImpl(List.of(problemArchetype("Small", 40), problemArchetype("Large", 100)), List.of(RatingCriteria.values()));
+    }
+
+    /**
+     * Creates a {@link ProblemArchetype} with three vehicles whose orders are generated until tick 300.
+     * @param name The name of the {@link ProblemArchetype}.
+     * @param orderCount The amount of orders.
+     * @return The created {@link ProblemArchetype}.
+     */
+    static ProblemArchetype problemArchetype(String name, int orderCount) {
+        VehicleManager vehicleManager = VehicleManager.builder()
+            .region(region())
+            .pathCalculator(new CachedPathCalculator(new DijkstraPathCalculator()))
+            .addVehicle(new Location(3, -1), 2)
+            .addVehicle(new Location(3, -1), 2)
+            .addVehicle(new Location(3, -1), 1)
+            .build();
+        Map<RatingCriteria, Rater.Factory> raterFactoryMap = new EnumMap<>(RatingCriteria.class);
+        raterFactoryMap.put(RatingCriteria.IN_TIME, InTimeRater.Factory.builder().build());
+        raterFactoryMap.put(RatingCriteria.AMOUNT_DELIVERED, AmountDeliveredRater.Factory.builder().build());
+        raterFactoryMap.put(RatingCriteria.TRAVEL_DISTANCE, TravelDistanceRater.Factory.builder().setVehicleManager(vehicleManager).build());
+        return new ProblemArchetypeImpl(
+            FridayOrderGenerator.Factory.builder()
+                .setOrderCount(orderCount)
+                .setVehicleManager(vehicleManager)
+                .setLastTick(300)
+                .setMaxWeight(0.5)
+                .build(),
+            vehicleManager,
+            raterFactoryMap,
+            600,
+            name
+        );
+    }
+
+    private static Region region() {
+        return Region.builder()
+            .addNeighborhood("Wiesbaden", new Location(-9, -4))
+            .addNeighborhood("Mainz", new Location(-8, 0))
+            .addNeighborhood("Frankfurt", new Location(8, -8))
+            .addNeighborhood("Darmstadt", new Location(6, 8))
+            .addNeighborhood("Ruesselsheim", new Location(-2, 0))
+            .addNeighborhood("Gross-Gerau", new Location(0, 5))
+            .addNeighborhood("Langen", new Location(6, 0))
+            .addNeighborhood("Offenbach", new Location(10, -7))
+            .addRestaurant(new Location(3, -1), Region.Restaurant.LOS_FOPBOTS_HERMANOS)
+            .addNode("Mainspitzdreieck", new Location(-5, 0))
+            .addNode("Wiesbadener Kreuz", new Location(-4, -5))
+            .addNode("Moenchhof-Dreieck", new Location(1, -2))
+            .addNode("Frankfurter Kreuz", new Location(4, -4))
+            .addNode("Dreieck Mainz", new Location(-10, -1))
+            .addEdge("A643", new Location(-10, -1), new Location(-9, -4))
+            .addEdge("A60", new Location(-10, -1), new Location(-8, 0))
+            .addEdge("A60_1", new Location(-5, 0), new Location(-8, 0))
+            .addEdge("A671", new Location(-5, 0), new Location(-9, -4))
+            .addEdge("A60_2", new Location(-5, 0), new Location(-2, 0))
+            .addEdge("A66", new Location(-4, -5), new Location(-9, -4))
+            .addEdge("A66_1", new Location(-4, -5), new Location(8, -8))
+            .addEdge("A3", new Location(-4, -5), new Location(1, -2))
+            .addEdge("A67", new Location(1, -2), new Location(-2, 0))
+            .addEdge("A3_1", new Location(1, -2), new Location(4, -4))
+            .addEdge("A5", new Location(4, -4), new Location(8, -8))
+            .addEdge("A3_2", new Location(4, -4), new Location(10, -7))
+            .addEdge("A5_1", new Location(4, -4), new Location(6, 0))
+            .addEdge("A5_2", new Location(6, 0), new Location(6, 8))
+            .addEdge("A67_1", new Location(0, 5), new Location(6, 8))
+            .addEdge("A67_2", new Location(0, 5), new Location(-2, 0))
+            .addEdge("Strasse", new Location(3, -1), new Location(1, -2))
+            .distanceCalculator(new EuclideanDistanceCalculator())
+            .build();
+    }
+}
@@ -5,6 +5,8 @@ import projekt.delivery.rating.Rater;
 import projekt.delivery.rating.RatingCriteria;
 import projekt.delivery.routing.VehicleManager;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -51,4 +53,41 @@ public interface ProblemArchetype {
      * @return The name of this problem.
      */
     String name();
+
+    /**
+     * Creates a {@link ProblemArchetype} that describes the same problem as this {@link ProblemArchetype}, but uses an
+     * independent {@link VehicleManager#copy() copy} of its {@link VehicleManager}. The {@link OrderGenerator.Factory}
+     * and {@link Rater.Factory}s are bound to the copy, so a simulation of the returned {@link ProblemArchetype} can run
+     * at the same time as other simulations of this {@link ProblemArchetype}.
+     * @return The created {@link ProblemArchetype}.
+     */
+    default ProblemArchetype copy() {
+        VehicleManager vehicleManager = vehicleManager().copy();
+        Map<RatingCriteria, Rater.Factory> raterFactoryMap = new LinkedHashMap<>();
+        raterFactoryMap().forEach((criterion, factory) -> raterFactoryMap.put(criterion, factory.withVehicleManager(vehicleManager)));
+        return new ProblemArchetypeImpl(
+            orderGeneratorFactory().withVehicleManager(vehicleManager),
+            vehicleManager,
+            Collections.unmodifiableMap(raterFactoryMap),
+            simulationLength(),
+            name()
+        );
+    }
+
+    /**
+     * Creates a {@link ProblemArchetype} that equals this {@link ProblemArchetype}, except that its
+     * {@link OrderGenerator.Factory} is {@linkplain OrderGenerator.Factory#withSeed(long) seeded} with the given seed. A
+     * runner uses it to give every run its own orders that are the same in every execution of the runner.
+     * @param seed The seed to add to the seed of the {@link OrderGenerator.Factory}, e.g. the index of a run.
+     * @return The created {@link ProblemArchetype}.
+     */
+    default ProblemArchetype withSeed(long seed) {
+        return new ProblemArchetypeImpl(
+            orderGeneratorFactory().withSeed(seed),
+            vehicleManager(),
+            raterFactoryMap(),
+            simulationLength(),
+            name()
+        );
+    }
 }
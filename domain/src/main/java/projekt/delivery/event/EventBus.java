@@ -48,9 +48,9 @@ public class EventBus {
         // is not a read lock because the queue has to be cleared too
         lock.writeLock().lock();
         try {
-            log.put(tick, queuedEvents);
-            System.out.printf("Tick: %s - %s\n", tick, queuedEvents);
             List<Event> copy = new ArrayList<>(queuedEvents);
+            // the queue is reused, so the log keeps its own copy
+            log.put(tick, List.copyOf(queuedEvents));
             clear();
             return copy;
         } finally {
@@ -65,6 +65,20 @@ public class EventBus {
         queuedEvents.clear();
     }
 
+    /**
+     * Removes all entries of the log from the given tick on, e.g. after the state of the simulation was restored to
+     * that tick.
+     * @param tick The first tick whose entry is removed.
+     */
+    public void truncateLog(long tick) {
+        lock.writeLock().lock();
+        try {
+            log.keySet().removeIf(loggedTick -> loggedTick >= tick);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
     /**
      * Returns a log of this bus.
      * @return A log of this bus containing all {@link Event}s popped at a specific tick.
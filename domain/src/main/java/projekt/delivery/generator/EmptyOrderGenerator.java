@@ -1,6 +1,7 @@
 package projekt.delivery.generator;
 
 import projekt.delivery.routing.ConfirmedOrder;
+import projekt.delivery.simulation.SimulationCheckpoint;
 
 import java.util.List;
 
@@ -14,6 +15,21 @@ public class EmptyOrderGenerator implements OrderGenerator {
         return List.of();
     }
 
+    @Override
+    public long getNextOrderTick(long tick) {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public void writeCheckpoint(SimulationCheckpoint.Writer writer) {
+        // there is no state
+    }
+
+    @Override
+    public void readCheckpoint(SimulationCheckpoint.Reader reader) {
+        // there is no state
+    }
+
     /**
      * A {@link OrderGenerator.Factory} for creating a new {@link EmptyOrderGenerator}.
      */
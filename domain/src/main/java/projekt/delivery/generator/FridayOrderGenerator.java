@@ -7,8 +7,10 @@ import projekt.delivery.routing.Region;
 import projekt.delivery.routing.VehicleManager;
 import projekt.delivery.routing.VehicleManager.OccupiedNeighborhood;
 import projekt.delivery.routing.VehicleManager.OccupiedRestaurant;
+import projekt.delivery.simulation.SimulationCheckpoint;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -26,12 +28,13 @@ import static org.tudalgo.algoutils.student.Student.crash;
  */
 public class FridayOrderGenerator implements OrderGenerator {
 
-    private final Random random;
+    private Random random;
     private final VehicleManager vehicleManager;
     private final int deliveryInterval;
     private final double maxWeight;
     private Map<Long, Integer> tickOrderMap;
     private Map<Long, List<ConfirmedOrder>> ticksAlreadyOrdered;
+    private final long[] orderTicks;
     private final long lastTick;
 
     /**
@@ -75,6 +78,7 @@ public class FridayOrderGenerator implements OrderGenerator {
             tickOrderMap.put(tick, (tickOrderMap.containsKey(tick)) ? tickOrderMap.get(tick) + 1 : 1);
 
         }
+        orderTicks = tickOrderMap.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
     }
 
     @Override
@@ -173,6 +177,41 @@ public class FridayOrderGenerator implements OrderGenerator {
         return orderList;
     }
 
+    @Override
+    public long getNextOrderTick(long tick) {
+        int index = Arrays.binarySearch(orderTicks, tick);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return index < orderTicks.length ? orderTicks[index] : Long.MAX_VALUE;
+    }
+
+    /**
+     * {@inheritDoc}<p>
+     *
+     * Orders are created lazily from the {@link Random} instance, so its state is written together with the orders that
+     * have already been created.
+     */
+    @Override
+    public void writeCheckpoint(SimulationCheckpoint.Writer writer) {
+        writer.writeRandom(random);
+        writer.writeInt(ticksAlreadyOrdered.size());
+        for (Map.Entry<Long, List<ConfirmedOrder>> entry : ticksAlreadyOrdered.entrySet()) {
+            writer.writeLong(entry.getKey());
+            writer.writeOrders(entry.getValue());
+        }
+    }
+
+    @Override
+    public void readCheckpoint(SimulationCheckpoint.Reader reader) {
+        random = reader.readRandom();
+        ticksAlreadyOrdered = new HashMap<>();
+        int count = reader.readInt();
+        for (int i = 0; i < count; i++) {
+            ticksAlreadyOrdered.put(reader.readLong(), reader.readOrders());
+        }
+    }
+
     /**
      * A {@link OrderGenerator.Factory} for creating a new {@link FridayOrderGenerator}.
      */
@@ -201,6 +240,18 @@ public class FridayOrderGenerator implements OrderGenerator {
             return new FridayOrderGenerator(orderCount, vehicleManager, deliveryInterval, maxWeight, standardDeviation, lastTick, seed);
         }
 
+        @Override
+        public Factory withVehicleManager(VehicleManager vehicleManager) {
+            return new Factory(orderCount, vehicleManager, deliveryInterval, maxWeight, standardDeviation, lastTick, seed);
+        }
+
+        @Override
+        public Factory withSeed(long seed) {
+            // negative seeds stand for a random seed, so the sum is kept non-negative
+            int derivedSeed = (int) ((Math.max(this.seed, 0) + seed) & Integer.MAX_VALUE);
+            return new Factory(orderCount, vehicleManager, deliveryInterval, maxWeight, standardDeviation, lastTick, derivedSeed);
+        }
+
         /**
          * Creates a new {@link FridayOrderGenerator.FactoryBuilder}.
          * @return The created {@link FridayOrderGenerator.FactoryBuilder}.
@@ -1,6 +1,8 @@
 package projekt.delivery.generator;
 
 import projekt.delivery.routing.ConfirmedOrder;
+import projekt.delivery.routing.VehicleManager;
+import projekt.delivery.simulation.Checkpointable;
 
 import java.util.List;
 
@@ -10,7 +12,7 @@ import java.util.List;
  * Every Implementation ensures that a call to the method {@link #generateOrders(long)} will always return the same orders
  * when given the same tick.
  */
-public interface OrderGenerator {
+public interface OrderGenerator extends Checkpointable {
 
     /**
      * Generates a {@link List<ConfirmedOrder>} for the given tick. Calling this method with the same parameter will always result in the same result.<p>
@@ -22,6 +24,19 @@ public interface OrderGenerator {
      */
     List<ConfirmedOrder> generateOrders(long tick);
 
+    /**
+     * Returns the first tick that is not before the given tick at which {@link #generateOrders(long)} may return a
+     * non-empty list. This allows a {@link projekt.delivery.simulation.Simulation} to skip the ticks in between.<p>
+     * <p>
+     * The default implementation returns the given tick, i.e. orders may be generated at every tick.
+     *
+     * @param tick the first tick to consider
+     * @return the first tick at which orders may be generated or {@link Long#MAX_VALUE} if no more orders will be generated
+     */
+    default long getNextOrderTick(long tick) {
+        return tick;
+    }
+
     /**
      * A factory for creating a new {@link OrderGenerator}.
      */
@@ -33,6 +48,34 @@ public interface OrderGenerator {
          * @return The new {@link OrderGenerator}.
          */
         OrderGenerator create();
+
+        /**
+         * Returns a {@link Factory} that creates the same {@link OrderGenerator}s as this {@link Factory}, but for the
+         * given {@link VehicleManager}, e.g. for a {@link VehicleManager#copy() copy} of the original one.<p>
+         *
+         * The default implementation returns this {@link Factory}, which is correct for factories that do not depend on
+         * a {@link VehicleManager}.
+         * @param vehicleManager The {@link VehicleManager} the orders are created for.
+         * @return A {@link Factory} for the given {@link VehicleManager}.
+         */
+        default Factory withVehicleManager(VehicleManager vehicleManager) {
+            return this;
+        }
+
+        /**
+         * Returns a {@link Factory} whose {@link OrderGenerator}s are seeded deterministically with the seed of this
+         * {@link Factory} plus the given seed, e.g. the index of a run. Factories with different seeds create different
+         * orders, and factories with the same seed create the same orders every time. A {@link Factory} without a seed
+         * adds the given seed to 0.<p>
+         *
+         * The default implementation returns this {@link Factory}, which is correct for factories that do not use any
+         * randomness.
+         * @param seed The seed to add to the seed of this {@link Factory}.
+         * @return A seeded {@link Factory}.
+         */
+        default Factory withSeed(long seed) {
+            return this;
+        }
     }
 
     /**
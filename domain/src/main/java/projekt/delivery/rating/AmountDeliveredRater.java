@@ -4,6 +4,7 @@ import projekt.delivery.event.DeliverOrderEvent;
 import projekt.delivery.event.Event;
 import projekt.delivery.event.OrderReceivedEvent;
 import projekt.delivery.simulation.Simulation;
+import projekt.delivery.simulation.SimulationCheckpoint;
 
 import java.util.List;
 
@@ -56,6 +57,23 @@ public class AmountDeliveredRater implements Rater {
         }
     }
 
+    @Override
+    public void onIdleTicks(long fromTick, long toTick) {
+        // only events are rated
+    }
+
+    @Override
+    public void writeCheckpoint(SimulationCheckpoint.Writer writer) {
+        writer.writeInt(amountDeliveredEvents);
+        writer.writeInt(amountOrderedEvents);
+    }
+
+    @Override
+    public void readCheckpoint(SimulationCheckpoint.Reader reader) {
+        amountDeliveredEvents = reader.readInt();
+        amountOrderedEvents = reader.readInt();
+    }
+
     /**
      * A {@link Rater.Factory} for creating a new {@link AmountDeliveredRater}.
      */
@@ -5,6 +5,7 @@ import projekt.delivery.event.Event;
 import projekt.delivery.event.OrderReceivedEvent;
 import projekt.delivery.routing.ConfirmedOrder;
 import projekt.delivery.simulation.Simulation;
+import projekt.delivery.simulation.SimulationCheckpoint;
 
 import java.util.List;
 
@@ -75,6 +76,23 @@ public class InTimeRater implements Rater {
         }
     }
 
+    @Override
+    public void onIdleTicks(long fromTick, long toTick) {
+        // only events are rated
+    }
+
+    @Override
+    public void writeCheckpoint(SimulationCheckpoint.Writer writer) {
+        writer.writeLong(maxTotalTicksOff);
+        writer.writeLong(actualTotalTicksOff);
+    }
+
+    @Override
+    public void readCheckpoint(SimulationCheckpoint.Reader reader) {
+        maxTotalTicksOff = reader.readLong();
+        actualTotalTicksOff = reader.readLong();
+    }
+
     /**
      * A {@link Rater.Factory} for creating a new {@link InTimeRater}.
      */
@@ -1,6 +1,8 @@
 package projekt.delivery.rating;
 
 import projekt.delivery.generator.OrderGenerator;
+import projekt.delivery.routing.VehicleManager;
+import projekt.delivery.simulation.Checkpointable;
 import projekt.delivery.simulation.Simulation;
 import projekt.delivery.simulation.SimulationListener;
 
@@ -9,7 +11,7 @@ import projekt.delivery.simulation.SimulationListener;
  *
  * A rating is always based on a {@link RatingCriteria}.
  */
-public interface Rater extends SimulationListener {
+public interface Rater extends SimulationListener, Checkpointable {
 
     /**
      * Returns the score of the observed simulation up to the current tick.
@@ -34,6 +36,19 @@ public interface Rater extends SimulationListener {
          * @return The new {@link Rater}.
          */
         Rater create();
+
+        /**
+         * Returns a {@link Factory} that creates the same {@link Rater}s as this {@link Factory}, but for the given
+         * {@link VehicleManager}, e.g. for a {@link VehicleManager#copy() copy} of the original one.<p>
+         *
+         * The default implementation returns this {@link Factory}, which is correct for factories that do not depend on
+         * a {@link VehicleManager}.
+         * @param vehicleManager The {@link VehicleManager} of the rated {@link Simulation}.
+         * @return A {@link Factory} for the given {@link VehicleManager}.
+         */
+        default Factory withVehicleManager(VehicleManager vehicleManager) {
+            return this;
+        }
     }
 
     /**
@@ -5,11 +5,11 @@ import projekt.delivery.event.DeliverOrderEvent;
 import projekt.delivery.event.Event;
 import projekt.delivery.routing.PathCalculator;
 import projekt.delivery.routing.Region;
+import projekt.delivery.routing.ShortestPathTree;
 import projekt.delivery.routing.VehicleManager;
 import projekt.delivery.simulation.Simulation;
+import projekt.delivery.simulation.SimulationCheckpoint;
 
-import java.util.Deque;
-import java.util.Iterator;
 import java.util.List;
 
 import static org.tudalgo.algoutils.student.Student.crash;
@@ -56,24 +56,15 @@ public class TravelDistanceRater implements Rater {
     public void onTick(List<Event> events, long tick) {
         for (Event event : events) {
             if (event instanceof DeliverOrderEvent castEvent) {
-                long distanceThisPath = 0;
+                Region.Node restaurant = region.getNode(castEvent.getOrder().getRestaurant().getComponent().getLocation());
+                Region.Node neighborhood = region.getNode(castEvent.getOrder().getLocation());
 
-                Region.Node nodeA = region.getNode(castEvent.getOrder().getRestaurant().getComponent().getLocation());
-                Region.Node nodeB = region.getNode(castEvent.getOrder().getLocation());
-
-                Deque<Region.Node> path = pathCalculator.getPath(nodeA, nodeB);
-
-                Iterator<Region.Node> iteratorPath = path.iterator();
-                Region.Node lastItem = nodeA;
-
-                while (iteratorPath.hasNext()) {
-                    Region.Node nextItem = iteratorPath.next();
-                    distanceThisPath += region.getEdge(lastItem, nextItem).getDuration();
-                    lastItem = nextItem;
+                long duration = pathCalculator.getDuration(restaurant, neighborhood);
+                // an unreachable neighborhood has an empty path, which does not add anything
+                if (duration != ShortestPathTree.UNREACHABLE) {
+                    worstDistance += 2 * duration;
                 }
 
-                worstDistance += 2 * distanceThisPath;
-
             }
             else if (event instanceof ArrivedAtNodeEvent castEvent) {
                 actualDistance += castEvent.getLastEdge().getDuration();
@@ -81,6 +72,23 @@ public class TravelDistanceRater implements Rater {
         }
     }
 
+    @Override
+    public void onIdleTicks(long fromTick, long toTick) {
+        // only events are rated
+    }
+
+    @Override
+    public void writeCheckpoint(SimulationCheckpoint.Writer writer) {
+        writer.writeLong(worstDistance);
+        writer.writeLong(actualDistance);
+    }
+
+    @Override
+    public void readCheckpoint(SimulationCheckpoint.Reader reader) {
+        worstDistance = reader.readLong();
+        actualDistance = reader.readLong();
+    }
+
     /**
      * A {@link Rater.Factory} for creating a new {@link TravelDistanceRater}.
      */
@@ -99,6 +107,11 @@ public class TravelDistanceRater implements Rater {
             return new TravelDistanceRater(vehicleManager, factor);
         }
 
+        @Override
+        public Factory withVehicleManager(VehicleManager vehicleManager) {
+            return new Factory(vehicleManager, factor);
+        }
+
         /**
          * Creates a new {@link TravelDistanceRater.FactoryBuilder}.
          * @return The created {@link TravelDistanceRater.FactoryBuilder}.
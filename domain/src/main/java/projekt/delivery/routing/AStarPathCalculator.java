@@ -0,0 +1,128 @@
+package projekt.delivery.routing;
+
+import projekt.base.ChessboardDistanceCalculator;
+import projekt.base.DistanceCalculator;
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.Location;
+import projekt.base.ManhattanDistanceCalculator;
+
+import java.util.*;
+import java.util.function.IntToLongFunction;
+
+/**
+ * A {@link PathCalculator} that calculates the shortest path between a start and end point using A*.<p>
+ *
+ * The {@link DistanceCalculator} of the region is used as heuristic. The {@link Region.Builder} derives the duration of
+ * every edge by rounding up the distance between its nodes, so the distance between two nodes is a lower bound of the
+ * duration of the shortest path between them. This only holds if the distance calculator is a metric and every edge
+ * actually is at least as long as the distance between its nodes. If a region does not fulfill both conditions, e.g.
+ * because it uses a custom {@link DistanceCalculator} or because its edges were created with another one, the search
+ * falls back to Dijkstra's algorithm. In both cases the search stops as soon as the start node is settled.<p>
+ *
+ * {@link #getAllPathsTo(Region.Node)} and {@link #getShortestPathTree(Region.Node)} have no single target to aim for
+ * and are delegated to a {@link DijkstraPathCalculator}.
+ */
+public class AStarPathCalculator implements PathCalculator {
+
+    private static final Set<Class<?>> METRICS = Set.of(
+        EuclideanDistanceCalculator.class,
+        ManhattanDistanceCalculator.class,
+        ChessboardDistanceCalculator.class
+    );
+
+    private final PathCalculator fallback = new DijkstraPathCalculator();
+    private final Map<CompactGraph, Boolean> lowerBounds = Collections.synchronizedMap(new WeakHashMap<>());
+
+    @Override
+    public Deque<Region.Node> getPath(Region.Node start, Region.Node end) {
+        CompactGraph graph = CompactGraph.of(end.getRegion());
+        int startIndex = graph.indexOf(start);
+        DijkstraEngine engine = search(graph, startIndex, graph.indexOf(end));
+
+        if (!engine.isReached(startIndex)) {
+            throw new IllegalArgumentException("There is no path from %s to %s".formatted(start, end));
+        }
+        return engine.pathToSource(startIndex);
+    }
+
+    @Override
+    public long getDuration(Region.Node start, Region.Node end) {
+        CompactGraph graph = CompactGraph.of(end.getRegion());
+        int startIndex = graph.indexOf(start);
+        return search(graph, startIndex, graph.indexOf(end)).getDistance(startIndex);
+    }
+
+    /**
+     * {@inheritDoc}<p>
+     *
+     * A single Dijkstra search from {@code source} is faster than one A* search per target, so this is delegated to a
+     * {@link DijkstraPathCalculator}.
+     */
+    @Override
+    public long[] getDurations(Region.Node source, Region.Node... targets) {
+        return fallback.getDurations(source, targets);
+    }
+
+    /**
+     * Runs an A* search from the given end node towards the given start node, so that the predecessors lead to the end
+     * node.
+     * @param graph The {@link CompactGraph} to search.
+     * @param start The index of the start node.
+     * @param end The index of the end node.
+     * @return The {@link DijkstraEngine} containing the result of the search.
+     */
+    private DijkstraEngine search(CompactGraph graph, int start, int end) {
+        return DijkstraEngine.current()
+            .reset(graph)
+            .addSource(end)
+            .run(start, createHeuristic(graph, graph.getNode(start).getLocation()));
+    }
+
+    @Override
+    public Map<Region.Node, Deque<Region.Node>> getAllPathsTo(Region.Node end) {
+        return fallback.getAllPathsTo(end);
+    }
+
+    @Override
+    public ShortestPathTree getShortestPathTree(Region.Node end) {
+        return fallback.getShortestPathTree(end);
+    }
+
+    /**
+     * Creates the heuristic of a search towards the given target.
+     * @param graph The {@link CompactGraph} that is searched.
+     * @param target The {@link Location} of the target node.
+     * @return A consistent heuristic estimating the remaining duration from every node to the target node.
+     */
+    private IntToLongFunction createHeuristic(CompactGraph graph, Location target) {
+        if (!lowerBounds.computeIfAbsent(graph, AStarPathCalculator::isLowerBound)) {
+            return DijkstraEngine.NO_POTENTIAL;
+        }
+        DistanceCalculator distanceCalculator = graph.getRegion().getDistanceCalculator();
+        // edge durations are integers, so rounding down keeps the heuristic consistent
+        return node -> (long) Math.floor(distanceCalculator.calculateDistance(graph.getNode(node).getLocation(), target));
+    }
+
+    /**
+     * Checks whether the {@link DistanceCalculator} of the region of the given {@link CompactGraph} is a lower bound of
+     * the duration of every path.
+     * @param graph The {@link CompactGraph} to check.
+     * @return {@code true} if the distance between two nodes never exceeds the duration of a path between them.
+     */
+    private static boolean isLowerBound(CompactGraph graph) {
+        DistanceCalculator distanceCalculator = graph.getRegion().getDistanceCalculator();
+        if (distanceCalculator == null || !METRICS.contains(distanceCalculator.getClass())) {
+            return false;
+        }
+        for (int edge = 0; edge < graph.getEdgeCount(); edge++) {
+            double distance = distanceCalculator.calculateDistance(
+                graph.getNode(graph.getNodeA(edge)).getLocation(),
+                graph.getNode(graph.getNodeB(edge)).getLocation()
+            );
+            if (graph.getDuration(edge) < distance) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -4,8 +4,9 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.Comparator;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * An abstract class combining basic functionality of all {@link VehicleManager.Occupied} implementations.
@@ -15,9 +16,21 @@ abstract class AbstractOccupied<C extends Region.Component<? super C>> implement
 
     protected final C component;
     protected final VehicleManager vehicleManager;
-    protected final Map<VehicleImpl, VehicleStats> vehicles = new HashMap<>();
+    /**
+     * The vehicles on the component, sorted by their ids. The order does not depend on hash codes or on the order of
+     * arrival, so the vehicles are ticked in the same order in every run, replay, copy and restored checkpoint.
+     */
+    protected final Map<VehicleImpl, VehicleStats> vehicles = new TreeMap<>(Comparator.comparingInt(Vehicle::getId));
     private final Collection<Vehicle> unmodifiableVehicles =
         Collections.unmodifiableCollection(vehicles.keySet());
+    /**
+     * The index of the component in the {@link CompactGraph}, or -1 if it has not been indexed yet.
+     */
+    int index = -1;
+    /**
+     * The position of this component in the order in which the {@link VehicleManagerImpl} ticks its components.
+     */
+    int tickRank = -1;
 
     AbstractOccupied(C component, VehicleManager vehicleManager) {
         this.component = component;
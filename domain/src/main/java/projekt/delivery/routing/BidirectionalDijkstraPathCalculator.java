@@ -0,0 +1,124 @@
+package projekt.delivery.routing;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+
+/**
+ * A {@link PathCalculator} that calculates the shortest path between a start and end point using a bidirectional
+ * Dijkstra search.<p>
+ *
+ * One search starts at the start node and one at the end node. Since the edges of a {@link Region} are undirected, both
+ * searches use the same adjacency. The search with the smaller frontier key advances first, and both stop as soon as the
+ * sum of their frontier keys is at least as long as the shortest path found between them, which proves the path optimal.
+ * Compared to a {@link DijkstraPathCalculator}, this settles about half as many nodes for a single query.<p>
+ *
+ * {@link #getAllPathsTo(Region.Node)} and {@link #getShortestPathTree(Region.Node)} have no second endpoint to search
+ * from and are delegated to a {@link DijkstraPathCalculator}.
+ */
+public class BidirectionalDijkstraPathCalculator implements PathCalculator {
+
+    private final PathCalculator fallback = new DijkstraPathCalculator();
+
+    @Override
+    public Deque<Region.Node> getPath(Region.Node start, Region.Node end) {
+        CompactGraph graph = CompactGraph.of(end.getRegion());
+        int startIndex = graph.indexOf(start);
+        int endIndex = graph.indexOf(end);
+        if (startIndex == endIndex) {
+            return new ArrayDeque<>();
+        }
+
+        int[] meeting = new int[2];
+        if (search(graph, startIndex, endIndex, meeting) == DijkstraEngine.UNREACHABLE) {
+            throw new IllegalArgumentException("There is no path from %s to %s".formatted(start, end));
+        }
+        int forwardMeeting = meeting[0];
+        int backwardMeeting = meeting[1];
+
+        Deque<Region.Node> path = DijkstraEngine.currentBackward().pathToSource(backwardMeeting);
+        if (backwardMeeting != forwardMeeting) {
+            path.addFirst(graph.getNode(backwardMeeting));
+        }
+        DijkstraEngine forward = DijkstraEngine.current();
+        for (int v = forwardMeeting; v != startIndex; v = forward.getPredecessor(v)) {
+            path.addFirst(graph.getNode(v));
+        }
+        return path;
+    }
+
+    @Override
+    public long getDuration(Region.Node start, Region.Node end) {
+        CompactGraph graph = CompactGraph.of(end.getRegion());
+        int startIndex = graph.indexOf(start);
+        int endIndex = graph.indexOf(end);
+        return startIndex == endIndex ? 0 : search(graph, startIndex, endIndex, new int[2]);
+    }
+
+    /**
+     * {@inheritDoc}<p>
+     *
+     * A single Dijkstra search from {@code source} is faster than one bidirectional search per target, so this is
+     * delegated to a {@link DijkstraPathCalculator}.
+     */
+    @Override
+    public long[] getDurations(Region.Node source, Region.Node... targets) {
+        return fallback.getDurations(source, targets);
+    }
+
+    /**
+     * Runs the forward search of {@link DijkstraEngine#current()} from the start node and the backward search of
+     * {@link DijkstraEngine#currentBackward()} from the end node until the shortest path between them is proven.
+     * @param graph The {@link CompactGraph} to search.
+     * @param start The index of the start node.
+     * @param end The index of the end node.
+     * @param meeting An array that receives the last node of the forward search and the first node of the backward
+     *                search on the shortest path.
+     * @return The duration of the shortest path or {@link DijkstraEngine#UNREACHABLE} if there is none.
+     */
+    private long search(CompactGraph graph, int start, int end, int[] meeting) {
+        DijkstraEngine forward = DijkstraEngine.current().reset(graph).addSource(start);
+        DijkstraEngine backward = DijkstraEngine.currentBackward().reset(graph).addSource(end);
+
+        // the shortest path found so far leads from meeting[0] over the arc to meeting[1]
+        long best = DijkstraEngine.UNREACHABLE;
+
+        while (saturatedSum(forward.peekKey(), backward.peekKey()) < best) {
+            boolean forwardStep = forward.peekKey() <= backward.peekKey();
+            DijkstraEngine search = forwardStep ? forward : backward;
+            DijkstraEngine other = forwardStep ? backward : forward;
+
+            int u = search.settleNext();
+            search.relaxArcs(u);
+
+            if (other.isReached(u) && search.getDistance(u) + other.getDistance(u) < best) {
+                best = search.getDistance(u) + other.getDistance(u);
+                meeting[0] = u;
+                meeting[1] = u;
+            }
+            for (int arc = graph.getFirstArc(u); arc < graph.getLastArc(u); arc++) {
+                int v = graph.getArcTarget(arc);
+                if (other.isReached(v) && search.getDistance(u) + graph.getArcDuration(arc) + other.getDistance(v) < best) {
+                    best = search.getDistance(u) + graph.getArcDuration(arc) + other.getDistance(v);
+                    meeting[0] = forwardStep ? u : v;
+                    meeting[1] = forwardStep ? v : u;
+                }
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public Map<Region.Node, Deque<Region.Node>> getAllPathsTo(Region.Node end) {
+        return fallback.getAllPathsTo(end);
+    }
+
+    @Override
+    public ShortestPathTree getShortestPathTree(Region.Node end) {
+        return fallback.getShortestPathTree(end);
+    }
+
+    private static long saturatedSum(long a, long b) {
+        return a > DijkstraEngine.UNREACHABLE - b ? DijkstraEngine.UNREACHABLE : a + b;
+    }
+}
@@ -3,27 +3,56 @@ package projekt.delivery.routing;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * A {@link PathCalculator} that is based on another {@link PathCalculator} and caches its result for later use.
+ * A {@link PathCalculator} that is based on another {@link PathCalculator} and caches its result for later use.<p>
+ *
+ * The cache stores the {@link ShortestPathTree} of every requested end node. Cached trees are never copied; paths are
+ * created from them on demand and {@link #getAllPathsTo(Region.Node)} returns an unmodifiable view of the tree.<p>
+ *
+ * The cache is safe to share between threads, e.g. between simulations that run in parallel on the same region. It is
+ * a segmented LRU cache: it is split into segments by the hash of the end node, and every segment is guarded by its own
+ * lock, holds an equal share of the size of the cache and evicts its own least recently used tree once its share is
+ * full. The eviction order is therefore only exact within a segment, and a tree may be evicted before the cache as a
+ * whole is full. Caches smaller than {@value #MIN_SEGMENT_CAPACITY} times two use a single segment, i.e. an exact LRU
+ * order. If several threads miss the same end node at the same time, the tree is only calculated once and the other
+ * threads wait for the result. The delegate is called without holding any lock, so it must be thread-safe itself.
  */
 public class CachedPathCalculator implements PathCalculator {
 
+    private static final int MAX_SEGMENT_COUNT = 16;
+    private static final int MIN_SEGMENT_CAPACITY = 64;
+
     private final PathCalculator delegate;
-    private final Map<Region.Node, Map<Region.Node, Deque<Region.Node>>> cache = new HashMap<>();
+    private final Segment[] segments;
     private final int size;
-    private final Set<Region.Node> accessOrder;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
 
     /**
      * Creates a new {@link CachedPathCalculator}.
      * @param delegate The {@link PathCalculator} this {@link CachedPathCalculator} uses to calculate the paths.
-     * @param size The size of the cache.
+     * @param size The size of the cache, i.e. the sum of the capacities of its segments.
      */
     public CachedPathCalculator(PathCalculator delegate, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be positive");
+        }
         this.delegate = delegate;
         this.size = size;
-        this.accessOrder = new LinkedHashSet<>(size);
+
+        // every segment holds at least MIN_SEGMENT_CAPACITY trees, so small caches use a single segment and keep an
+        // exact eviction order, and the capacities of the segments differ by at most one and add up to the size
+        int segmentCount = Math.min(MAX_SEGMENT_COUNT, Integer.highestOneBit(Math.max(1, size / MIN_SEGMENT_CAPACITY)));
+        segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(size / segmentCount + (i < size % segmentCount ? 1 : 0));
+        }
     }
 
     /**
@@ -37,41 +66,209 @@ public class CachedPathCalculator implements PathCalculator {
 
     @Override
     public Deque<Region.Node> getPath(Region.Node start, Region.Node end) {
-        return getAllPathsTo(end).get(start);
+        return getShortestPathTree(end).getPath(start);
     }
 
     public PathCalculator getDelegate() {
         return delegate;
     }
 
-    @Override
-    public Map<Region.Node, Deque<Region.Node>> getAllPathsTo(Region.Node end) {
-        @Nullable Map<Region.Node, Deque<Region.Node>> path = cache.get(end);
-        if (path != null) {
-            return copyPath(path);
+    /**
+     * Returns the maximum amount of trees this {@link CachedPathCalculator} caches.
+     * @return The size of the cache.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns how often a requested tree was already cached.
+     * @return The amount of cache hits.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns how often a requested tree was not cached. Requests that waited for another thread calculating the same
+     * tree are counted as misses as well.
+     * @return The amount of cache misses.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns how often a tree was removed from its segment to make room for another one.
+     * @return The amount of evictions.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns all trees that are currently cached. The counters of this {@link CachedPathCalculator} and the order of
+     * eviction are not affected.
+     * @return A new {@link List} of all cached {@link ShortestPathTree}s.
+     */
+    public List<ShortestPathTree> getCachedTrees() {
+        List<ShortestPathTree> trees = new ArrayList<>();
+        for (Segment segment : segments) {
+            segment.addTo(trees);
         }
+        return trees;
+    }
+
+    /**
+     * Adds the given {@link ShortestPathTree} to the cache, e.g. after it was read from a file, unless a tree of its root
+     * node is cached already. It is treated as the most recently used tree of its segment and may evict another tree.
+     * @param tree The {@link ShortestPathTree} to add.
+     */
+    public void putShortestPathTree(ShortestPathTree tree) {
+        segmentOf(tree.getRoot()).putIfAbsent(tree.getRoot(), tree);
+    }
 
-        path = delegate.getAllPathsTo(end);
+    @Override
+    public Map<Region.Node, Deque<Region.Node>> getAllPathsTo(Region.Node end) {
+        return getShortestPathTree(end).asMap();
+    }
 
-        // Limit cache size
-        if (accessOrder.size() >= size) {
-            Iterator<Region.Node> iterator = accessOrder.iterator();
-            cache.remove(iterator.next());
-            iterator.remove();
+    /**
+     * {@inheritDoc}<p>
+     *
+     * Since paths are undirected, the cached tree of either {@code start} or {@code end} is used. If neither is cached,
+     * the tree of {@code end} is calculated and cached.
+     */
+    @Override
+    public long getDuration(Region.Node start, Region.Node end) {
+        @Nullable ShortestPathTree tree = segmentOf(start).getIfPresent(start);
+        if (tree != null) {
+            hits.increment();
+            return tree.getDistance(end);
         }
+        return getShortestPathTree(end).getDistance(start);
+    }
 
-        // Update access order if the element already exists
-        accessOrder.remove(end);
-        accessOrder.add(end);
-        cache.put(end, path);
+    /**
+     * {@inheritDoc}<p>
+     *
+     * All durations are read from the tree of {@code source}, which is calculated and cached if necessary.
+     */
+    @Override
+    public long[] getDurations(Region.Node source, Region.Node... targets) {
+        ShortestPathTree tree = getShortestPathTree(source);
+        long[] durations = new long[targets.length];
+        for (int i = 0; i < targets.length; i++) {
+            durations[i] = tree.getDistance(targets[i]);
+        }
+        return durations;
+    }
 
-        return copyPath(path);
+    @Override
+    public ShortestPathTree getShortestPathTree(Region.Node end) {
+        return segmentOf(end).get(end);
     }
 
-    private Map<Region.Node, Deque<Region.Node>> copyPath(Map<Region.Node, Deque<Region.Node>> path) {
-        return path.entrySet().stream()
-            .map(entry -> Map.entry(entry.getKey(), new LinkedList<>(entry.getValue())))
-            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    private Segment segmentOf(Region.Node node) {
+        int hash = node.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
     }
 
+    /**
+     * A part of the cache with its own lock and least recently used eviction.
+     */
+    private final class Segment {
+
+        private final int capacity;
+        private final LinkedHashMap<Region.Node, ShortestPathTree> trees;
+        private final Map<Region.Node, CompletableFuture<ShortestPathTree>> pending = new HashMap<>();
+
+        private Segment(int capacity) {
+            this.capacity = capacity;
+            // iterating in access order puts the least recently used tree first
+            this.trees = new LinkedHashMap<>(16, 0.75f, true);
+        }
+
+        private synchronized @Nullable ShortestPathTree getIfPresent(Region.Node end) {
+            return trees.get(end);
+        }
+
+        private ShortestPathTree get(Region.Node end) {
+            CompletableFuture<ShortestPathTree> future;
+            @Nullable CompletableFuture<ShortestPathTree> running;
+            synchronized (this) {
+                ShortestPathTree tree = trees.get(end);
+                if (tree != null) {
+                    hits.increment();
+                    return tree;
+                }
+                misses.increment();
+                running = pending.get(end);
+                future = running != null ? running : new CompletableFuture<>();
+                if (running == null) {
+                    pending.put(end, future);
+                }
+            }
+            if (running != null) {
+                // another thread is calculating the same tree, the lock must not be held while waiting for it
+                return await(running);
+            }
+
+            ShortestPathTree tree;
+            try {
+                tree = delegate.getShortestPathTree(end);
+            } catch (RuntimeException | Error e) {
+                synchronized (this) {
+                    pending.remove(end);
+                }
+                future.completeExceptionally(e);
+                throw e;
+            }
+            synchronized (this) {
+                pending.remove(end);
+                // a tree that was put in the meantime is kept, so that every thread uses the same tree
+                tree = putIfAbsent(end, tree);
+            }
+            future.complete(tree);
+            return tree;
+        }
+
+        private synchronized void addTo(List<ShortestPathTree> list) {
+            list.addAll(trees.values());
+        }
+
+        /**
+         * Adds the given tree unless a tree of the given node is cached already. Only a tree that is actually added may
+         * evict another one.
+         * @return The tree that is cached for the given node afterwards.
+         */
+        private synchronized ShortestPathTree putIfAbsent(Region.Node end, ShortestPathTree tree) {
+            @Nullable ShortestPathTree cached = trees.get(end);
+            if (cached != null) {
+                return cached;
+            }
+            if (trees.size() >= capacity) {
+                Iterator<Region.Node> iterator = trees.keySet().iterator();
+                iterator.next();
+                iterator.remove();
+                evictions.increment();
+            }
+            trees.put(end, tree);
+            return tree;
+        }
+
+        private ShortestPathTree await(CompletableFuture<ShortestPathTree> future) {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
 }
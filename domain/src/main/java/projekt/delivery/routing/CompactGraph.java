@@ -0,0 +1,396 @@
+package projekt.delivery.routing;
+
+import projekt.base.Location;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * A frozen, compressed-sparse-row (CSR) view of a built {@link Region}.<p>
+ *
+ * Every {@link Region.Node} and {@link Region.Edge} gets a dense {@code int} index. Nodes are indexed in ascending order
+ * of their {@link Location}, edges in ascending order of their end points. The neighbours of a node are stored as a
+ * contiguous range of arcs, so routing code can enumerate them by walking primitive arrays without any hashing or
+ * allocation. Since the edges of a {@link Region} are undirected, every edge is represented by two arcs. The index of a
+ * node is looked up in an open-addressed table of its coordinates, so no {@link Integer} is boxed or unboxed.<p>
+ *
+ * Use {@link #of(Region)} to obtain the view of a {@link Region}. Instances are immutable and thread-safe.<p>
+ *
+ * Every view has a {@link #getFingerprint() fingerprint} of the content of its {@link Region}. Data that was derived
+ * from a {@link Region} can be stored together with the fingerprint and reused for every {@link Region} with the same
+ * fingerprint, e.g. after the {@link Region} was read from a file again.
+ */
+public final class CompactGraph {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final Region region;
+    private final Region.Node[] nodes;
+    private final Region.Edge[] edges;
+    // an open-addressed table with linear probing from the packed coordinates of a node to its index, -1 marks a free slot
+    private final long[] slotKeys;
+    private final int[] slotIndices;
+
+    private final int[] edgeNodeA;
+    private final int[] edgeNodeB;
+    private final long[] edgeDurations;
+
+    private final int[] firstArc;
+    private final int[] arcTargets;
+    private final int[] arcEdges;
+    private final long[] arcDurations;
+
+    private final long fingerprint;
+
+    /**
+     * Returns the {@link CompactGraph} of the given {@link Region}.<p>
+     *
+     * Regions created by a {@link Region.Builder} build their view once and return the same instance on every call.
+     *
+     * @param region The {@link Region} to return the {@link CompactGraph} of.
+     * @return The {@link CompactGraph} of the given {@link Region}.
+     */
+    public static CompactGraph of(Region region) {
+        if (region instanceof RegionImpl regionImpl) {
+            return regionImpl.getCompactGraph();
+        }
+        return new CompactGraph(region);
+    }
+
+    /**
+     * Creates a new {@link CompactGraph} for the given {@link Region}.
+     * @param region The {@link Region} to create the {@link CompactGraph} for.
+     */
+    CompactGraph(Region region) {
+        this.region = region;
+
+        nodes = region.getNodes().stream()
+            .sorted(Comparator.comparing(Region.Node::getLocation))
+            .toArray(Region.Node[]::new);
+        // at most half of the slots are used, so probe sequences stay short
+        int slotCount = Integer.highestOneBit(Math.max(1, nodes.length) * 2 - 1) * 2;
+        slotKeys = new long[slotCount];
+        slotIndices = new int[slotCount];
+        Arrays.fill(slotIndices, -1);
+        for (int i = 0; i < nodes.length; i++) {
+            long key = pack(nodes[i].getLocation());
+            int slot = slotOf(key);
+            while (slotIndices[slot] != -1) {
+                slot = (slot + 1) & (slotCount - 1);
+            }
+            slotKeys[slot] = key;
+            slotIndices[slot] = i;
+        }
+
+        edges = region.getEdges().stream()
+            .sorted(Comparator.<Region.Edge, Location>comparing(edge -> edge.getNodeA().getLocation())
+                .thenComparing(edge -> edge.getNodeB().getLocation()))
+            .toArray(Region.Edge[]::new);
+        edgeNodeA = new int[edges.length];
+        edgeNodeB = new int[edges.length];
+        edgeDurations = new long[edges.length];
+
+        int[] degrees = new int[nodes.length];
+        for (int e = 0; e < edges.length; e++) {
+            edgeNodeA[e] = indexOf(edges[e].getNodeA().getLocation());
+            edgeNodeB[e] = indexOf(edges[e].getNodeB().getLocation());
+            edgeDurations[e] = edges[e].getDuration();
+            degrees[edgeNodeA[e]]++;
+            degrees[edgeNodeB[e]]++;
+        }
+
+        firstArc = new int[nodes.length + 1];
+        for (int u = 0; u < nodes.length; u++) {
+            firstArc[u + 1] = firstArc[u] + degrees[u];
+        }
+
+        arcTargets = new int[firstArc[nodes.length]];
+        arcEdges = new int[arcTargets.length];
+        arcDurations = new long[arcTargets.length];
+
+        int[] next = Arrays.copyOf(firstArc, nodes.length);
+        for (int e = 0; e < edges.length; e++) {
+            addArc(next[edgeNodeA[e]]++, edgeNodeB[e], e);
+            addArc(next[edgeNodeB[e]]++, edgeNodeA[e], e);
+        }
+
+        // sort the arcs of every node by their target so that searches break ties deterministically
+        for (int u = 0; u < nodes.length; u++) {
+            for (int i = firstArc[u] + 1; i < firstArc[u + 1]; i++) {
+                for (int j = i; j > firstArc[u] && arcTargets[j - 1] > arcTargets[j]; j--) {
+                    swapArcs(j - 1, j);
+                }
+            }
+        }
+
+        fingerprint = computeFingerprint();
+    }
+
+    /**
+     * Hashes the locations and kinds of the nodes, the edges and the {@link projekt.base.DistanceCalculator} of the
+     * region with 64-bit FNV-1a. Names are not part of the fingerprint, since they do not affect any route.
+     */
+    private long computeFingerprint() {
+        long hash = hash(FNV_OFFSET_BASIS, nodes.length);
+        for (Region.Node node : nodes) {
+            hash = hash(hash, node.getLocation().getX());
+            hash = hash(hash, node.getLocation().getY());
+            hash = hash(hash, node instanceof Region.Restaurant ? 2 : node instanceof Region.Neighborhood ? 1 : 0);
+        }
+        hash = hash(hash, edges.length);
+        for (int e = 0; e < edges.length; e++) {
+            hash = hash(hash, edgeNodeA[e]);
+            hash = hash(hash, edgeNodeB[e]);
+            hash = hash(hash, edgeDurations[e]);
+        }
+        return hash(hash, region.getDistanceCalculator() == null ? "" : region.getDistanceCalculator().getClass().getName());
+    }
+
+    private static long hash(long hash, long value) {
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash = (hash ^ (value & 0xff)) * FNV_PRIME;
+            value >>>= 8;
+        }
+        return hash;
+    }
+
+    private static long hash(long hash, String value) {
+        hash = hash(hash, value.length());
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static long pack(Location location) {
+        return ((long) location.getX() << 32) | (location.getY() & 0xffffffffL);
+    }
+
+    private int slotOf(long key) {
+        // Fibonacci hashing spreads neighbouring coordinates over the whole table
+        return (int) ((key * 0x9e3779b97f4a7c15L) >>> (Long.SIZE - Integer.numberOfTrailingZeros(slotKeys.length)));
+    }
+
+    private void addArc(int arc, int target, int edge) {
+        arcTargets[arc] = target;
+        arcEdges[arc] = edge;
+        arcDurations[arc] = edgeDurations[edge];
+    }
+
+    private void swapArcs(int i, int j) {
+        int target = arcTargets[i];
+        arcTargets[i] = arcTargets[j];
+        arcTargets[j] = target;
+        int edge = arcEdges[i];
+        arcEdges[i] = arcEdges[j];
+        arcEdges[j] = edge;
+        long duration = arcDurations[i];
+        arcDurations[i] = arcDurations[j];
+        arcDurations[j] = duration;
+    }
+
+    /**
+     * Returns the {@link Region} this {@link CompactGraph} was built from.
+     * @return The {@link Region} this {@link CompactGraph} was built from.
+     */
+    public Region getRegion() {
+        return region;
+    }
+
+    /**
+     * Returns a 64-bit fingerprint of the nodes, the edges and the distance calculator of the {@link Region} of this
+     * {@link CompactGraph}. Regions with the same content have the same fingerprint, regardless of the order in which
+     * their components were added.
+     * @return The fingerprint of the {@link Region} of this {@link CompactGraph}.
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Returns the amount of nodes in this {@link CompactGraph}.
+     * @return The amount of nodes in this {@link CompactGraph}.
+     */
+    public int getNodeCount() {
+        return nodes.length;
+    }
+
+    /**
+     * Returns the amount of edges in this {@link CompactGraph}.
+     * @return The amount of edges in this {@link CompactGraph}.
+     */
+    public int getEdgeCount() {
+        return edges.length;
+    }
+
+    /**
+     * Returns the amount of arcs in this {@link CompactGraph}. Every edge is represented by two arcs.
+     * @return The amount of arcs in this {@link CompactGraph}.
+     */
+    public int getArcCount() {
+        return arcTargets.length;
+    }
+
+    /**
+     * Returns the {@link Region.Node} with the given index.
+     * @param node The index of the {@link Region.Node}.
+     * @return The {@link Region.Node} with the given index.
+     */
+    public Region.Node getNode(int node) {
+        return nodes[node];
+    }
+
+    /**
+     * Returns the {@link Region.Edge} with the given index.
+     * @param edge The index of the {@link Region.Edge}.
+     * @return The {@link Region.Edge} with the given index.
+     */
+    public Region.Edge getEdge(int edge) {
+        return edges[edge];
+    }
+
+    /**
+     * Returns the index of the node at the given {@link Location}.
+     * @param location The {@link Location} of the node.
+     * @return The index of the node at the given {@link Location} or -1 if there is no such node.
+     */
+    public int indexOf(Location location) {
+        long key = pack(location);
+        int slot = slotOf(key);
+        int index;
+        while ((index = slotIndices[slot]) != -1) {
+            if (slotKeys[slot] == key) {
+                return index;
+            }
+            slot = (slot + 1) & (slotKeys.length - 1);
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the given {@link Region.Node}.
+     * @param node The {@link Region.Node} to return the index of.
+     * @return The index of the given {@link Region.Node}.
+     * @throws IllegalArgumentException If the given {@link Region.Node} is not part of this {@link CompactGraph}.
+     */
+    public int indexOf(Region.Node node) {
+        int index = indexOf(node.getLocation());
+        if (index == -1) {
+            throw new IllegalArgumentException("Node %s is not part of the region".formatted(node));
+        }
+        return index;
+    }
+
+    /**
+     * Returns the index of the given {@link Region.Edge}.
+     * @param edge The {@link Region.Edge} to return the index of.
+     * @return The index of the given {@link Region.Edge}.
+     * @throws IllegalArgumentException If the given {@link Region.Edge} is not part of this {@link CompactGraph}.
+     */
+    public int indexOf(Region.Edge edge) {
+        int index = findEdge(indexOf(edge.getNodeA()), indexOf(edge.getNodeB()));
+        if (index == -1) {
+            throw new IllegalArgumentException("Edge %s is not part of the region".formatted(edge));
+        }
+        return index;
+    }
+
+    /**
+     * Returns the index of the first arc leaving the given node.
+     * @param node The index of the node.
+     * @return The index of the first arc leaving the given node.
+     */
+    public int getFirstArc(int node) {
+        return firstArc[node];
+    }
+
+    /**
+     * Returns the index after the last arc leaving the given node.
+     * @param node The index of the node.
+     * @return The index after the last arc leaving the given node.
+     */
+    public int getLastArc(int node) {
+        return firstArc[node + 1];
+    }
+
+    /**
+     * Returns the index of the node the given arc leads to.
+     * @param arc The index of the arc.
+     * @return The index of the node the given arc leads to.
+     */
+    public int getArcTarget(int arc) {
+        return arcTargets[arc];
+    }
+
+    /**
+     * Returns the index of the edge the given arc belongs to.
+     * @param arc The index of the arc.
+     * @return The index of the edge the given arc belongs to.
+     */
+    public int getArcEdge(int arc) {
+        return arcEdges[arc];
+    }
+
+    /**
+     * Returns the duration of the given arc.
+     * @param arc The index of the arc.
+     * @return The duration of the given arc.
+     */
+    public long getArcDuration(int arc) {
+        return arcDurations[arc];
+    }
+
+    /**
+     * Returns the index of the first end point of the given edge.
+     * @param edge The index of the edge.
+     * @return The index of the first end point of the given edge.
+     */
+    public int getNodeA(int edge) {
+        return edgeNodeA[edge];
+    }
+
+    /**
+     * Returns the index of the second end point of the given edge.
+     * @param edge The index of the edge.
+     * @return The index of the second end point of the given edge.
+     */
+    public int getNodeB(int edge) {
+        return edgeNodeB[edge];
+    }
+
+    /**
+     * Returns the duration of the given edge.
+     * @param edge The index of the edge.
+     * @return The duration of the given edge.
+     */
+    public long getDuration(int edge) {
+        return edgeDurations[edge];
+    }
+
+    /**
+     * Returns the index of the arc leading from node {@code from} to node {@code to}.
+     * @param from The index of the start node.
+     * @param to The index of the end node.
+     * @return The index of the arc or -1 if the two nodes are not directly connected.
+     */
+    public int findArc(int from, int to) {
+        for (int arc = firstArc[from]; arc < firstArc[from + 1]; arc++) {
+            if (arcTargets[arc] == to) {
+                return arc;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the edge connecting the two given nodes.
+     * @param nodeA The index of the first node.
+     * @param nodeB The index of the second node.
+     * @return The index of the edge or -1 if the two nodes are not directly connected.
+     */
+    public int findEdge(int nodeA, int nodeB) {
+        int arc = findArc(nodeA, nodeB);
+        return arc == -1 ? -1 : arcEdges[arc];
+    }
+}
@@ -5,6 +5,8 @@ import projekt.base.TickInterval;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
 
 /**
  * A class representing an order that contains a {@link List} of foods, was placed at an {@link VehicleManager.OccupiedRestaurant} and should be delivered to a {@link Location} during a given {@link TickInterval}.
@@ -18,7 +20,7 @@ public class ConfirmedOrder implements Serializable {
     private final VehicleManager.OccupiedRestaurant restaurant;
     private long actualDeliveryTick;
 
-    private static int nextOrderID;
+    private static final AtomicInteger nextOrderID = new AtomicInteger();
 
     /**
      * Creates a new {@link ConfirmedOrder} instance.
@@ -29,6 +31,10 @@ public class ConfirmedOrder implements Serializable {
      * @param weight The weight of the {@link ConfirmedOrder}.
      */
     public ConfirmedOrder(Location location, VehicleManager.OccupiedRestaurant restaurant, TickInterval deliveryInterval, List<String> foodList, double weight) {
+        this(location, restaurant, deliveryInterval, foodList, weight, nextOrderID::getAndIncrement);
+    }
+
+    private ConfirmedOrder(Location location, VehicleManager.OccupiedRestaurant restaurant, TickInterval deliveryInterval, List<String> foodList, double weight, IntSupplier orderID) {
 
         String invalidFood = foodList.stream().filter(food -> !restaurant.getComponent().getAvailableFood().contains(food)).findFirst().orElse(null);
 
@@ -41,7 +47,36 @@ public class ConfirmedOrder implements Serializable {
         this.deliveryInterval = deliveryInterval;
         this.foodList = foodList;
         this.weight = weight;
-        orderID = nextOrderID++;
+        this.orderID = orderID.getAsInt();
+    }
+
+    /**
+     * Creates a new {@link ConfirmedOrder} instance with the given ID, e.g. to restore a stored {@link ConfirmedOrder}.
+     * {@link ConfirmedOrder}s that are created afterwards receive higher IDs.
+     * @param orderID The ID of the {@link ConfirmedOrder}.
+     * @param location The {@link Location} to deliver the {@link ConfirmedOrder} to.
+     * @param restaurant The {@link VehicleManager.OccupiedRestaurant} the {@link ConfirmedOrder} was placed at.
+     * @param deliveryInterval The {@link TickInterval} in which the {@link ConfirmedOrder} should be delivered.
+     * @param foodList A {@link List} containing the ordered food.
+     * @param weight The weight of the {@link ConfirmedOrder}.
+     */
+    public ConfirmedOrder(int orderID, Location location, VehicleManager.OccupiedRestaurant restaurant, TickInterval deliveryInterval, List<String> foodList, double weight) {
+        this(location, restaurant, deliveryInterval, foodList, weight, () -> orderID);
+        nextOrderID.accumulateAndGet(orderID + 1, Math::max);
+    }
+
+    /**
+     * Creates a copy of the given {@link ConfirmedOrder} with the same ID and actual delivery tick.
+     * @param order The {@link ConfirmedOrder} to copy.
+     */
+    ConfirmedOrder(ConfirmedOrder order) {
+        this.location = order.location;
+        this.restaurant = order.restaurant;
+        this.deliveryInterval = order.deliveryInterval;
+        this.foodList = order.foodList;
+        this.weight = order.weight;
+        this.orderID = order.orderID;
+        this.actualDeliveryTick = order.actualDeliveryTick;
     }
 
     /**
@@ -0,0 +1,590 @@
+package projekt.delivery.routing;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * A contraction hierarchy of a {@link CompactGraph}.<p>
+ *
+ * During preprocessing, the nodes of the graph are contracted one after another in the order of their importance. When a
+ * node is contracted, shortcuts are inserted between its remaining neighbours wherever the node lies on the only shortest
+ * path between them. The rank of a node is the position at which it was contracted. Afterwards, every shortest path can
+ * be found by two searches that only follow arcs to nodes of a higher rank, one from the start and one from the end node.
+ * Since the edges of a {@link Region} are undirected, the upward graph of both searches is the same.<p>
+ *
+ * Every arc of the upward graph stores the node it bypasses, which is used to unpack shortcuts into the original nodes.
+ * A hierarchy only keeps primitive arrays and does not reference the graph it was built from. Queries reuse the buffers of
+ * a thread-local workspace, so they can run concurrently. A hierarchy can be written to and read from a binary stream
+ * together with the fingerprint of the graph it was built from.
+ */
+final class ContractionHierarchy {
+
+    private static final long INFINITY = ShortestPathTree.UNREACHABLE;
+    private static final int FORMAT_VERSION = 1;
+
+    private static final ThreadLocal<Query> QUERY = ThreadLocal.withInitial(Query::new);
+
+    private final int[] ranks;
+    private final int[] firstArc;
+    private final int[] arcTargets;
+    private final long[] arcDurations;
+    private final int[] arcMiddles;
+    private final long fingerprint;
+
+    private ContractionHierarchy(long fingerprint, int[] ranks, int[] firstArc, int[] arcTargets, long[] arcDurations, int[] arcMiddles) {
+        this.fingerprint = fingerprint;
+        this.ranks = ranks;
+        this.firstArc = firstArc;
+        this.arcTargets = arcTargets;
+        this.arcDurations = arcDurations;
+        this.arcMiddles = arcMiddles;
+    }
+
+    /**
+     * Creates a new {@link ContractionHierarchy} by contracting the given {@link CompactGraph}.
+     * @param graph The {@link CompactGraph} to contract.
+     */
+    ContractionHierarchy(CompactGraph graph) {
+        Contractor contractor = new Contractor(graph);
+        contractor.contractAll();
+        ranks = contractor.ranks;
+        fingerprint = graph.getFingerprint();
+
+        int nodeCount = graph.getNodeCount();
+        firstArc = new int[nodeCount + 1];
+        for (int v = 0; v < nodeCount; v++) {
+            firstArc[v + 1] = firstArc[v] + contractor.upwardSizes[v];
+        }
+        arcTargets = new int[firstArc[nodeCount]];
+        arcDurations = new long[arcTargets.length];
+        arcMiddles = new int[arcTargets.length];
+        for (int v = 0; v < nodeCount; v++) {
+            int size = contractor.upwardSizes[v];
+            System.arraycopy(contractor.upwardTargets[v], 0, arcTargets, firstArc[v], size);
+            System.arraycopy(contractor.upwardDurations[v], 0, arcDurations, firstArc[v], size);
+            System.arraycopy(contractor.upwardMiddles[v], 0, arcMiddles, firstArc[v], size);
+        }
+    }
+
+    /**
+     * Returns whether this hierarchy was built from a graph with the same content as the given one.
+     * @param graph The {@link CompactGraph} to check.
+     * @return {@code true} if this hierarchy can be used for the given {@link CompactGraph}, {@code false} otherwise.
+     */
+    boolean matches(CompactGraph graph) {
+        return ranks.length == graph.getNodeCount() && fingerprint == graph.getFingerprint();
+    }
+
+    /**
+     * Writes this hierarchy to the given {@link DataOutput}.
+     * @param out The {@link DataOutput} to write to.
+     * @throws IOException If an I/O error occurs.
+     */
+    void write(DataOutput out) throws IOException {
+        out.writeInt(FORMAT_VERSION);
+        out.writeLong(fingerprint);
+        out.writeInt(ranks.length);
+        out.writeInt(arcTargets.length);
+        for (int v = 0; v < ranks.length; v++) {
+            out.writeInt(ranks[v]);
+            out.writeInt(firstArc[v + 1]);
+        }
+        for (int arc = 0; arc < arcTargets.length; arc++) {
+            out.writeInt(arcTargets[arc]);
+            out.writeLong(arcDurations[arc]);
+            out.writeInt(arcMiddles[arc]);
+        }
+    }
+
+    /**
+     * Reads a hierarchy that was written by {@link #write(DataOutput)} from the given {@link DataInput}.
+     * @param in The {@link DataInput} to read from.
+     * @return The read hierarchy.
+     * @throws IOException If an I/O error occurs or the input is not a hierarchy.
+     */
+    static ContractionHierarchy read(DataInput in) throws IOException {
+        int version = in.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported contraction hierarchy version: %d".formatted(version));
+        }
+        long fingerprint = in.readLong();
+        int nodeCount = in.readInt();
+        int arcCount = in.readInt();
+        if (nodeCount < 0 || arcCount < 0) {
+            throw new IOException("Malformed contraction hierarchy");
+        }
+        int[] ranks = new int[nodeCount];
+        int[] firstArc = new int[nodeCount + 1];
+        for (int v = 0; v < nodeCount; v++) {
+            ranks[v] = in.readInt();
+            firstArc[v + 1] = in.readInt();
+            if (firstArc[v + 1] < firstArc[v] || firstArc[v + 1] > arcCount) {
+                throw new IOException("Malformed contraction hierarchy");
+            }
+        }
+        int[] arcTargets = new int[arcCount];
+        long[] arcDurations = new long[arcCount];
+        int[] arcMiddles = new int[arcCount];
+        for (int arc = 0; arc < arcCount; arc++) {
+            arcTargets[arc] = in.readInt();
+            arcDurations[arc] = in.readLong();
+            arcMiddles[arc] = in.readInt();
+        }
+        return new ContractionHierarchy(fingerprint, ranks, firstArc, arcTargets, arcDurations, arcMiddles);
+    }
+
+    /**
+     * Returns the amount of arcs of the upward graph, including shortcuts.
+     * @return The amount of arcs of the upward graph.
+     */
+    int getArcCount() {
+        return arcTargets.length;
+    }
+
+    /**
+     * Calculates the shortest path between the two given nodes.
+     * @param graph The {@link CompactGraph} this hierarchy was built from.
+     * @param start The index of the start node.
+     * @param end The index of the end node.
+     * @return A new, mutable {@link Deque} of the nodes (excluding {@code start} and including {@code end}) on the path.
+     * @throws IllegalArgumentException If there is no path between the two nodes.
+     */
+    Deque<Region.Node> getPath(CompactGraph graph, int start, int end) {
+        Deque<Region.Node> path = new ArrayDeque<>();
+        if (start == end) {
+            return path;
+        }
+
+        Query query = QUERY.get();
+        int meeting = query.run(this, start, end);
+        if (meeting == -1) {
+            throw new IllegalArgumentException("There is no path from %s to %s".formatted(graph.getNode(start), graph.getNode(end)));
+        }
+
+        // collect the upward path from the start node to the meeting node in reverse and unpack it from the start node on
+        int count = 0;
+        for (int v = meeting; v != -1; v = query.forward.getPredecessor(v)) {
+            count++;
+        }
+        int[] upward = new int[count];
+        for (int v = meeting, i = 0; v != -1; v = query.forward.getPredecessor(v)) {
+            upward[i++] = v;
+        }
+        for (int i = count - 1; i > 0; i--) {
+            unpack(graph, upward[i], upward[i - 1], path);
+        }
+        for (int v = meeting; v != end; v = query.backward.getPredecessor(v)) {
+            unpack(graph, v, query.backward.getPredecessor(v), path);
+        }
+        return path;
+    }
+
+    /**
+     * Returns the distance between the two given nodes.
+     * @param start The index of the start node.
+     * @param end The index of the end node.
+     * @return The duration of the shortest path between the two nodes or {@link ShortestPathTree#UNREACHABLE} if there is
+     * none.
+     */
+    long getDistance(int start, int end) {
+        if (start == end) {
+            return 0;
+        }
+        Query query = QUERY.get();
+        int meeting = query.run(this, start, end);
+        return meeting == -1 ? INFINITY : query.forward.getDistance(meeting) + query.backward.getDistance(meeting);
+    }
+
+    /**
+     * Appends the original nodes of the arc between the two given nodes to the given path, excluding {@code from} and
+     * including {@code to}.
+     */
+    private void unpack(CompactGraph graph, int from, int to, Deque<Region.Node> path) {
+        Deque<int[]> stack = new ArrayDeque<>();
+        stack.push(new int[] {from, to});
+        while (!stack.isEmpty()) {
+            int[] pair = stack.pop();
+            int middle = arcMiddles[findArc(pair[0], pair[1])];
+            if (middle == -1) {
+                path.addLast(graph.getNode(pair[1]));
+            } else {
+                stack.push(new int[] {middle, pair[1]});
+                stack.push(new int[] {pair[0], middle});
+            }
+        }
+    }
+
+    /**
+     * Checks whether the given node is reached on a shorter path through one of its higher neighbours, i.e. whether the
+     * search can be stalled at this node.
+     */
+    private boolean isStalled(Search search, int u) {
+        long distance = search.getDistance(u);
+        for (int arc = firstArc[u]; arc < firstArc[u + 1]; arc++) {
+            if (search.getDistance(arcTargets[arc]) < distance - arcDurations[arc]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the index of the upward arc connecting the two given nodes.
+     */
+    private int findArc(int a, int b) {
+        int lower = ranks[a] < ranks[b] ? a : b;
+        int higher = lower == a ? b : a;
+        for (int arc = firstArc[lower]; arc < firstArc[lower + 1]; arc++) {
+            if (arcTargets[arc] == higher) {
+                return arc;
+            }
+        }
+        throw new AssertionError("Missing arc between %d and %d".formatted(a, b));
+    }
+
+    /**
+     * The state of a bidirectional query. The forward search starts at the start node, the backward search at the end
+     * node, and both only follow arcs of the upward graph.
+     */
+    private static final class Query {
+
+        private final Search forward = new Search();
+        private final Search backward = new Search();
+
+        /**
+         * Runs both searches until no shorter path can be found.
+         * @return The node at which the two searches meet on the shortest path or -1 if there is no path.
+         */
+        int run(ContractionHierarchy hierarchy, int start, int end) {
+            int nodeCount = hierarchy.ranks.length;
+            forward.reset(nodeCount, start);
+            backward.reset(nodeCount, end);
+
+            long best = INFINITY;
+            int meeting = -1;
+            while (Math.min(forward.peekKey(), backward.peekKey()) < best) {
+                Search search = forward.peekKey() <= backward.peekKey() ? forward : backward;
+                Search other = search == forward ? backward : forward;
+                int u = search.settleNext();
+                if (other.isReached(u) && search.getDistance(u) + other.getDistance(u) < best) {
+                    best = search.getDistance(u) + other.getDistance(u);
+                    meeting = u;
+                }
+                // the node can be reached on a shorter path through a higher node, so its arcs cannot lead to a shortest path
+                if (hierarchy.isStalled(search, u)) {
+                    continue;
+                }
+                for (int arc = hierarchy.firstArc[u]; arc < hierarchy.firstArc[u + 1]; arc++) {
+                    int v = hierarchy.arcTargets[arc];
+                    long candidate = search.getDistance(u) + hierarchy.arcDurations[arc];
+                    if (search.relax(u, v, candidate) && other.isReached(v) && candidate + other.getDistance(v) < best) {
+                        best = candidate + other.getDistance(v);
+                        meeting = v;
+                    }
+                }
+            }
+            return meeting;
+        }
+    }
+
+    /**
+     * One direction of a {@link Query}.
+     */
+    private static final class Search {
+
+        private final IndexedHeap heap = new IndexedHeap();
+        private long[] distances = new long[0];
+        private int[] predecessors = new int[0];
+        private int[] generations = new int[0];
+        private int generation;
+
+        void reset(int nodeCount, int source) {
+            if (generations.length < nodeCount) {
+                distances = new long[nodeCount];
+                predecessors = new int[nodeCount];
+                generations = new int[nodeCount];
+                generation = 0;
+            }
+            heap.ensureCapacity(nodeCount);
+            heap.clear();
+            if (++generation == Integer.MAX_VALUE) {
+                Arrays.fill(generations, 0);
+                generation = 1;
+            }
+            generations[source] = generation;
+            distances[source] = 0;
+            predecessors[source] = -1;
+            heap.insertOrDecrease(source, 0);
+        }
+
+        long peekKey() {
+            return heap.isEmpty() ? INFINITY : heap.peekKey();
+        }
+
+        int settleNext() {
+            return heap.poll();
+        }
+
+        boolean relax(int u, int v, long candidate) {
+            if (isReached(v) && (candidate >= distances[v] || !heap.contains(v))) {
+                return false;
+            }
+            generations[v] = generation;
+            distances[v] = candidate;
+            predecessors[v] = u;
+            heap.insertOrDecrease(v, candidate);
+            return true;
+        }
+
+        boolean isReached(int node) {
+            return generations[node] == generation;
+        }
+
+        long getDistance(int node) {
+            return isReached(node) ? distances[node] : INFINITY;
+        }
+
+        int getPredecessor(int node) {
+            return predecessors[node];
+        }
+    }
+
+    /**
+     * Contracts the nodes of a {@link CompactGraph} and records the upward arcs of every node.<p>
+     *
+     * Nodes are ordered by their edge difference (the amount of shortcuts their contraction adds minus the amount of
+     * edges it removes), the amount of their contracted neighbours and their level in the hierarchy. Priorities are
+     * updated lazily when a node is about to be contracted and eagerly for the neighbours of a contracted node.
+     */
+    private static final class Contractor {
+
+        /**
+         * The maximum amount of nodes a witness search settles before it gives up and a shortcut is inserted.
+         */
+        private static final int WITNESS_SETTLE_LIMIT = 64;
+
+        /**
+         * The maximum amount of nodes a witness search settles while the priority of a node is estimated. The estimate
+         * only influences the order of the nodes, so it can be less exact than the contraction itself.
+         */
+        private static final int PRIORITY_SETTLE_LIMIT = 16;
+
+        private final int nodeCount;
+        private final int[][] targets;
+        private final long[][] durations;
+        private final int[][] middles;
+        private final int[] sizes;
+
+        private final int[] contractedNeighbours;
+        private final int[] levels;
+        private final int[] ranks;
+
+        private final int[][] upwardTargets;
+        private final long[][] upwardDurations;
+        private final int[][] upwardMiddles;
+        private final int[] upwardSizes;
+
+        private final IndexedHeap witnessHeap = new IndexedHeap();
+        private final long[] witnessDistances;
+        private final int[] witnessGenerations;
+        private int witnessGeneration;
+
+        private int shortcutCount;
+        private int[] shortcutFrom = new int[16];
+        private int[] shortcutTo = new int[16];
+        private long[] shortcutDurations = new long[16];
+
+        Contractor(CompactGraph graph) {
+            nodeCount = graph.getNodeCount();
+            targets = new int[nodeCount][];
+            durations = new long[nodeCount][];
+            middles = new int[nodeCount][];
+            sizes = new int[nodeCount];
+            for (int v = 0; v < nodeCount; v++) {
+                int degree = graph.getLastArc(v) - graph.getFirstArc(v);
+                targets[v] = new int[Math.max(degree, 1)];
+                durations[v] = new long[targets[v].length];
+                middles[v] = new int[targets[v].length];
+                for (int arc = graph.getFirstArc(v); arc < graph.getLastArc(v); arc++) {
+                    if (graph.getArcTarget(arc) != v) {
+                        addOrDecrease(v, graph.getArcTarget(arc), graph.getArcDuration(arc), -1);
+                    }
+                }
+            }
+
+            contractedNeighbours = new int[nodeCount];
+            levels = new int[nodeCount];
+            ranks = new int[nodeCount];
+
+            upwardTargets = new int[nodeCount][];
+            upwardDurations = new long[nodeCount][];
+            upwardMiddles = new int[nodeCount][];
+            upwardSizes = new int[nodeCount];
+
+            witnessHeap.ensureCapacity(nodeCount);
+            witnessDistances = new long[nodeCount];
+            witnessGenerations = new int[nodeCount];
+        }
+
+        void contractAll() {
+            IndexedHeap queue = new IndexedHeap();
+            queue.ensureCapacity(nodeCount);
+            for (int v = 0; v < nodeCount; v++) {
+                queue.insertOrDecrease(v, priority(v));
+            }
+
+            int rank = 0;
+            while (!queue.isEmpty()) {
+                int v = queue.poll();
+                long priority = priority(v);
+                if (!queue.isEmpty() && priority > queue.peekKey()) {
+                    queue.insertOrDecrease(v, priority);
+                    continue;
+                }
+
+                contract(v);
+                ranks[v] = rank++;
+                for (int i = 0; i < sizes[v]; i++) {
+                    int u = targets[v][i];
+                    contractedNeighbours[u]++;
+                    levels[u] = Math.max(levels[u], levels[v] + 1);
+                }
+                for (int i = 0; i < sizes[v]; i++) {
+                    queue.insertOrUpdate(targets[v][i], priority(targets[v][i]));
+                }
+            }
+        }
+
+        private long priority(int v) {
+            findShortcuts(v, PRIORITY_SETTLE_LIMIT);
+            return 2L * (shortcutCount - sizes[v]) + contractedNeighbours[v] + levels[v];
+        }
+
+        /**
+         * Contracts the given node: its remaining arcs become its upward arcs, it is removed from the adjacency of its
+         * neighbours and the required shortcuts are inserted.
+         */
+        private void contract(int v) {
+            findShortcuts(v, WITNESS_SETTLE_LIMIT);
+
+            upwardTargets[v] = Arrays.copyOf(targets[v], sizes[v]);
+            upwardDurations[v] = Arrays.copyOf(durations[v], sizes[v]);
+            upwardMiddles[v] = Arrays.copyOf(middles[v], sizes[v]);
+            upwardSizes[v] = sizes[v];
+
+            for (int i = 0; i < sizes[v]; i++) {
+                remove(targets[v][i], v);
+            }
+            for (int i = 0; i < shortcutCount; i++) {
+                addOrDecrease(shortcutFrom[i], shortcutTo[i], shortcutDurations[i], v);
+                addOrDecrease(shortcutTo[i], shortcutFrom[i], shortcutDurations[i], v);
+            }
+        }
+
+        /**
+         * Collects the shortcuts that are needed if the given node is contracted.
+         */
+        private void findShortcuts(int v, int settleLimit) {
+            shortcutCount = 0;
+            long maxOutgoing = 0;
+            for (int i = 0; i < sizes[v]; i++) {
+                maxOutgoing = Math.max(maxOutgoing, durations[v][i]);
+            }
+            for (int i = 0; i < sizes[v]; i++) {
+                int u = targets[v][i];
+                long incoming = durations[v][i];
+                witnessSearch(u, v, incoming + maxOutgoing, settleLimit);
+                for (int j = i + 1; j < sizes[v]; j++) {
+                    long via = incoming + durations[v][j];
+                    if (witnessDistance(targets[v][j]) > via) {
+                        addShortcut(u, targets[v][j], via);
+                    }
+                }
+            }
+        }
+
+        private void addShortcut(int from, int to, long duration) {
+            if (shortcutCount == shortcutFrom.length) {
+                shortcutFrom = Arrays.copyOf(shortcutFrom, shortcutCount * 2);
+                shortcutTo = Arrays.copyOf(shortcutTo, shortcutCount * 2);
+                shortcutDurations = Arrays.copyOf(shortcutDurations, shortcutCount * 2);
+            }
+            shortcutFrom[shortcutCount] = from;
+            shortcutTo[shortcutCount] = to;
+            shortcutDurations[shortcutCount] = duration;
+            shortcutCount++;
+        }
+
+        /**
+         * Runs a bounded Dijkstra search from the given source that ignores the node that is being contracted.
+         */
+        private void witnessSearch(int source, int ignored, long limit, int settleLimit) {
+            witnessHeap.clear();
+            if (++witnessGeneration == Integer.MAX_VALUE) {
+                Arrays.fill(witnessGenerations, 0);
+                witnessGeneration = 1;
+            }
+            witnessGenerations[source] = witnessGeneration;
+            witnessDistances[source] = 0;
+            witnessHeap.insertOrDecrease(source, 0);
+
+            int settled = 0;
+            while (!witnessHeap.isEmpty() && witnessHeap.peekKey() <= limit && settled++ < settleLimit) {
+                int u = witnessHeap.poll();
+                for (int i = 0; i < sizes[u]; i++) {
+                    int w = targets[u][i];
+                    if (w == ignored) {
+                        continue;
+                    }
+                    long candidate = witnessDistances[u] + durations[u][i];
+                    if (witnessGenerations[w] != witnessGeneration || candidate < witnessDistances[w]) {
+                        witnessGenerations[w] = witnessGeneration;
+                        witnessDistances[w] = candidate;
+                        witnessHeap.insertOrDecrease(w, candidate);
+                    }
+                }
+            }
+        }
+
+        private long witnessDistance(int node) {
+            return witnessGenerations[node] == witnessGeneration ? witnessDistances[node] : INFINITY;
+        }
+
+        private void addOrDecrease(int v, int target, long duration, int middle) {
+            for (int i = 0; i < sizes[v]; i++) {
+                if (targets[v][i] == target) {
+                    if (duration < durations[v][i]) {
+                        durations[v][i] = duration;
+                        middles[v][i] = middle;
+                    }
+                    return;
+                }
+            }
+            if (sizes[v] == targets[v].length) {
+                targets[v] = Arrays.copyOf(targets[v], sizes[v] * 2);
+                durations[v] = Arrays.copyOf(durations[v], sizes[v] * 2);
+                middles[v] = Arrays.copyOf(middles[v], sizes[v] * 2);
+            }
+            targets[v][sizes[v]] = target;
+            durations[v][sizes[v]] = duration;
+            middles[v][sizes[v]] = middle;
+            sizes[v]++;
+        }
+
+        private void remove(int v, int target) {
+            for (int i = 0; i < sizes[v]; i++) {
+                if (targets[v][i] == target) {
+                    int last = --sizes[v];
+                    targets[v][i] = targets[v][last];
+                    durations[v][i] = durations[v][last];
+                    middles[v][i] = middles[v][last];
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package projekt.delivery.routing;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * A {@link PathCalculator} that calculates the shortest path between a start and end point using a
+ * {@link ContractionHierarchy}.<p>
+ *
+ * The hierarchy of a region is built once, when the first path inside the region is requested or when
+ * {@link #preprocess(Region)} is called, unless it was read from a file before by {@link #readHierarchy(Region, DataInput)}.
+ * Afterwards, a query only settles a small amount of nodes, which makes this
+ * calculator suitable for large regions that receive many point-to-point queries. Regions must not be modified after
+ * they have been preprocessed. A hierarchy is built at most once at a time, while queries in other regions continue.<p>
+ *
+ * {@link #getAllPathsTo(Region.Node)} and {@link #getShortestPathTree(Region.Node)} cannot profit from the hierarchy
+ * and are delegated to a {@link DijkstraPathCalculator}.
+ */
+public class ContractionHierarchyPathCalculator implements PathCalculator {
+
+    private final PathCalculator fallback = new DijkstraPathCalculator();
+    private final GraphCache<ContractionHierarchy> hierarchies = new GraphCache<>(ContractionHierarchy::new);
+
+    /**
+     * Builds the {@link ContractionHierarchy} of the given {@link Region} if it has not been built yet.
+     * @param region The {@link Region} to preprocess.
+     */
+    public void preprocess(Region region) {
+        getHierarchy(CompactGraph.of(region));
+    }
+
+    /**
+     * Writes the {@link ContractionHierarchy} of the given {@link Region} to the given {@link DataOutput}. The
+     * hierarchy is built if it has not been built yet.
+     * @param region The {@link Region} to write the hierarchy of.
+     * @param out The {@link DataOutput} to write to.
+     * @throws IOException If an I/O error occurs.
+     */
+    public void writeHierarchy(Region region, DataOutput out) throws IOException {
+        getHierarchy(CompactGraph.of(region)).write(out);
+    }
+
+    /**
+     * Reads a {@link ContractionHierarchy} that was written by {@link #writeHierarchy(Region, DataOutput)} from the
+     * given {@link DataInput} and uses it for the given {@link Region}.
+     * @param region The {@link Region} to use the hierarchy for.
+     * @param in The {@link DataInput} to read from.
+     * @return {@code true} if the hierarchy was built for a {@link Region} with the same content and is used from now
+     * on, {@code false} if it was ignored.
+     * @throws IOException If an I/O error occurs or the input is not a hierarchy.
+     */
+    public boolean readHierarchy(Region region, DataInput in) throws IOException {
+        CompactGraph graph = CompactGraph.of(region);
+        ContractionHierarchy hierarchy = ContractionHierarchy.read(in);
+        if (!hierarchy.matches(graph)) {
+            return false;
+        }
+        hierarchies.put(graph, hierarchy);
+        return true;
+    }
+
+    @Override
+    public Deque<Region.Node> getPath(Region.Node start, Region.Node end) {
+        CompactGraph graph = CompactGraph.of(end.getRegion());
+        return getHierarchy(graph).getPath(graph, graph.indexOf(start), graph.indexOf(end));
+    }
+
+    @Override
+    public long getDuration(Region.Node start, Region.Node end) {
+        CompactGraph graph = CompactGraph.of(end.getRegion());
+        return getHierarchy(graph).getDistance(graph.indexOf(start), graph.indexOf(end));
+    }
+
+    @Override
+    public Map<Region.Node, Deque<Region.Node>> getAllPathsTo(Region.Node end) {
+        return fallback.getAllPathsTo(end);
+    }
+
+    @Override
+    public ShortestPathTree getShortestPathTree(Region.Node end) {
+        return fallback.getShortestPathTree(end);
+    }
+
+    private ContractionHierarchy getHierarchy(CompactGraph graph) {
+        return hierarchies.get(graph);
+    }
+}
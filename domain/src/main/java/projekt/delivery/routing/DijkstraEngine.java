@@ -0,0 +1,238 @@
+package projekt.delivery.routing;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.function.IntToLongFunction;
+
+/**
+ * The search state of Dijkstra's algorithm on a {@link CompactGraph}.<p>
+ *
+ * Distances and predecessors are stored in primitive arrays indexed like the nodes of the {@link CompactGraph} and the
+ * frontier is kept in an {@link IndexedHeap}. Instead of clearing its arrays, an engine increments a generation counter
+ * whenever a new search is started, so starting a search does not depend on the size of the graph.<p>
+ *
+ * Engines are reused between searches through {@link #current()} and {@link #currentBackward()}. An engine is only
+ * valid until its next search is started, so callers have to copy the results they need before calling into another
+ * search on the same thread.
+ */
+final class DijkstraEngine {
+
+    /**
+     * The distance of nodes that have not been reached.
+     */
+    static final long UNREACHABLE = ShortestPathTree.UNREACHABLE;
+
+    /**
+     * The potential of plain Dijkstra searches, which orders nodes only by their distance.
+     */
+    static final IntToLongFunction NO_POTENTIAL = node -> 0;
+
+    private static final ThreadLocal<DijkstraEngine> CURRENT = ThreadLocal.withInitial(DijkstraEngine::new);
+    private static final ThreadLocal<DijkstraEngine> CURRENT_BACKWARD = ThreadLocal.withInitial(DijkstraEngine::new);
+
+    private final IndexedHeap heap = new IndexedHeap();
+    private long[] distances = new long[0];
+    private int[] predecessors = new int[0];
+    private int[] generations = new int[0];
+    private int generation;
+    private CompactGraph graph;
+
+    /**
+     * Returns the {@link DijkstraEngine} of the current thread.
+     * @return The {@link DijkstraEngine} of the current thread.
+     */
+    static DijkstraEngine current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Returns the second {@link DijkstraEngine} of the current thread, which is used for the backward direction of
+     * bidirectional searches while the engine returned by {@link #current()} runs the forward direction.
+     * @return The second {@link DijkstraEngine} of the current thread.
+     */
+    static DijkstraEngine currentBackward() {
+        return CURRENT_BACKWARD.get();
+    }
+
+    /**
+     * Starts a new search on the given {@link CompactGraph}, discarding the results of the previous search.
+     * @param graph The {@link CompactGraph} to search.
+     * @return This {@link DijkstraEngine}.
+     */
+    DijkstraEngine reset(CompactGraph graph) {
+        this.graph = graph;
+        int nodeCount = graph.getNodeCount();
+        if (generations.length < nodeCount) {
+            distances = new long[nodeCount];
+            predecessors = new int[nodeCount];
+            generations = new int[nodeCount];
+            generation = 0;
+        }
+        heap.ensureCapacity(nodeCount);
+        heap.clear();
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(generations, 0);
+            generation = 1;
+        }
+        return this;
+    }
+
+    /**
+     * Adds the given node as a source of the search.
+     * @param node The index of the source node.
+     * @return This {@link DijkstraEngine}.
+     */
+    DijkstraEngine addSource(int node) {
+        reach(node, 0, -1);
+        heap.insertOrDecrease(node, 0);
+        return this;
+    }
+
+    /**
+     * Settles nodes until the given target node is settled or no reachable node is left.
+     * @param target The index of the node to stop at or -1 to settle every reachable node.
+     * @return This {@link DijkstraEngine}.
+     */
+    DijkstraEngine run(int target) {
+        return run(target, NO_POTENTIAL);
+    }
+
+    /**
+     * Settles nodes until the given target node is settled or no reachable node is left. Nodes are ordered by their
+     * distance plus their potential, which turns the search into an A* search.<p>
+     *
+     * The potential has to be consistent, i.e. for every arc from {@code u} to {@code v} the potential of {@code u} must
+     * not exceed the duration of the arc plus the potential of {@code v}. Otherwise, settled distances are not final.
+     *
+     * @param target The index of the node to stop at or -1 to settle every reachable node.
+     * @param potential The potential of every node.
+     * @return This {@link DijkstraEngine}.
+     */
+    DijkstraEngine run(int target, IntToLongFunction potential) {
+        while (!heap.isEmpty()) {
+            int u = settleNext();
+            if (u == target) {
+                break;
+            }
+            relaxArcs(u, potential);
+        }
+        return this;
+    }
+
+    /**
+     * Returns whether there are reached nodes that have not been settled yet.
+     * @return {@code true} if there are no more nodes to settle, {@code false} otherwise.
+     */
+    boolean isExhausted() {
+        return heap.isEmpty();
+    }
+
+    /**
+     * Returns the smallest key of all nodes that have been reached but not settled yet.
+     * @return The smallest key of the frontier or {@link #UNREACHABLE} if the frontier is empty.
+     */
+    long peekKey() {
+        return heap.isEmpty() ? UNREACHABLE : heap.peekKey();
+    }
+
+    /**
+     * Settles the node with the smallest key. Its distance is final afterwards.
+     * @return The index of the settled node.
+     */
+    int settleNext() {
+        return heap.poll();
+    }
+
+    /**
+     * Relaxes all arcs leaving the given settled node.
+     * @param u The index of the settled node.
+     */
+    void relaxArcs(int u) {
+        relaxArcs(u, NO_POTENTIAL);
+    }
+
+    /**
+     * Relaxes all arcs leaving the given settled node. Reached nodes are keyed by their distance plus their potential.
+     * @param u The index of the settled node.
+     * @param potential The potential of every node.
+     */
+    void relaxArcs(int u, IntToLongFunction potential) {
+        long distance = distances[u];
+        for (int arc = graph.getFirstArc(u); arc < graph.getLastArc(u); arc++) {
+            int v = graph.getArcTarget(arc);
+            long candidate = distance + graph.getArcDuration(arc);
+            if (!isReached(v)) {
+                reach(v, candidate, u);
+                heap.insertOrDecrease(v, candidate + potential.applyAsLong(v));
+            } else if (candidate < distances[v] && heap.contains(v)) {
+                distances[v] = candidate;
+                predecessors[v] = u;
+                heap.insertOrDecrease(v, candidate + potential.applyAsLong(v));
+            }
+        }
+    }
+
+    private void reach(int node, long distance, int predecessor) {
+        generations[node] = generation;
+        distances[node] = distance;
+        predecessors[node] = predecessor;
+    }
+
+    /**
+     * Returns whether the given node has been reached by the current search.
+     * @param node The index of the node.
+     * @return {@code true} if the node has been reached, {@code false} otherwise.
+     */
+    boolean isReached(int node) {
+        return generations[node] == generation;
+    }
+
+    /**
+     * Returns whether the distance of the given node is final.
+     * @param node The index of the node.
+     * @return {@code true} if the node has been settled, {@code false} otherwise.
+     */
+    boolean isSettled(int node) {
+        return isReached(node) && !heap.contains(node);
+    }
+
+    /**
+     * Returns the tentative distance of the given node from the sources of the search.
+     * @param node The index of the node.
+     * @return The distance of the node or {@link #UNREACHABLE} if it has not been reached.
+     */
+    long getDistance(int node) {
+        return isReached(node) ? distances[node] : UNREACHABLE;
+    }
+
+    /**
+     * Returns the predecessor of the given node on its shortest path from the sources of the search.
+     * @param node The index of the node.
+     * @return The index of the predecessor or -1 if the node is a source or has not been reached.
+     */
+    int getPredecessor(int node) {
+        return isReached(node) ? predecessors[node] : -1;
+    }
+
+    /**
+     * Returns the path from the given node back to the source of the search.<p>
+     *
+     * Since the edges of a {@link Region} are undirected, this is the shortest path from {@code node} to the source if
+     * the given node has been settled.
+     *
+     * @param node The index of the start node of the path.
+     * @return A new, mutable {@link Deque} of the nodes (excluding {@code node} and including the source) on the path.
+     * @throws IllegalArgumentException If the given node has not been reached.
+     */
+    Deque<Region.Node> pathToSource(int node) {
+        if (!isReached(node)) {
+            throw new IllegalArgumentException("No path from %s".formatted(graph.getNode(node)));
+        }
+        Deque<Region.Node> path = new ArrayDeque<>();
+        for (int v = predecessors[node]; v != -1; v = predecessors[v]) {
+            path.addLast(graph.getNode(v));
+        }
+        return path;
+    }
+}
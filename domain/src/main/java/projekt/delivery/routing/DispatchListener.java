@@ -0,0 +1,59 @@
+package projekt.delivery.routing;
+
+import java.util.function.BiConsumer;
+
+/**
+ * A listener that is informed about all decisions of a dispatcher, i.e. all calls that change the plan of a
+ * {@link Vehicle} of a {@link VehicleManager}. Together with the orders of each tick, these calls are the only inputs of a
+ * simulation, so a listener can record them to {@linkplain projekt.delivery.simulation.SimulationRecording replay} a run.
+ * <p>
+ * The listener is called before the call is executed, so calls that throw an exception are reported as well, followed by
+ * {@link #onFailure(RuntimeException)}. Calls that are made by the {@link VehicleManager} itself, e.g. while it moves a
+ * {@link Vehicle}, are not reported.
+ *
+ * @see VehicleManager#setDispatchListener(DispatchListener)
+ */
+public interface DispatchListener {
+
+    /**
+     * Called at the start of {@link VehicleManager#tick(long)}, i.e. the following calls are made while the
+     * {@link Vehicle}s are moved or after they have been moved.
+     * @param currentTick The tick that is executed.
+     */
+    void onTick(long currentTick);
+
+    /**
+     * Called when {@link Vehicle#moveQueued(Region.Node, BiConsumer)} or {@link Vehicle#moveDirect(Region.Node, BiConsumer)}
+     * is called. The returned arrival action is queued instead of the given one, e.g. to observe the calls made by it.
+     * @param vehicle The {@link Vehicle} that is moved.
+     * @param node The {@link Region.Node} the {@link Vehicle} is moved to.
+     * @param direct Whether the move queue of the {@link Vehicle} is cleared.
+     * @param arrivalAction The arrival action that was passed to the call.
+     * @return The arrival action to queue.
+     */
+    BiConsumer<? super Vehicle, Long> onMove(Vehicle vehicle, Region.Node node, boolean direct, BiConsumer<? super Vehicle, Long> arrivalAction);
+
+    /**
+     * Called when {@link VehicleManager.OccupiedRestaurant#loadOrder(Vehicle, ConfirmedOrder, long)} is called.
+     * @param restaurant The {@link VehicleManager.OccupiedRestaurant} the order is loaded at.
+     * @param vehicle The {@link Vehicle} the order is loaded onto.
+     * @param order The loaded {@link ConfirmedOrder}.
+     * @param currentTick The tick that was passed to the call.
+     */
+    void onLoadOrder(VehicleManager.OccupiedRestaurant restaurant, Vehicle vehicle, ConfirmedOrder order, long currentTick);
+
+    /**
+     * Called when {@link VehicleManager.OccupiedNeighborhood#deliverOrder(Vehicle, ConfirmedOrder, long)} is called.
+     * @param neighborhood The {@link VehicleManager.OccupiedNeighborhood} the order is delivered at.
+     * @param vehicle The {@link Vehicle} that delivers the order.
+     * @param order The delivered {@link ConfirmedOrder}.
+     * @param tick The tick that was passed to the call.
+     */
+    void onDeliverOrder(VehicleManager.OccupiedNeighborhood neighborhood, Vehicle vehicle, ConfirmedOrder order, long tick);
+
+    /**
+     * Called when the call that was reported last throws an exception, before the exception is passed on to the caller.
+     * @param exception The thrown exception.
+     */
+    void onFailure(RuntimeException exception);
+}
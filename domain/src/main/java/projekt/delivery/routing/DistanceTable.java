@@ -0,0 +1,267 @@
+package projekt.delivery.routing;
+
+import java.util.*;
+
+/**
+ * The precomputed travel times between the nodes of a {@link Region} and the neighborhoods of a {@link VehicleManager}.<p>
+ *
+ * The table is meant for dispatching, which compares many vehicles and restaurants with many orders every tick, so all
+ * travel times are looked up in constant time. It stores one row of travel times to all neighborhoods per restaurant in a
+ * flat {@code long[]}, and one row per node that a vehicle is currently heading to. Rows are computed by one Dijkstra
+ * search each, in parallel. Only these rows are kept instead of a matrix of all nodes, so the memory of the table grows
+ * with the amount of restaurants and vehicles rather than with the size of the {@link Region}.<p>
+ *
+ * The travel time of a vehicle is the remaining time until it reaches its next node plus the travel time from that node.
+ * A vehicle on a node is already on its next node, a vehicle on an edge reaches the node it did not come from once it
+ * leaves the edge. The next nodes of the vehicles are updated by {@link #refresh(long)}, which only searches for the nodes
+ * that have no row yet, and drops the rows that are no longer needed. All rows are computed again if the {@link Region}
+ * was changed.<p>
+ *
+ * The {@link projekt.delivery.service.BasicDeliveryService} uses the table to order the neighborhoods of a tour. Travel
+ * times of pairs that are not connected are {@link ShortestPathTree#UNREACHABLE}. Instances are not thread-safe.
+ */
+public final class DistanceTable {
+
+    private final VehicleManager vehicleManager;
+    private final Region.Node[] neighborhoods;
+    private final Region.Node[] restaurants;
+    private final Map<Region.Node, Integer> neighborhoodIndices = new HashMap<>();
+    private final Map<Region.Node, Integer> restaurantIndices = new HashMap<>();
+
+    private CompactGraph graph;
+    private int[] neighborhoodNodes;
+    private int[] restaurantNodes;
+    private long[] restaurantDurations;
+    // the rows of the restaurants and of the nodes the vehicles are heading to, by the index of the node
+    private final Map<Integer, long[]> nodeRows = new HashMap<>();
+    private int[] vehicleNodes = new int[0];
+    private long[] vehicleArrivals = new long[0];
+    private long currentTick;
+
+    /**
+     * Creates a new {@link DistanceTable} for the given {@link VehicleManager} and computes the travel times of the
+     * current positions of its vehicles.
+     * @param vehicleManager The {@link VehicleManager} to create the {@link DistanceTable} for.
+     */
+    public DistanceTable(VehicleManager vehicleManager) {
+        this.vehicleManager = vehicleManager;
+        neighborhoods = vehicleManager.getOccupiedNeighborhoods().stream()
+            .map(VehicleManager.Occupied::getComponent)
+            .sorted(Comparator.comparing(Region.Node::getLocation))
+            .toArray(Region.Node[]::new);
+        restaurants = vehicleManager.getOccupiedRestaurants().stream()
+            .map(VehicleManager.Occupied::getComponent)
+            .sorted(Comparator.comparing(Region.Node::getLocation))
+            .toArray(Region.Node[]::new);
+        for (int i = 0; i < neighborhoods.length; i++) {
+            neighborhoodIndices.put(neighborhoods[i], i);
+        }
+        for (int i = 0; i < restaurants.length; i++) {
+            restaurantIndices.put(restaurants[i], i);
+        }
+        compute(CompactGraph.of(vehicleManager.getRegion()));
+        refresh(0);
+    }
+
+    /**
+     * Runs one search per restaurant and fills the restaurant rows.
+     */
+    private void compute(CompactGraph graph) {
+        this.graph = graph;
+        neighborhoodNodes = Arrays.stream(neighborhoods).mapToInt(graph::indexOf).toArray();
+        restaurantNodes = Arrays.stream(restaurants).mapToInt(graph::indexOf).toArray();
+        nodeRows.clear();
+
+        int neighborhoodCount = neighborhoods.length;
+        long[][] rows = computeRows(restaurantNodes);
+        long[] restaurantDurations = new long[Math.multiplyExact(restaurants.length, neighborhoodCount)];
+        for (int r = 0; r < restaurants.length; r++) {
+            System.arraycopy(rows[r], 0, restaurantDurations, r * neighborhoodCount, neighborhoodCount);
+            nodeRows.put(restaurantNodes[r], rows[r]);
+        }
+        this.restaurantDurations = restaurantDurations;
+    }
+
+    /**
+     * Computes the travel times from the given nodes to all neighborhoods, one search per node in parallel.
+     */
+    private long[][] computeRows(int[] nodes) {
+        return Arrays.stream(nodes).parallel().mapToObj(this::computeRow).toArray(long[][]::new);
+    }
+
+    private long[] computeRow(int node) {
+        // paths are undirected, so the distances from the node are the distances to it
+        DijkstraEngine engine = DijkstraEngine.current().reset(graph).addSource(node).run(-1);
+        long[] row = new long[neighborhoodNodes.length];
+        for (int n = 0; n < row.length; n++) {
+            row[n] = engine.getDistance(neighborhoodNodes[n]);
+        }
+        return row;
+    }
+
+    /**
+     * Updates the next nodes of all vehicles to their current positions. If the {@link Region} of the
+     * {@link VehicleManager} was changed since the last update, all travel times are computed again.
+     * @param currentTick The current tick.
+     */
+    public void refresh(long currentTick) {
+        CompactGraph current = CompactGraph.of(vehicleManager.getRegion());
+        if (current != graph) {
+            compute(current);
+        }
+        this.currentTick = currentTick;
+
+        Collection<Vehicle> vehicles = vehicleManager.getAllVehicles();
+        int vehicleCount = vehicles.stream().mapToInt(Vehicle::getId).max().orElse(-1) + 1;
+        if (vehicleNodes.length < vehicleCount) {
+            int oldLength = vehicleNodes.length;
+            vehicleNodes = Arrays.copyOf(vehicleNodes, vehicleCount);
+            vehicleArrivals = Arrays.copyOf(vehicleArrivals, vehicleCount);
+            Arrays.fill(vehicleNodes, oldLength, vehicleCount, -1);
+        }
+        for (Vehicle vehicle : vehicles) {
+            updateVehicle(vehicle, currentTick);
+        }
+
+        int[] missing = Arrays.stream(vehicleNodes).filter(node -> node != -1 && !nodeRows.containsKey(node)).distinct().toArray();
+        long[][] rows = computeRows(missing);
+        for (int i = 0; i < missing.length; i++) {
+            nodeRows.put(missing[i], rows[i]);
+        }
+        Set<Integer> needed = new HashSet<>();
+        Arrays.stream(restaurantNodes).forEach(needed::add);
+        Arrays.stream(vehicleNodes).forEach(needed::add);
+        nodeRows.keySet().retainAll(needed);
+    }
+
+    private void updateVehicle(Vehicle vehicle, long currentTick) {
+        VehicleManager.Occupied<?> occupied = vehicle.getOccupied();
+        int id = vehicle.getId();
+
+        if (occupied.getComponent() instanceof Region.Node node) {
+            vehicleNodes[id] = graph.indexOf(node);
+            vehicleArrivals[id] = currentTick;
+            return;
+        }
+        Region.Edge edge = (Region.Edge) occupied.getComponent();
+        AbstractOccupied.VehicleStats stats = ((AbstractOccupied<?>) occupied).vehicles.get(vehicle);
+        if (stats == null) {
+            throw new AssertionError("Vehicle " + id + " was not found on its edge");
+        }
+        Region.Node next = stats.previous != null && stats.previous.getComponent().equals(edge.getNodeA())
+            ? edge.getNodeB()
+            : edge.getNodeA();
+        vehicleNodes[id] = graph.indexOf(next);
+        vehicleArrivals[id] = stats.arrived + edge.getDuration();
+    }
+
+    /**
+     * Returns the neighborhoods of this {@link DistanceTable} in the order of their indices.
+     * @return An unmodifiable {@link List} of all neighborhoods.
+     */
+    public List<Region.Node> getNeighborhoods() {
+        return List.of(neighborhoods);
+    }
+
+    /**
+     * Returns the restaurants of this {@link DistanceTable} in the order of their indices.
+     * @return An unmodifiable {@link List} of all restaurants.
+     */
+    public List<Region.Node> getRestaurants() {
+        return List.of(restaurants);
+    }
+
+    /**
+     * Returns the index of the given neighborhood.
+     * @param neighborhood The neighborhood to return the index of.
+     * @return The index of the given neighborhood.
+     * @throws IllegalArgumentException If the given {@link Region.Node} is not a neighborhood of this table.
+     */
+    public int neighborhoodIndexOf(Region.Node neighborhood) {
+        return requireIndex(neighborhoodIndices, neighborhood, "neighborhood");
+    }
+
+    /**
+     * Returns the index of the given restaurant.
+     * @param restaurant The restaurant to return the index of.
+     * @return The index of the given restaurant.
+     * @throws IllegalArgumentException If the given {@link Region.Node} is not a restaurant of this table.
+     */
+    public int restaurantIndexOf(Region.Node restaurant) {
+        return requireIndex(restaurantIndices, restaurant, "restaurant");
+    }
+
+    /**
+     * Returns the travel time from the restaurant with the given index to the neighborhood with the given index.
+     * @param restaurant The index of the restaurant.
+     * @param neighborhood The index of the neighborhood.
+     * @return The travel time or {@link ShortestPathTree#UNREACHABLE}.
+     */
+    public long getDuration(int restaurant, int neighborhood) {
+        Objects.checkIndex(restaurant, restaurants.length);
+        Objects.checkIndex(neighborhood, neighborhoods.length);
+        return restaurantDurations[restaurant * neighborhoods.length + neighborhood];
+    }
+
+    /**
+     * Returns the travel time from the given restaurant to the given neighborhood.
+     * @param restaurant The restaurant to start at.
+     * @param neighborhood The neighborhood to travel to.
+     * @return The travel time or {@link ShortestPathTree#UNREACHABLE}.
+     */
+    public long getDuration(VehicleManager.OccupiedRestaurant restaurant, VehicleManager.OccupiedNeighborhood neighborhood) {
+        return getDuration(restaurantIndexOf(restaurant.getComponent()), neighborhoodIndexOf(neighborhood.getComponent()));
+    }
+
+    /**
+     * Returns the travel time from the position of the given {@link Vehicle} at the last {@link #refresh(long)} to the
+     * neighborhood with the given index.
+     * @param vehicle The {@link Vehicle} to return the travel time of.
+     * @param neighborhood The index of the neighborhood.
+     * @return The travel time or {@link ShortestPathTree#UNREACHABLE}.
+     */
+    public long getDuration(Vehicle vehicle, int neighborhood) {
+        Objects.checkIndex(neighborhood, neighborhoods.length);
+        int id = vehicle.getId();
+        if (id >= vehicleNodes.length || vehicleNodes[id] == -1) {
+            throw new IllegalArgumentException("Vehicle %d is not contained in this table".formatted(id));
+        }
+        long duration = nodeRows.get(vehicleNodes[id])[neighborhood];
+        if (duration == ShortestPathTree.UNREACHABLE) {
+            return duration;
+        }
+        return duration + Math.max(0, vehicleArrivals[id] - currentTick);
+    }
+
+    /**
+     * Returns the travel time from the position of the given {@link Vehicle} at the last {@link #refresh(long)} to the
+     * given neighborhood.
+     * @param vehicle The {@link Vehicle} to return the travel time of.
+     * @param neighborhood The neighborhood to travel to.
+     * @return The travel time or {@link ShortestPathTree#UNREACHABLE}.
+     */
+    public long getDuration(Vehicle vehicle, VehicleManager.OccupiedNeighborhood neighborhood) {
+        return getDuration(vehicle, neighborhoodIndexOf(neighborhood.getComponent()));
+    }
+
+    /**
+     * Returns the travel time from the given {@link Region.Node} to the neighborhood with the given index. If no vehicle is
+     * heading to the node and it is no restaurant, its row is computed and kept until the next {@link #refresh(long)}.
+     * @param node The {@link Region.Node} to start at.
+     * @param neighborhood The index of the neighborhood.
+     * @return The travel time or {@link ShortestPathTree#UNREACHABLE}.
+     * @throws IllegalArgumentException If the given {@link Region.Node} is not part of the {@link Region}.
+     */
+    public long getDuration(Region.Node node, int neighborhood) {
+        Objects.checkIndex(neighborhood, neighborhoods.length);
+        return nodeRows.computeIfAbsent(graph.indexOf(node), this::computeRow)[neighborhood];
+    }
+
+    private static int requireIndex(Map<Region.Node, Integer> indices, Region.Node node, String kind) {
+        Integer index = indices.get(node);
+        if (index == null) {
+            throw new IllegalArgumentException("Node %s is not a %s of this table".formatted(node, kind));
+        }
+        return index;
+    }
+}
@@ -0,0 +1,90 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Data derived from a {@link CompactGraph} that is expensive to compute, e.g. a {@link ContractionHierarchy} or a
+ * {@link LandmarkTable}.<p>
+ *
+ * The data of a graph is computed at most once at a time: the first thread that requests it computes it without holding
+ * any lock, other threads requesting the same graph wait for its result, and threads requesting other graphs are not
+ * blocked at all. Graphs are referenced weakly, so their data is dropped together with their {@link Region}.
+ *
+ * @param <V> The type of the data.
+ */
+final class GraphCache<V> {
+
+    private final Map<CompactGraph, CompletableFuture<V>> values = Collections.synchronizedMap(new WeakHashMap<>());
+    private final Function<CompactGraph, V> compute;
+
+    /**
+     * Creates a new {@link GraphCache}.
+     * @param compute The function computing the data of a graph.
+     */
+    GraphCache(Function<CompactGraph, V> compute) {
+        this.compute = compute;
+    }
+
+    /**
+     * Returns the data of the given {@link CompactGraph} and computes it if it does not exist yet. If another thread is
+     * computing it, this waits for its result.
+     * @param graph The {@link CompactGraph} to return the data of.
+     * @return The data of the given {@link CompactGraph}.
+     */
+    V get(CompactGraph graph) {
+        @Nullable CompletableFuture<V> future = values.get(graph);
+        if (future == null) {
+            CompletableFuture<V> created = new CompletableFuture<>();
+            future = values.putIfAbsent(graph, created);
+            if (future == null) {
+                return computeInto(graph, created);
+            }
+        }
+        return await(future);
+    }
+
+    /**
+     * Sets the data of the given {@link CompactGraph}, e.g. after it has been read from a file. A computation that is
+     * currently running is not interrupted, but its result is not used by later requests.
+     * @param graph The {@link CompactGraph} to set the data of.
+     * @param value The data to use.
+     */
+    void put(CompactGraph graph, V value) {
+        values.put(graph, CompletableFuture.completedFuture(value));
+    }
+
+    private V computeInto(CompactGraph graph, CompletableFuture<V> future) {
+        V value;
+        try {
+            value = compute.apply(graph);
+        } catch (RuntimeException | Error e) {
+            // the next request tries again
+            values.remove(graph, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+        future.complete(value);
+        return value;
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package projekt.delivery.routing;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * An indexed 4-ary min-heap of {@code int} ids with {@code long} keys.<p>
+ *
+ * In contrast to a {@link java.util.PriorityQueue}, the key of an id that is already contained can be decreased in place,
+ * so every id is contained at most once. Ids with equal keys are ordered by their value, which makes the order in which
+ * ids are polled deterministic.<p>
+ *
+ * The heap only allocates when its capacity has to grow. {@link #clear()} runs in time proportional to the amount of
+ * contained ids, so a heap can be reused for many searches on a large graph.
+ */
+final class IndexedHeap {
+
+    private static final int ARITY = 4;
+
+    private int[] heap = new int[0];
+    private long[] keys = new long[0];
+    private int[] positions = new int[0];
+    private int size;
+
+    /**
+     * Ensures that ids in the range {@code [0, capacity)} can be added to this heap. Clears the heap if it has to grow.
+     * @param capacity The amount of distinct ids this heap has to support.
+     */
+    void ensureCapacity(int capacity) {
+        if (positions.length < capacity) {
+            heap = new int[capacity];
+            keys = new long[capacity];
+            positions = new int[capacity];
+            Arrays.fill(positions, -1);
+            size = 0;
+        }
+    }
+
+    /**
+     * Removes all ids from this heap.
+     */
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    /**
+     * Returns whether this heap is empty.
+     * @return {@code true} if this heap is empty, {@code false} otherwise.
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns whether the given id is contained in this heap.
+     * @param id The id to check.
+     * @return {@code true} if the id is contained in this heap, {@code false} otherwise.
+     */
+    boolean contains(int id) {
+        return positions[id] != -1;
+    }
+
+    /**
+     * Adds the given id with the given key or decreases its key if it is already contained.<p>
+     * If the id is already contained with a key that is smaller than or equal to the given key, nothing happens.
+     * @param id The id to add.
+     * @param key The key of the id.
+     */
+    void insertOrDecrease(int id, long key) {
+        int position = positions[id];
+        if (position == -1) {
+            position = size++;
+            heap[position] = id;
+            positions[id] = position;
+        } else if (keys[id] <= key) {
+            return;
+        }
+        keys[id] = key;
+        siftUp(position);
+    }
+
+    /**
+     * Adds the given id with the given key or changes its key if it is already contained.
+     * @param id The id to add.
+     * @param key The new key of the id.
+     */
+    void insertOrUpdate(int id, long key) {
+        int position = positions[id];
+        if (position == -1 || key < keys[id]) {
+            insertOrDecrease(id, key);
+        } else {
+            keys[id] = key;
+            siftDown(position);
+        }
+    }
+
+    /**
+     * Returns the smallest key in this heap.
+     * @return The smallest key in this heap.
+     * @throws NoSuchElementException If this heap is empty.
+     */
+    long peekKey() {
+        if (size == 0) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+        return keys[heap[0]];
+    }
+
+    /**
+     * Removes and returns the id with the smallest key.
+     * @return The id with the smallest key.
+     * @throws NoSuchElementException If this heap is empty.
+     */
+    int poll() {
+        if (size == 0) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+        int id = heap[0];
+        positions[id] = -1;
+        if (--size > 0) {
+            heap[0] = heap[size];
+            positions[heap[0]] = 0;
+            siftDown(0);
+        }
+        return id;
+    }
+
+    private boolean less(int a, int b) {
+        return keys[a] < keys[b] || keys[a] == keys[b] && a < b;
+    }
+
+    private void siftUp(int position) {
+        int id = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) / ARITY;
+            if (!less(id, heap[parent])) {
+                break;
+            }
+            move(heap[parent], position);
+            position = parent;
+        }
+        move(id, position);
+    }
+
+    private void siftDown(int position) {
+        int id = heap[position];
+        while (true) {
+            int first = position * ARITY + 1;
+            if (first >= size) {
+                break;
+            }
+            int smallest = first;
+            for (int child = first + 1; child < Math.min(first + ARITY, size); child++) {
+                if (less(heap[child], heap[smallest])) {
+                    smallest = child;
+                }
+            }
+            if (!less(heap[smallest], id)) {
+                break;
+            }
+            move(heap[smallest], position);
+            position = smallest;
+        }
+        move(id, position);
+    }
+
+    private void move(int id, int position) {
+        heap[position] = id;
+        positions[id] = position;
+    }
+}
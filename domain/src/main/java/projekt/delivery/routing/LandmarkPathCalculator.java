@@ -0,0 +1,135 @@
+package projekt.delivery.routing;
+
+import java.util.*;
+import java.util.function.IntToLongFunction;
+
+/**
+ * A {@link PathCalculator} that calculates the shortest path between a start and end point using A* with landmarks and
+ * the triangle inequality (ALT) as heuristic.<p>
+ *
+ * The {@link LandmarkTable} of a region is computed when the first path inside the region is requested, or it can be
+ * provided with {@link #setLandmarkTable(Region, LandmarkTable)}, e.g. after it has been read from a file. A table is
+ * computed at most once at a time, while queries in other regions continue. Like the
+ * {@link AStarPathCalculator}, the search starts at the end node and stops as soon as the start node is settled.<p>
+ *
+ * {@link #getAllPathsTo(Region.Node)} and {@link #getShortestPathTree(Region.Node)} have no single target to aim for
+ * and are delegated to a {@link DijkstraPathCalculator}.
+ */
+public class LandmarkPathCalculator implements PathCalculator {
+
+    private final PathCalculator fallback = new DijkstraPathCalculator();
+    private final GraphCache<LandmarkTable> tables;
+    private final int landmarkCount;
+
+    /**
+     * Creates a new {@link LandmarkPathCalculator}.
+     * @param landmarkCount The amount of landmarks to choose per region.
+     */
+    public LandmarkPathCalculator(int landmarkCount) {
+        if (landmarkCount < 1) {
+            throw new IllegalArgumentException("landmarkCount must be positive");
+        }
+        this.landmarkCount = landmarkCount;
+        this.tables = new GraphCache<>(graph -> LandmarkTable.compute(graph, landmarkCount));
+    }
+
+    /**
+     * Creates a new {@link LandmarkPathCalculator}.<p>
+     * The amount of landmarks per region will be set to 8.
+     */
+    public LandmarkPathCalculator() {
+        this(8);
+    }
+
+    /**
+     * Returns the amount of landmarks this {@link LandmarkPathCalculator} chooses per region.
+     * @return The amount of landmarks per region.
+     */
+    public int getLandmarkCount() {
+        return landmarkCount;
+    }
+
+    /**
+     * Returns the {@link LandmarkTable} of the given {@link Region} and computes it if it does not exist yet.
+     * @param region The {@link Region} to return the {@link LandmarkTable} of.
+     * @return The {@link LandmarkTable} of the given {@link Region}.
+     */
+    public LandmarkTable getLandmarkTable(Region region) {
+        return getLandmarkTable(CompactGraph.of(region));
+    }
+
+    /**
+     * Sets the {@link LandmarkTable} that is used for the given {@link Region}.
+     * @param region The {@link Region} to use the {@link LandmarkTable} for.
+     * @param table The {@link LandmarkTable} to use.
+     * @throws IllegalArgumentException If the {@link LandmarkTable} was computed for another {@link Region}.
+     */
+    public void setLandmarkTable(Region region, LandmarkTable table) {
+        CompactGraph graph = CompactGraph.of(region);
+        if (!table.matches(graph)) {
+            throw new IllegalArgumentException("The landmark table was computed for another region");
+        }
+        tables.put(graph, table);
+    }
+
+    @Override
+    public Deque<Region.Node> getPath(Region.Node start, Region.Node end) {
+        CompactGraph graph = CompactGraph.of(end.getRegion());
+        int startIndex = graph.indexOf(start);
+        DijkstraEngine engine = search(graph, startIndex, graph.indexOf(end));
+
+        if (!engine.isReached(startIndex)) {
+            throw new IllegalArgumentException("There is no path from %s to %s".formatted(start, end));
+        }
+        return engine.pathToSource(startIndex);
+    }
+
+    @Override
+    public long getDuration(Region.Node start, Region.Node end) {
+        CompactGraph graph = CompactGraph.of(end.getRegion());
+        int startIndex = graph.indexOf(start);
+        return search(graph, startIndex, graph.indexOf(end)).getDistance(startIndex);
+    }
+
+    /**
+     * {@inheritDoc}<p>
+     *
+     * A single Dijkstra search from {@code source} is faster than one A* search per target, so this is delegated to a
+     * {@link DijkstraPathCalculator}.
+     */
+    @Override
+    public long[] getDurations(Region.Node source, Region.Node... targets) {
+        return fallback.getDurations(source, targets);
+    }
+
+    /**
+     * Runs an A* search from the given end node towards the given start node, so that the predecessors lead to the end
+     * node.
+     * @param graph The {@link CompactGraph} to search.
+     * @param start The index of the start node.
+     * @param end The index of the end node.
+     * @return The {@link DijkstraEngine} containing the result of the search.
+     */
+    private DijkstraEngine search(CompactGraph graph, int start, int end) {
+        // computing a missing table uses the engine of this thread, so it has to happen before the search is started
+        IntToLongFunction heuristic = getLandmarkTable(graph).potentialTowards(start);
+        return DijkstraEngine.current()
+            .reset(graph)
+            .addSource(end)
+            .run(start, heuristic);
+    }
+
+    @Override
+    public Map<Region.Node, Deque<Region.Node>> getAllPathsTo(Region.Node end) {
+        return fallback.getAllPathsTo(end);
+    }
+
+    @Override
+    public ShortestPathTree getShortestPathTree(Region.Node end) {
+        return fallback.getShortestPathTree(end);
+    }
+
+    private LandmarkTable getLandmarkTable(CompactGraph graph) {
+        return tables.get(graph);
+    }
+}
@@ -0,0 +1,204 @@
+package projekt.delivery.routing;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.IntToLongFunction;
+import java.util.stream.IntStream;
+
+/**
+ * The precomputed distances between a few landmark nodes and all other nodes of a {@link Region}.<p>
+ *
+ * By the triangle inequality, the distance between two nodes is at least the difference of their distances to any
+ * landmark. These bounds are used as heuristic by the {@link LandmarkPathCalculator}. In contrast to the heuristic of the
+ * {@link AStarPathCalculator}, they do not depend on the durations of the edges being geometric.<p>
+ *
+ * Landmarks are chosen by farthest-point selection: every new landmark is the node that is farthest from all landmarks
+ * chosen before, which spreads them along the border of the region. A table can be written to and read from a binary
+ * stream, and it remembers the fingerprint of the graph it was computed for, so stale tables can be detected.
+ */
+public final class LandmarkTable {
+
+    private static final int FORMAT_VERSION = 2;
+
+    private final long fingerprint;
+    // stored separately, since a table without landmarks has no rows to take it from
+    private final int nodeCount;
+    private final int[] landmarks;
+    private final long[][] distances;
+
+    private LandmarkTable(long fingerprint, int nodeCount, int[] landmarks, long[][] distances) {
+        this.fingerprint = fingerprint;
+        this.nodeCount = nodeCount;
+        this.landmarks = landmarks;
+        this.distances = distances;
+    }
+
+    /**
+     * Computes a new {@link LandmarkTable} for the given {@link Region}. The distances of the landmarks are computed in
+     * parallel.
+     * @param region The {@link Region} to compute the {@link LandmarkTable} for.
+     * @param landmarkCount The maximum amount of landmarks to choose.
+     * @return The computed {@link LandmarkTable}.
+     */
+    public static LandmarkTable compute(Region region, int landmarkCount) {
+        return compute(CompactGraph.of(region), landmarkCount);
+    }
+
+    /**
+     * Computes a new {@link LandmarkTable} for the given {@link CompactGraph}.
+     * @param graph The {@link CompactGraph} to compute the {@link LandmarkTable} for.
+     * @param landmarkCount The maximum amount of landmarks to choose.
+     * @return The computed {@link LandmarkTable}.
+     */
+    static LandmarkTable compute(CompactGraph graph, int landmarkCount) {
+        if (landmarkCount < 1) {
+            throw new IllegalArgumentException("landmarkCount must be positive");
+        }
+        int[] landmarks = selectLandmarks(graph, Math.min(landmarkCount, graph.getNodeCount()));
+
+        long[][] distances = IntStream.range(0, landmarks.length)
+            .parallel()
+            .mapToObj(i -> {
+                DijkstraEngine engine = DijkstraEngine.current().reset(graph).addSource(landmarks[i]).run(-1);
+                long[] row = new long[graph.getNodeCount()];
+                for (int node = 0; node < row.length; node++) {
+                    row[node] = engine.getDistance(node);
+                }
+                return row;
+            })
+            .toArray(long[][]::new);
+
+        return new LandmarkTable(graph.getFingerprint(), graph.getNodeCount(), landmarks, distances);
+    }
+
+    /**
+     * Chooses the landmarks by farthest-point selection. Nodes that cannot be reached from any chosen landmark count as
+     * infinitely far away, so every connected component receives a landmark before a second one is placed anywhere.
+     */
+    private static int[] selectLandmarks(CompactGraph graph, int landmarkCount) {
+        if (landmarkCount == 0) {
+            return new int[0];
+        }
+        int[] landmarks = new int[landmarkCount];
+        // the first landmark is the node farthest from an arbitrary node
+        landmarks[0] = farthest(DijkstraEngine.current().reset(graph).addSource(0).run(-1), graph.getNodeCount());
+
+        int count = 1;
+        while (count < landmarkCount) {
+            DijkstraEngine engine = DijkstraEngine.current().reset(graph);
+            for (int i = 0; i < count; i++) {
+                engine.addSource(landmarks[i]);
+            }
+            int next = farthest(engine.run(-1), graph.getNodeCount());
+            if (engine.getDistance(next) == 0) {
+                // every node is a landmark already
+                break;
+            }
+            landmarks[count++] = next;
+        }
+        return count == landmarkCount ? landmarks : Arrays.copyOf(landmarks, count);
+    }
+
+    private static int farthest(DijkstraEngine engine, int nodeCount) {
+        int farthest = 0;
+        for (int node = 1; node < nodeCount; node++) {
+            if (engine.getDistance(node) > engine.getDistance(farthest)) {
+                farthest = node;
+            }
+        }
+        return farthest;
+    }
+
+    /**
+     * Returns the amount of landmarks of this {@link LandmarkTable}.
+     * @return The amount of landmarks of this {@link LandmarkTable}.
+     */
+    public int getLandmarkCount() {
+        return landmarks.length;
+    }
+
+    /**
+     * Returns whether this {@link LandmarkTable} was computed for a {@link Region} with the same nodes and edges as the
+     * given one.
+     * @param region The {@link Region} to check.
+     * @return {@code true} if this {@link LandmarkTable} can be used for the given {@link Region}, {@code false} otherwise.
+     */
+    public boolean matches(Region region) {
+        return matches(CompactGraph.of(region));
+    }
+
+    boolean matches(CompactGraph graph) {
+        return nodeCount == graph.getNodeCount() && fingerprint == graph.getFingerprint();
+    }
+
+    /**
+     * Returns a consistent heuristic estimating the remaining duration from every node to the given target node.
+     * @param target The index of the target node.
+     * @return The heuristic towards the given target node.
+     */
+    IntToLongFunction potentialTowards(int target) {
+        long[] targetDistances = new long[landmarks.length];
+        for (int i = 0; i < landmarks.length; i++) {
+            targetDistances[i] = distances[i][target];
+        }
+        return node -> {
+            long bound = 0;
+            for (int i = 0; i < targetDistances.length; i++) {
+                long distance = distances[i][node];
+                // a landmark in another component does not bound anything
+                if (distance != DijkstraEngine.UNREACHABLE && targetDistances[i] != DijkstraEngine.UNREACHABLE) {
+                    bound = Math.max(bound, Math.abs(distance - targetDistances[i]));
+                }
+            }
+            return bound;
+        };
+    }
+
+    /**
+     * Writes this {@link LandmarkTable} to the given {@link DataOutput}.
+     * @param out The {@link DataOutput} to write to.
+     * @throws IOException If an I/O error occurs.
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeInt(FORMAT_VERSION);
+        out.writeLong(fingerprint);
+        out.writeInt(landmarks.length);
+        out.writeInt(nodeCount);
+        for (int i = 0; i < landmarks.length; i++) {
+            out.writeInt(landmarks[i]);
+            for (long distance : distances[i]) {
+                out.writeLong(distance);
+            }
+        }
+    }
+
+    /**
+     * Reads a {@link LandmarkTable} that was written by {@link #write(DataOutput)} from the given {@link DataInput}.
+     * @param in The {@link DataInput} to read from.
+     * @return The read {@link LandmarkTable}.
+     * @throws IOException If an I/O error occurs or the input is not a {@link LandmarkTable}.
+     */
+    public static LandmarkTable read(DataInput in) throws IOException {
+        int version = in.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported landmark table version: %d".formatted(version));
+        }
+        long fingerprint = in.readLong();
+        int landmarkCount = in.readInt();
+        int nodeCount = in.readInt();
+        if (landmarkCount < 0 || nodeCount < 0) {
+            throw new IOException("Malformed landmark table");
+        }
+        int[] landmarks = new int[landmarkCount];
+        long[][] distances = new long[landmarkCount][nodeCount];
+        for (int i = 0; i < landmarkCount; i++) {
+            landmarks[i] = in.readInt();
+            for (int node = 0; node < nodeCount; node++) {
+                distances[i][node] = in.readLong();
+            }
+        }
+        return new LandmarkTable(fingerprint, nodeCount, landmarks, distances);
+    }
+}
@@ -18,6 +18,9 @@ class OccupiedEdgeImpl extends AbstractOccupied<Region.Edge> {
 
     @Override
     public void tick(long currentTick) {
+        if (vehicles.isEmpty()) {
+            return;
+        }
         // it is important to create a copy here. The move method in vehicle will probably modify this map
         for (Map.Entry<VehicleImpl, VehicleStats> entry : List.copyOf(vehicles.entrySet())) {
             if (currentTick >= entry.getValue().arrived + component.getDuration()) {
@@ -41,6 +44,9 @@ class OccupiedEdgeImpl extends AbstractOccupied<Region.Edge> {
         }
         vehicles.put(vehicle, new VehicleStats(currentTick, previous));
         vehicle.setOccupied(this);
+        if (vehicleManager instanceof VehicleManagerImpl vehicleManagerImpl) {
+            vehicleManagerImpl.scheduleEdgeExit(vehicle, currentTick + component.getDuration());
+        }
         vehicleManager.getEventBus().queuePost(ArrivedAtEdgeEvent.of(
                 currentTick,
                 vehicle,
@@ -16,12 +16,29 @@ class OccupiedNeighborhoodImpl extends OccupiedNodeImpl<Region.Neighborhood> imp
 
     @Override
     public void deliverOrder(Vehicle vehicle, ConfirmedOrder order, long tick) {
-        if (vehicle.getOccupied() != this) {
-            throw new IllegalArgumentException("The specified vehicle is not located on this node!");
+        if (vehicle.getVehicleManager() != vehicleManager && vehicle.getVehicleManager() instanceof VehicleManagerImpl fork && fork.isFork()) {
+            // an arrival action of the original vehicle manager is executed by a vehicle of a fork
+            fork.getOccupiedNeighborhood(component).deliverOrder(vehicle, order, tick);
+            return;
         }
+        if (vehicleManager instanceof VehicleManagerImpl vehicleManagerImpl) {
+            // a fork delivers its own copy of the order
+            order = vehicleManagerImpl.getForkedOrder(order);
+            vehicleManagerImpl.onDeliverOrder(this, vehicle, order, tick);
+        }
+        try {
+            if (vehicle.getOccupied() != this) {
+                throw new IllegalArgumentException("The specified vehicle is not located on this node!");
+            }
 
+            ((VehicleImpl) vehicle).unloadOrder(order);
+        } catch (RuntimeException e) {
+            if (vehicleManager instanceof VehicleManagerImpl vehicleManagerImpl) {
+                vehicleManagerImpl.onFailure(e);
+            }
+            throw e;
+        }
         order.setActualDeliveryTick(tick);
-        ((VehicleImpl) vehicle).unloadOrder(order);
         vehicleManager.getEventBus().queuePost(DeliverOrderEvent.of(
                 tick,
                 vehicle,
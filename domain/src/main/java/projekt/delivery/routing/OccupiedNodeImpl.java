@@ -18,6 +18,9 @@ class OccupiedNodeImpl<C extends Region.Node> extends AbstractOccupied<C> {
 
     @Override
     public void tick(long currentTick) {
+        if (vehicles.isEmpty()) {
+            return;
+        }
         // it is important to create a copy here. The move method in vehicle will probably modify this map
         // TODO: Only move things that can be moved
         for (Map.Entry<VehicleImpl, VehicleStats> entry : List.copyOf(vehicles.entrySet())) {
@@ -16,11 +16,28 @@ class OccupiedRestaurantImpl extends OccupiedNodeImpl<Region.Restaurant> impleme
 
     @Override
     public void loadOrder(Vehicle vehicle, ConfirmedOrder order, long currentTick) {
-        if (vehicle.getOccupied() != this) {
-            throw new IllegalArgumentException("The specified vehicle is not located on this node!");
+        if (vehicle.getVehicleManager() != vehicleManager && vehicle.getVehicleManager() instanceof VehicleManagerImpl fork && fork.isFork()) {
+            // an arrival action of the original vehicle manager is executed by a vehicle of a fork
+            fork.getOccupiedRestaurant(component).loadOrder(vehicle, order, currentTick);
+            return;
         }
+        if (vehicleManager instanceof VehicleManagerImpl vehicleManagerImpl) {
+            // a fork loads its own copy of the order
+            order = vehicleManagerImpl.getForkedOrder(order);
+            vehicleManagerImpl.onLoadOrder(this, vehicle, order, currentTick);
+        }
+        try {
+            if (vehicle.getOccupied() != this) {
+                throw new IllegalArgumentException("The specified vehicle is not located on this node!");
+            }
 
-        ((VehicleImpl) vehicle).loadOrder(order);
+            ((VehicleImpl) vehicle).loadOrder(order);
+        } catch (RuntimeException e) {
+            if (vehicleManager instanceof VehicleManagerImpl vehicleManagerImpl) {
+                vehicleManagerImpl.onFailure(e);
+            }
+            throw e;
+        }
         vehicleManager.getEventBus().queuePost(LoadOrderEvent.of(
                 currentTick,
                 vehicle,
@@ -25,4 +25,68 @@ public interface PathCalculator {
      * (excluding start and including end) that represent the path from start to end
      */
     Map<Region.Node, Deque<Region.Node>> getAllPathsTo(Region.Node end);
+
+    /**
+     * Calculates the shortest path from every node in the region to {@code end} and returns them as a
+     * {@link ShortestPathTree}.<p>
+     *
+     * The default implementation builds the tree from {@link #getAllPathsTo(Region.Node)}. Implementations that know the
+     * predecessors of their search should override it to avoid creating the paths.
+     *
+     * @param end The end {@link Region.Node} of all paths.
+     * @return A {@link ShortestPathTree} rooted at {@code end}.
+     */
+    default ShortestPathTree getShortestPathTree(Region.Node end) {
+        return ShortestPathTree.fromPaths(end, getAllPathsTo(end));
+    }
+
+    /**
+     * Calculates the duration of the shortest path from {@code start} to {@code end} without creating the path.<p>
+     *
+     * The default implementation sums the durations of the edges of {@link #getPath(Region.Node, Region.Node)}.
+     *
+     * @param start The start {@link Region.Node}
+     * @param end   The end {@link Region.Node}
+     * @return The duration of the shortest path or {@link ShortestPathTree#UNREACHABLE} if there is no path.
+     */
+    default long getDuration(Region.Node start, Region.Node end) {
+        CompactGraph graph = CompactGraph.of(end.getRegion());
+        Deque<Region.Node> path;
+        try {
+            path = getPath(start, end);
+        } catch (IllegalArgumentException e) {
+            return ShortestPathTree.UNREACHABLE;
+        }
+        if (path == null) {
+            return ShortestPathTree.UNREACHABLE;
+        }
+
+        long duration = 0;
+        int last = graph.indexOf(start);
+        for (Region.Node node : path) {
+            int next = graph.indexOf(node);
+            duration += graph.getDuration(graph.findEdge(last, next));
+            last = next;
+        }
+        return duration;
+    }
+
+    /**
+     * Calculates the durations of the shortest paths from {@code source} to each of the given targets without creating
+     * the paths.<p>
+     *
+     * The default implementation calls {@link #getDuration(Region.Node, Region.Node)} for every target.
+     *
+     * @param source  The start {@link Region.Node} of all paths.
+     * @param targets The end {@link Region.Node}s of the paths.
+     * @return The durations of the shortest paths in the order of the targets. Targets that cannot be reached have a
+     * duration of {@link ShortestPathTree#UNREACHABLE}.
+     */
+    default long[] getDurations(Region.Node source, Region.Node... targets) {
+        long[] durations = new long[targets.length];
+        for (int i = 0; i < targets.length; i++) {
+            durations[i] = getDuration(source, targets[i]);
+        }
+        return durations;
+    }
 }
@@ -64,6 +64,16 @@ public interface Region {
      */
     DistanceCalculator getDistanceCalculator();
 
+    /**
+     * Returns a fingerprint of the content of this {@link Region}, i.e. its nodes, edges, durations and
+     * {@link DistanceCalculator}. Regions with the same content have the same fingerprint.
+     * @return The fingerprint of this {@link Region}.
+     * @see CompactGraph#getFingerprint()
+     */
+    default long getFingerprint() {
+        return CompactGraph.of(this).getFingerprint();
+    }
+
     /**
      * Represents a component of the underlying graph.
      * @param <C> The type of the represented component.
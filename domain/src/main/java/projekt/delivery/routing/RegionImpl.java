@@ -16,6 +16,7 @@ class RegionImpl implements Region {
     private final Map<Location, Map<Location, EdgeImpl>> edges = new HashMap<>();
     private final List<EdgeImpl> allEdges = new ArrayList<>();
     private final DistanceCalculator distanceCalculator;
+    private volatile CompactGraph compactGraph;
 
     /**
      * Creates a new, empty {@link RegionImpl} instance using a {@link EuclideanDistanceCalculator}.
@@ -71,6 +72,23 @@ class RegionImpl implements Region {
         return distanceCalculator;
     }
 
+    /**
+     * Returns the {@link CompactGraph} of this {@link RegionImpl}. It is built on the first call.
+     * @return The {@link CompactGraph} of this {@link RegionImpl}.
+     */
+    CompactGraph getCompactGraph() {
+        CompactGraph graph = compactGraph;
+        if (graph == null) {
+            synchronized (this) {
+                graph = compactGraph;
+                if (graph == null) {
+                    compactGraph = graph = new CompactGraph(this);
+                }
+            }
+        }
+        return graph;
+    }
+
     /**
      * Adds the given {@link NodeImpl} to this {@link RegionImpl}.
      * @param node the {@link NodeImpl} to add.
@@ -81,6 +99,7 @@ class RegionImpl implements Region {
         }
         else {
             nodes.put(node.getLocation(), node);
+            compactGraph = null;
         }
     }
 
@@ -102,6 +121,7 @@ class RegionImpl implements Region {
 
         // when no errors occured, the real stuff may happen
         allEdges.add(edge);
+        compactGraph = null;
 
         if (edge.getLocationA().compareTo(edge.getLocationB()) <= 0) {
             if (edges.containsKey(edge.getLocationA())) {
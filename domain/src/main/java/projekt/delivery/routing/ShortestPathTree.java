@@ -0,0 +1,331 @@
+package projekt.delivery.routing;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * The shortest paths from every node of a {@link Region} to a common root node.<p>
+ *
+ * A tree only stores the next node on the path towards the root and the duration of the path for every node, so it
+ * needs linear memory regardless of the length of the paths. Distances can be looked up in constant time, paths are
+ * iterated lazily, and {@link Deque}s are only created for the paths that are actually requested.<p>
+ *
+ * Instances are immutable and can be shared between threads. A tree can be written to and read from a binary stream
+ * together with the fingerprint of the {@link Region} it belongs to.
+ */
+public final class ShortestPathTree {
+
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * The distance of nodes that cannot reach the root node.
+     */
+    public static final long UNREACHABLE = Long.MAX_VALUE;
+
+    private final CompactGraph graph;
+    private final int root;
+    private final int[] successors;
+    private final long[] distances;
+    private final int reachableCount;
+    private Map<Region.Node, Deque<Region.Node>> map;
+
+    private ShortestPathTree(CompactGraph graph, int root, int[] successors, long[] distances) {
+        this.graph = graph;
+        this.root = root;
+        this.successors = successors;
+        this.distances = distances;
+        reachableCount = (int) Arrays.stream(distances).filter(distance -> distance != UNREACHABLE).count();
+    }
+
+    /**
+     * Creates a new {@link ShortestPathTree} from the result of a search that started at the root node.
+     * @param graph The {@link CompactGraph} that was searched.
+     * @param root The index of the root node.
+     * @param engine The {@link DijkstraEngine} that settled every node that can reach the root node.
+     * @return The created {@link ShortestPathTree}.
+     */
+    static ShortestPathTree of(CompactGraph graph, int root, DijkstraEngine engine) {
+        int[] successors = new int[graph.getNodeCount()];
+        long[] distances = new long[graph.getNodeCount()];
+        for (int node = 0; node < successors.length; node++) {
+            successors[node] = engine.getPredecessor(node);
+            distances[node] = engine.getDistance(node);
+        }
+        return new ShortestPathTree(graph, root, successors, distances);
+    }
+
+    /**
+     * Creates a new {@link ShortestPathTree} from the paths to the given root node as returned by
+     * {@link PathCalculator#getAllPathsTo(Region.Node)}.
+     * @param root The root {@link Region.Node} of all paths.
+     * @param paths A {@link Map} mapping nodes to their path to the root node.
+     * @return The created {@link ShortestPathTree}.
+     * @throws IllegalArgumentException If the paths do not form a tree of adjacent nodes leading to the root node.
+     */
+    public static ShortestPathTree fromPaths(Region.Node root, Map<Region.Node, Deque<Region.Node>> paths) {
+        CompactGraph graph = CompactGraph.of(root.getRegion());
+        int rootIndex = graph.indexOf(root);
+        int[] successors = new int[graph.getNodeCount()];
+        long[] distances = new long[graph.getNodeCount()];
+        Arrays.fill(successors, -1);
+        Arrays.fill(distances, UNREACHABLE);
+        distances[rootIndex] = 0;
+
+        for (Map.Entry<Region.Node, Deque<Region.Node>> entry : paths.entrySet()) {
+            int node = graph.indexOf(entry.getKey());
+            if (node != rootIndex) {
+                successors[node] = graph.indexOf(Objects.requireNonNull(entry.getValue().peekFirst(), "path"));
+                if (graph.findEdge(node, successors[node]) == -1) {
+                    throw new IllegalArgumentException("Path of %s does not start with an adjacent node".formatted(entry.getKey()));
+                }
+            }
+        }
+
+        // resolve the distances by walking up to the first node with a known distance
+        int[] chain = new int[graph.getNodeCount()];
+        for (int node = 0; node < successors.length; node++) {
+            int length = 0;
+            int current = node;
+            while (distances[current] == UNREACHABLE && successors[current] != -1) {
+                if (length == chain.length) {
+                    throw new IllegalArgumentException("The paths to %s contain a cycle".formatted(root));
+                }
+                chain[length++] = current;
+                current = successors[current];
+            }
+            if (distances[current] == UNREACHABLE) {
+                continue;
+            }
+            for (int i = length - 1; i >= 0; i--) {
+                int successor = successors[chain[i]];
+                distances[chain[i]] = distances[successor] + graph.getDuration(graph.findEdge(chain[i], successor));
+            }
+        }
+        return new ShortestPathTree(graph, rootIndex, successors, distances);
+    }
+
+    /**
+     * Writes this {@link ShortestPathTree} to the given {@link DataOutput}.
+     * @param out The {@link DataOutput} to write to.
+     * @throws IOException If an I/O error occurs.
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeInt(FORMAT_VERSION);
+        out.writeLong(graph.getFingerprint());
+        out.writeInt(successors.length);
+        out.writeInt(root);
+        for (int node = 0; node < successors.length; node++) {
+            out.writeInt(successors[node]);
+            out.writeLong(distances[node]);
+        }
+    }
+
+    /**
+     * Reads a {@link ShortestPathTree} that was written by {@link #write(DataOutput)} from the given {@link DataInput}.
+     * @param region The {@link Region} the tree belongs to.
+     * @param in The {@link DataInput} to read from.
+     * @return The read {@link ShortestPathTree}.
+     * @throws IOException If an I/O error occurs, the input is not a {@link ShortestPathTree} or it was written for a
+     * {@link Region} with another content.
+     */
+    public static ShortestPathTree read(Region region, DataInput in) throws IOException {
+        CompactGraph graph = CompactGraph.of(region);
+        int version = in.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported shortest path tree version: %d".formatted(version));
+        }
+        long fingerprint = in.readLong();
+        int nodeCount = in.readInt();
+        int root = in.readInt();
+        if (fingerprint != graph.getFingerprint() || nodeCount != graph.getNodeCount()) {
+            throw new IOException("The shortest path tree was written for another region");
+        }
+        if (root < 0 || root >= nodeCount) {
+            throw new IOException("Malformed shortest path tree");
+        }
+        int[] successors = new int[nodeCount];
+        long[] distances = new long[nodeCount];
+        for (int node = 0; node < nodeCount; node++) {
+            successors[node] = in.readInt();
+            distances[node] = in.readLong();
+            if (successors[node] < -1 || successors[node] >= nodeCount) {
+                throw new IOException("Malformed shortest path tree");
+            }
+        }
+        return new ShortestPathTree(graph, root, successors, distances);
+    }
+
+    /**
+     * Returns the root {@link Region.Node} all paths of this {@link ShortestPathTree} lead to.
+     * @return The root {@link Region.Node} of this {@link ShortestPathTree}.
+     */
+    public Region.Node getRoot() {
+        return graph.getNode(root);
+    }
+
+    /**
+     * Returns whether there is a path from the given {@link Region.Node} to the root node.
+     * @param node The {@link Region.Node} to check.
+     * @return {@code true} if the given {@link Region.Node} can reach the root node, {@code false} otherwise.
+     */
+    public boolean isReachable(Region.Node node) {
+        int index = find(node);
+        return index != -1 && distances[index] != UNREACHABLE;
+    }
+
+    /**
+     * Returns the duration of the shortest path from the given {@link Region.Node} to the root node.
+     * @param node The start {@link Region.Node} of the path.
+     * @return The duration of the path or {@link #UNREACHABLE} if there is none.
+     */
+    public long getDistance(Region.Node node) {
+        int index = find(node);
+        return index == -1 ? UNREACHABLE : distances[index];
+    }
+
+    /**
+     * Returns the next {@link Region.Node} on the shortest path from the given {@link Region.Node} to the root node.
+     * @param node The {@link Region.Node} to return the next {@link Region.Node} of.
+     * @return The next {@link Region.Node} on the path or {@code null} if the given {@link Region.Node} is the root node
+     * or cannot reach it.
+     */
+    public Region.Node getNext(Region.Node node) {
+        int index = find(node);
+        return index == -1 || successors[index] == -1 ? null : graph.getNode(successors[index]);
+    }
+
+    /**
+     * Returns the nodes on the shortest path from the given {@link Region.Node} to the root node. The nodes are computed
+     * while the returned {@link Iterable} is iterated.
+     * @param start The start {@link Region.Node} of the path.
+     * @return The nodes (excluding start and including the root node) on the path.
+     * @throws IllegalArgumentException If the given {@link Region.Node} cannot reach the root node.
+     */
+    public Iterable<Region.Node> iteratePath(Region.Node start) {
+        int startIndex = requireReachable(start);
+        return () -> new Iterator<>() {
+
+            private int current = startIndex;
+
+            @Override
+            public boolean hasNext() {
+                return successors[current] != -1;
+            }
+
+            @Override
+            public Region.Node next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                current = successors[current];
+                return graph.getNode(current);
+            }
+        };
+    }
+
+    /**
+     * Returns the shortest path from the given {@link Region.Node} to the root node.
+     * @param start The start {@link Region.Node} of the path.
+     * @return A new, mutable {@link Deque} of the nodes (excluding start and including the root node) on the path.
+     * @throws IllegalArgumentException If the given {@link Region.Node} cannot reach the root node.
+     */
+    public Deque<Region.Node> getPath(Region.Node start) {
+        Deque<Region.Node> path = new ArrayDeque<>();
+        for (Region.Node node : iteratePath(start)) {
+            path.addLast(node);
+        }
+        return path;
+    }
+
+    /**
+     * Returns an unmodifiable {@link Map} view of this {@link ShortestPathTree} in the format of
+     * {@link PathCalculator#getAllPathsTo(Region.Node)}. It contains every node that can reach the root node. The paths
+     * are created when they are requested, and every request returns a new {@link Deque}.
+     * @return A {@link Map} view of this {@link ShortestPathTree}.
+     */
+    public Map<Region.Node, Deque<Region.Node>> asMap() {
+        if (map == null) {
+            map = new PathMap();
+        }
+        return map;
+    }
+
+    private int find(Region.Node node) {
+        int index = graph.indexOf(node.getLocation());
+        return index != -1 && graph.getNode(index).equals(node) ? index : -1;
+    }
+
+    private int requireReachable(Region.Node node) {
+        int index = find(node);
+        if (index == -1 || distances[index] == UNREACHABLE) {
+            throw new IllegalArgumentException("There is no path from %s to %s".formatted(node, getRoot()));
+        }
+        return index;
+    }
+
+    /**
+     * The {@link Map} view of a {@link ShortestPathTree}.
+     */
+    private final class PathMap extends AbstractMap<Region.Node, Deque<Region.Node>> {
+
+        private final Set<Entry<Region.Node, Deque<Region.Node>>> entrySet = new AbstractSet<>() {
+
+            @Override
+            public Iterator<Entry<Region.Node, Deque<Region.Node>>> iterator() {
+                return new Iterator<>() {
+
+                    private int next = advance(0);
+
+                    private int advance(int from) {
+                        while (from < distances.length && distances[from] == UNREACHABLE) {
+                            from++;
+                        }
+                        return from;
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < distances.length;
+                    }
+
+                    @Override
+                    public Entry<Region.Node, Deque<Region.Node>> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        Region.Node node = graph.getNode(next);
+                        next = advance(next + 1);
+                        return new SimpleImmutableEntry<>(node, getPath(node));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return reachableCount;
+            }
+        };
+
+        @Override
+        public Set<Entry<Region.Node, Deque<Region.Node>>> entrySet() {
+            return entrySet;
+        }
+
+        @Override
+        public int size() {
+            return reachableCount;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof Region.Node node && isReachable(node);
+        }
+
+        @Override
+        public Deque<Region.Node> get(Object key) {
+            return containsKey(key) ? getPath((Region.Node) key) : null;
+        }
+    }
+}
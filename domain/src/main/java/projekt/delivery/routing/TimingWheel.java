@@ -0,0 +1,243 @@
+package projekt.delivery.routing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A hierarchical timing wheel that files values under the tick at which they are due.<p>
+ *
+ * The wheel consists of several levels of 64 slots each. A value that is due within the next 64 ticks is stored in the
+ * slot of its tick on the lowest level. Values that are due later are stored on a higher level, whose slots span 64 times
+ * as many ticks as the slots of the level below, and move down one level whenever the wheel reaches the start of their
+ * slot. Values that are due even later than the highest level can represent are kept in an overflow list. Scheduling a
+ * value and advancing the wheel by one tick take amortised constant time, regardless of the amount of scheduled values.
+ * When the lowest level is empty, the wheel advances to the start of the next slot of a higher level at once. Slots are
+ * allocated when a value is scheduled into them for the first time, so an empty wheel is cheap to create.
+ *
+ * @param <T> The type of the scheduled values.
+ */
+final class TimingWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOT_COUNT = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOT_COUNT - 1;
+    private static final int LEVEL_COUNT = 4;
+    private static final long RANGE = 1L << (SLOT_BITS * LEVEL_COUNT);
+
+    private final Slot<T>[][] levels;
+    private final int[] levelSizes = new int[LEVEL_COUNT];
+    private final List<Timer<T>> overflow = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    /**
+     * Creates a new, empty {@link TimingWheel} starting at tick 0.
+     */
+    @SuppressWarnings("unchecked")
+    TimingWheel() {
+        levels = (Slot<T>[][]) new Slot<?>[LEVEL_COUNT][SLOT_COUNT];
+    }
+
+    /**
+     * Returns the first tick that has not been polled yet.
+     * @return The current tick of the wheel.
+     */
+    long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Returns the amount of scheduled values.
+     * @return The amount of scheduled values.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Schedules the given value. Values that are due before the current tick of the wheel are due at the current tick.
+     * @param value The value to schedule.
+     * @param dueTick The tick at which the value is due.
+     */
+    void schedule(T value, long dueTick) {
+        place(new Timer<>(value, Math.max(dueTick, currentTick)));
+        size++;
+    }
+
+    /**
+     * Advances the wheel to the given tick and removes all values that are due at or before it.
+     * @param tick The tick to advance to.
+     * @param due The {@link List} the due values are added to in the order of their due ticks.
+     */
+    void poll(long tick, List<T> due) {
+        if (tick < currentTick || tick - currentTick > RANGE) {
+            // the wheel only advances tick by tick, so it is rebuilt instead of going back or far ahead
+            rebuild(tick, due);
+            return;
+        }
+        while (currentTick <= tick) {
+            if (size == 0) {
+                currentTick = tick + 1;
+                return;
+            }
+            cascade(currentTick);
+            if (levelSizes[0] == 0) {
+                // nothing is due before the next slot of the lowest level that holds values starts
+                currentTick = Math.min(tick + 1, (currentTick | (getSlotSpan() - 1)) + 1);
+                continue;
+            }
+            Slot<T> slot = levels[0][(int) (currentTick & SLOT_MASK)];
+            if (slot == null) {
+                currentTick++;
+                continue;
+            }
+            for (Timer<T> timer : slot.timers) {
+                due.add(timer.value);
+            }
+            size -= slot.timers.size();
+            levelSizes[0] -= slot.timers.size();
+            slot.timers.clear();
+            currentTick++;
+        }
+    }
+
+    /**
+     * Returns the earliest tick at which a value is due.
+     * @return The earliest tick at which a value is due or {@link Long#MAX_VALUE} if the wheel is empty.
+     */
+    long getNextDueTick() {
+        if (size == 0) {
+            return Long.MAX_VALUE;
+        }
+        long next = Long.MAX_VALUE;
+        for (long tick = currentTick; tick < currentTick + SLOT_COUNT; tick++) {
+            Slot<T> slot = levels[0][(int) (tick & SLOT_MASK)];
+            if (slot != null && !slot.timers.isEmpty()) {
+                next = tick;
+                break;
+            }
+        }
+        // values on higher levels are rare, since most values are due within the range of the lowest level
+        for (int level = 1; level < LEVEL_COUNT; level++) {
+            if (levelSizes[level] == 0) {
+                continue;
+            }
+            for (Slot<T> slot : levels[level]) {
+                if (slot != null) {
+                    for (Timer<T> timer : slot.timers) {
+                        next = Math.min(next, timer.dueTick);
+                    }
+                }
+            }
+        }
+        for (Timer<T> timer : overflow) {
+            next = Math.min(next, timer.dueTick);
+        }
+        return next;
+    }
+
+    /**
+     * Removes all values and resets the wheel to tick 0.
+     */
+    void clear() {
+        clear(0);
+    }
+
+    /**
+     * Removes all values and resets the wheel to the given tick.
+     * @param tick The first tick that is polled next.
+     */
+    void clear(long tick) {
+        for (Slot<T>[] level : levels) {
+            for (Slot<T> slot : level) {
+                if (slot != null) {
+                    slot.timers.clear();
+                }
+            }
+        }
+        overflow.clear();
+        Arrays.fill(levelSizes, 0);
+        size = 0;
+        currentTick = tick;
+    }
+
+    private void place(Timer<T> timer) {
+        long delta = timer.dueTick - currentTick;
+        for (int level = 0; level < LEVEL_COUNT; level++) {
+            if (delta < 1L << (SLOT_BITS * (level + 1))) {
+                int index = (int) ((timer.dueTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+                if (levels[level][index] == null) {
+                    levels[level][index] = new Slot<>();
+                }
+                levels[level][index].timers.add(timer);
+                levelSizes[level]++;
+                return;
+            }
+        }
+        overflow.add(timer);
+    }
+
+    /**
+     * Moves the values of the slots that start at the given tick down to the lower levels.
+     */
+    private void cascade(long tick) {
+        if ((tick & (RANGE / SLOT_COUNT - 1)) == 0 && !overflow.isEmpty()) {
+            List<Timer<T>> timers = new ArrayList<>(overflow);
+            overflow.clear();
+            timers.forEach(this::place);
+        }
+        for (int level = LEVEL_COUNT - 1; level > 0; level--) {
+            if ((tick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                Slot<T> slot = levels[level][(int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK)];
+                if (slot != null && !slot.timers.isEmpty()) {
+                    List<Timer<T>> timers = new ArrayList<>(slot.timers);
+                    levelSizes[level] -= timers.size();
+                    slot.timers.clear();
+                    timers.forEach(this::place);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the amount of ticks spanned by a slot of the lowest level above the lowest one that holds values. Values in
+     * the overflow list are moved to the highest level at the start of each of its slots.
+     */
+    private long getSlotSpan() {
+        for (int level = 1; level < LEVEL_COUNT; level++) {
+            if (levelSizes[level] > 0) {
+                return 1L << (SLOT_BITS * level);
+            }
+        }
+        return RANGE / SLOT_COUNT;
+    }
+
+    private void rebuild(long tick, List<T> due) {
+        List<Timer<T>> timers = new ArrayList<>(overflow);
+        for (Slot<T>[] level : levels) {
+            for (Slot<T> slot : level) {
+                if (slot != null) {
+                    timers.addAll(slot.timers);
+                }
+            }
+        }
+        clear();
+        currentTick = tick + 1;
+        timers.sort((a, b) -> Long.compare(a.dueTick, b.dueTick));
+        for (Timer<T> timer : timers) {
+            if (timer.dueTick <= tick) {
+                due.add(timer.value);
+            } else {
+                place(timer);
+                size++;
+            }
+        }
+    }
+
+    private record Timer<T>(T value, long dueTick) { }
+
+    private static final class Slot<T> {
+        private final List<Timer<T>> timers = new ArrayList<>();
+    }
+}
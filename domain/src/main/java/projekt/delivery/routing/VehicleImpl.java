@@ -1,6 +1,7 @@
 package projekt.delivery.routing;
 
 import org.jetbrains.annotations.Nullable;
+import projekt.delivery.simulation.SimulationCheckpoint;
 
 import java.util.*;
 import java.util.function.BiConsumer;
@@ -16,6 +17,8 @@ class VehicleImpl implements Vehicle {
     private final Deque<PathImpl> moveQueue = new LinkedList<>();
     private final VehicleManager.OccupiedRestaurant startingNode;
     private AbstractOccupied<?> occupied;
+    // moveDirect is reported as a whole to the DispatchListener, so the moveQueued call it makes is not reported again
+    private boolean movingDirect;
 
     public VehicleImpl(
         int id,
@@ -51,8 +54,19 @@ class VehicleImpl implements Vehicle {
 
     @Override
     public void moveDirect(Region.Node node, BiConsumer<? super Vehicle, Long> arrivalAction) {
+        arrivalAction = vehicleManager.onMove(this, node, true, arrivalAction);
+        movingDirect = true;
+        try {
+            clearAndMove(node, arrivalAction);
+        } catch (RuntimeException e) {
+            vehicleManager.onFailure(e);
+            throw e;
+        } finally {
+            movingDirect = false;
+        }
+    }
 
-
+    private void clearAndMove(Region.Node node, BiConsumer<? super Vehicle, Long> arrivalAction) {
         moveQueue.clear();
         if (occupied instanceof Region.Node){
             if (occupied.getComponent() == node)
@@ -106,6 +120,20 @@ class VehicleImpl implements Vehicle {
 
     @Override
     public void moveQueued(Region.Node node, BiConsumer<? super Vehicle, Long> arrivalAction) {
+        if (movingDirect) {
+            queuePath(node, arrivalAction);
+            return;
+        }
+        arrivalAction = vehicleManager.onMove(this, node, false, arrivalAction);
+        try {
+            queuePath(node, arrivalAction);
+        } catch (RuntimeException e) {
+            vehicleManager.onFailure(e);
+            throw e;
+        }
+    }
+
+    private void queuePath(Region.Node node, BiConsumer<? super Vehicle, Long> arrivalAction) {
         if (node.equals(occupied.getComponent()) && moveQueue.size() == 0) {
             throw new IllegalArgumentException();
         }
@@ -169,7 +197,6 @@ class VehicleImpl implements Vehicle {
     }
 
     void move(long currentTick) {
-        final Region region = vehicleManager.getRegion();
         if (moveQueue.isEmpty()) {
             return;
         }
@@ -183,11 +210,16 @@ class VehicleImpl implements Vehicle {
                 action.accept(this, currentTick);
             }
         } else {
-            Region.Node next = path.nodes().peek();
+            final CompactGraph graph = vehicleManager.getCompactGraph();
+            final int next = graph.indexOf(path.nodes().peek());
             if (occupied instanceof OccupiedNodeImpl) {
-                vehicleManager.getOccupied(region.getEdge(((OccupiedNodeImpl<?>) occupied).getComponent(), next)).addVehicle(this, currentTick);
+                final int edge = graph.findEdge(graph.indexOf(((OccupiedNodeImpl<?>) occupied).getComponent()), next);
+                if (edge == -1) {
+                    throw new AssertionError("Vehicle " + getId() + " cannot move to a node that is not adjacent");
+                }
+                vehicleManager.getOccupiedEdge(edge).addVehicle(this, currentTick);
             } else if (occupied instanceof OccupiedEdgeImpl) {
-                vehicleManager.getOccupied(next).addVehicle(this, currentTick);
+                vehicleManager.getOccupiedNode(next).addVehicle(this, currentTick);
                 path.nodes().pop();
             } else {
                 throw new AssertionError("Component must be either node or component");
@@ -195,6 +227,77 @@ class VehicleImpl implements Vehicle {
         }
     }
 
+    /**
+     * Returns whether this vehicle has any moves left in its queue.
+     * @return {@code true} if the move queue of this vehicle is not empty.
+     */
+    boolean hasQueuedMoves() {
+        return !moveQueue.isEmpty();
+    }
+
+    /**
+     * Writes the move queue and the loaded orders of this vehicle. The nodes of the paths are written as their indices
+     * in the {@link CompactGraph}, the arrival actions by reference.
+     * @param writer The {@link SimulationCheckpoint.Writer} to write to.
+     */
+    void writeCheckpoint(SimulationCheckpoint.Writer writer) {
+        final CompactGraph graph = vehicleManager.getCompactGraph();
+        writer.writeInt(moveQueue.size());
+        for (PathImpl path : moveQueue) {
+            writer.writeInt(path.nodes().size());
+            for (Region.Node node : path.nodes()) {
+                writer.writeInt(graph.indexOf(node));
+            }
+            writer.writeReference(path.arrivalAction());
+        }
+        writer.writeOrders(orders);
+    }
+
+    /**
+     * Replaces the move queue and the loaded orders of this vehicle by the ones written by {@link #writeCheckpoint}.
+     * @param reader The {@link SimulationCheckpoint.Reader} to read from.
+     */
+    @SuppressWarnings("unchecked")
+    void readCheckpoint(SimulationCheckpoint.Reader reader) {
+        final CompactGraph graph = vehicleManager.getCompactGraph();
+        moveQueue.clear();
+        int pathCount = reader.readInt();
+        for (int i = 0; i < pathCount; i++) {
+            Deque<Region.Node> nodes = new LinkedList<>();
+            int nodeCount = reader.readInt();
+            for (int j = 0; j < nodeCount; j++) {
+                nodes.add(graph.getNode(reader.readInt()));
+            }
+            moveQueue.add(new PathImpl(nodes, reader.readReference(BiConsumer.class)));
+        }
+        orders.clear();
+        orders.addAll(reader.readOrders());
+    }
+
+    /**
+     * Creates a copy of this vehicle for the given fork of its {@link VehicleManagerImpl}. The copy occupies the
+     * corresponding component of the fork and has its own move queue and copies of the loaded {@link ConfirmedOrder}s,
+     * but shares the paths' arrival actions.
+     * @param fork The fork of the {@link VehicleManagerImpl} of this vehicle.
+     * @return The created copy.
+     */
+    VehicleImpl fork(VehicleManagerImpl fork) {
+        VehicleImpl copy = new VehicleImpl(
+            id,
+            capacity,
+            fork,
+            (VehicleManager.OccupiedRestaurant) fork.getOccupiedNode(((AbstractOccupied<?>) startingNode).index)
+        );
+        copy.occupied = fork.getForkedOccupied(occupied);
+        for (PathImpl path : moveQueue) {
+            copy.moveQueue.add(new PathImpl(new LinkedList<>(path.nodes()), path.arrivalAction()));
+        }
+        for (ConfirmedOrder order : orders) {
+            copy.orders.add(fork.getForkedOrder(order));
+        }
+        return copy;
+    }
+
     void loadOrder(ConfirmedOrder order) {
         double potentialWeight = getCurrentWeight() + order.getWeight();
         if (potentialWeight <= getCapacity()) {
@@ -1,16 +1,20 @@
 package projekt.delivery.routing;
 
+import org.jetbrains.annotations.Nullable;
 import projekt.base.Location;
 import projekt.delivery.event.Event;
 import projekt.delivery.event.EventBus;
+import projekt.delivery.simulation.Checkpointable;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
 /**
  * Manages all Vehicles on a {@link Region}.
  */
-public interface VehicleManager {
+public interface VehicleManager extends Checkpointable {
 
     /**
      * Returns a new {@link VehicleManager.Builder}.
@@ -102,11 +106,71 @@ public interface VehicleManager {
      */
     List<Event> tick(long currentTick);
 
+    /**
+     * Returns the first tick that is not before the given tick at which {@link #tick(long)} may move a {@link Vehicle}
+     * or post an {@link Event}, provided that no {@link Vehicle} receives a new move in the meantime.<p>
+     *
+     * The default implementation returns the given tick, i.e. something may happen at every tick.
+     * @param tick The first tick to consider.
+     * @return The first tick at which something may happen or {@link Long#MAX_VALUE} if all {@link Vehicle}s are idle.
+     */
+    default long getNextEventTick(long tick) {
+        return tick;
+    }
+
+    /**
+     * Returns whether this {@link VehicleManager} stays unchanged until a {@link Vehicle} receives a new move or order,
+     * i.e. all {@link Vehicle}s have been spawned and wait on a node without any queued moves or loaded orders.<p>
+     *
+     * The default implementation returns {@code false}, i.e. the {@link VehicleManager} is never known to be idle.
+     * @return {@code true} if all {@link Vehicle}s are idle.
+     */
+    default boolean isIdle() {
+        return false;
+    }
+
     /**
      * Resets this {@link VehicleManager} to its start state.
      */
     void reset();
 
+    /**
+     * Creates a new {@link VehicleManager} in the start state that is independent of this {@link VehicleManager}.<p>
+     *
+     * The copy shares the immutable {@link Region} and the {@link PathCalculator}, including its cached paths, with this
+     * {@link VehicleManager}. It has its own occupied components, its own {@link Vehicle}s with the same ids, starting
+     * nodes and capacities, and its own {@link EventBus}, so both can be simulated at the same time on different threads.
+     * Creating a copy does not calculate any paths.
+     * @return The created {@link VehicleManager}.
+     */
+    VehicleManager copy();
+
+    /**
+     * Creates a fork of this {@link VehicleManager} in its current state, e.g. for a {@link projekt.delivery.service.DeliveryService}
+     * that simulates a few ticks ahead to compare different assignments of orders to {@link Vehicle}s.<p>
+     *
+     * The fork has its own {@link Vehicle}s with the same ids, positions, queued moves and loaded orders, and its own
+     * {@link EventBus}, so ticking it neither changes this {@link VehicleManager} nor posts any {@link Event} to it. The
+     * immutable {@link Region} and the {@link PathCalculator} including its cached paths are shared. Occupied components
+     * are only created when the fork accesses them, so creating a fork costs little more than copying the
+     * {@link Vehicle}s.<p>
+     *
+     * Every {@link ConfirmedOrder} that is loaded on a {@link Vehicle} of the fork or passed to one of its components is
+     * replaced by a copy with the same ID, so delivering an order in the fork only sets the actual delivery tick of the
+     * copy. The arrival actions of the queued moves are shared. When such an action delivers or loads an order at an
+     * occupied component of this {@link VehicleManager} with a {@link Vehicle} of the fork, the call is passed on to the
+     * corresponding component of the fork.
+     * @return The created fork.
+     */
+    VehicleManager fork();
+
+    /**
+     * Sets the {@link DispatchListener} that is informed about all calls that change the plan of a {@link Vehicle} of
+     * this {@link VehicleManager}. Copies and forks of this {@link VehicleManager} do not inherit it.
+     * @param listener The {@link DispatchListener} to set or {@code null} to remove the current one.
+     */
+    void setDispatchListener(@Nullable DispatchListener listener);
+
     /**
      * Represents an occupied {@link Region.Component} that can be occupied by multiple {@link Vehicle}s.<p>
      * It has a reference to the original {@link Region.Component} which can be accessed via the {@link #getComponent()} method.
@@ -223,6 +287,19 @@ public interface VehicleManager {
             Location startingLocation
         );
 
+        /**
+         * Enables the warm-up of the {@link PathCalculator} of the constructed {@link VehicleManager}.<p>
+         *
+         * Before {@link #build()} returns, the {@link PathCalculator} is preprocessed and, if it is a
+         * {@link CachedPathCalculator}, the {@link ShortestPathTree}s of all restaurants and neighborhoods are calculated
+         * in parallel on the given {@link ForkJoinPool} and cached, as far as the cache is large enough. This moves the
+         * routing cost of the first ticks of a simulation in front of the simulation.
+         * @param pool The {@link ForkJoinPool} to calculate the trees on.
+         * @param reportConsumer The {@link Consumer} that receives the {@link WarmUpReport} after the warm-up.
+         * @return The current {@link Builder}.
+         */
+        Builder warmUp(ForkJoinPool pool, Consumer<? super WarmUpReport> reportConsumer);
+
         /**
          * Constructs the {@link VehicleManager}.
          * @return The constructed {@link VehicleManager}.
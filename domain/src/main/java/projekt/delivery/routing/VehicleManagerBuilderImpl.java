@@ -5,12 +5,18 @@ import projekt.base.Location;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 class VehicleManagerBuilderImpl implements VehicleManager.Builder {
 
     private final List<VehicleBuilder> vehicles = new ArrayList<>();
     private Region region;
     private PathCalculator pathCalculator;
+    private ForkJoinPool warmUpPool;
+    private Consumer<? super WarmUpReport> warmUpReportConsumer;
 
     @Override
     public VehicleManager.Builder region(Region region) {
@@ -42,6 +48,13 @@ class VehicleManagerBuilderImpl implements VehicleManager.Builder {
         return this;
     }
 
+    @Override
+    public VehicleManager.Builder warmUp(ForkJoinPool pool, Consumer<? super WarmUpReport> reportConsumer) {
+        this.warmUpPool = Objects.requireNonNull(pool, "pool");
+        this.warmUpReportConsumer = Objects.requireNonNull(reportConsumer, "reportConsumer");
+        return this;
+    }
+
     @Override
     public VehicleManager build() {
         Objects.requireNonNull(region, "region");
@@ -50,8 +63,50 @@ class VehicleManagerBuilderImpl implements VehicleManager.Builder {
         for (VehicleBuilder vehicleBuilder : vehicles) {
             vehicleManager.addVehicle(vehicleBuilder.startingLocation, vehicleBuilder.capacity);
         }
+        if (warmUpPool != null) {
+            warmUpReportConsumer.accept(warmUp());
+        }
         return vehicleManager;
     }
 
+    /**
+     * Preprocesses the path calculator and fills its cache with the trees of all restaurants and neighborhoods.
+     */
+    private WarmUpReport warmUp() {
+        long start = System.nanoTime();
+        CompactGraph graph = CompactGraph.of(region);
+
+        PathCalculator innermost = pathCalculator;
+        while (innermost instanceof CachedPathCalculator cachedPathCalculator) {
+            innermost = cachedPathCalculator.getDelegate();
+        }
+        if (innermost instanceof ContractionHierarchyPathCalculator hierarchyPathCalculator) {
+            hierarchyPathCalculator.preprocess(region);
+        } else if (innermost instanceof LandmarkPathCalculator landmarkPathCalculator) {
+            landmarkPathCalculator.getLandmarkTable(region);
+        }
+
+        int treeCount = 0;
+        int residentTreeCount = 0;
+        if (pathCalculator instanceof CachedPathCalculator cachedPathCalculator) {
+            // warming up more trees than fit into the cache would only evict the first ones again
+            List<Region.Node> targets = Stream.concat(
+                    region.getNodes().stream().filter(Region.Restaurant.class::isInstance),
+                    region.getNodes().stream().filter(Region.Neighborhood.class::isInstance))
+                .limit(cachedPathCalculator.getSize())
+                .toList();
+            // one task per tree, so every tree is calculated on the given pool
+            List<ForkJoinTask<ShortestPathTree>> tasks = targets.stream()
+                .map(target -> warmUpPool.submit(() -> cachedPathCalculator.getShortestPathTree(target)))
+                .toList();
+            tasks.forEach(ForkJoinTask::join);
+            treeCount = targets.size();
+            residentTreeCount = cachedPathCalculator.getCachedTrees().size();
+        }
+
+        long estimatedBytes = (long) residentTreeCount * graph.getNodeCount() * (Integer.BYTES + Long.BYTES);
+        return new WarmUpReport(treeCount, residentTreeCount, System.nanoTime() - start, estimatedBytes);
+    }
+
     private record VehicleBuilder(Location startingLocation, double capacity) { }
 }
@@ -1,24 +1,36 @@
 package projekt.delivery.routing;
 
+import org.jetbrains.annotations.Nullable;
 import projekt.base.Location;
 import projekt.delivery.event.Event;
 import projekt.delivery.event.EventBus;
 import projekt.delivery.event.SpawnEvent;
+import projekt.delivery.simulation.SimulationCheckpoint;
 
 import java.util.*;
+import java.util.function.BiConsumer;
 
 import static org.tudalgo.algoutils.student.Student.crash;
 
 class VehicleManagerImpl implements VehicleManager {
 
-    final Map<Region.Node, OccupiedNodeImpl<? extends Region.Node>> occupiedNodes;
-    final Map<Region.Edge, OccupiedEdgeImpl> occupiedEdges;
+    // the maps of a fork are only created when they are needed, see getOccupiedNodeMap()
+    Map<Region.Node, OccupiedNodeImpl<? extends Region.Node>> occupiedNodes;
+    Map<Region.Edge, OccupiedEdgeImpl> occupiedEdges;
     private final Region region;
     private final PathCalculator pathCalculator;
+    private final @Nullable VehicleManagerImpl origin;
     private final List<VehicleImpl> vehiclesToSpawn = new ArrayList<>();
     private final List<VehicleImpl> vehicles = new ArrayList<>();
     private final Collection<Vehicle> unmodifiableVehicles = Collections.unmodifiableCollection(vehicles);
     private final EventBus eventBus = new EventBus();
+    private CompactGraph compactGraph;
+    private OccupiedNodeImpl<?>[] occupiedNodesByIndex;
+    private OccupiedEdgeImpl[] occupiedEdgesByIndex;
+    private final TimingWheel<VehicleImpl> edgeExits = new TimingWheel<>();
+    // the copies of the orders used by a fork, including a mapping of every copy to itself
+    private final Map<ConfirmedOrder, ConfirmedOrder> forkedOrders = new IdentityHashMap<>();
+    private @Nullable DispatchListener dispatchListener;
 
     VehicleManagerImpl(
         Region region,
@@ -26,31 +38,51 @@ class VehicleManagerImpl implements VehicleManager {
     ) {
         this.region = region;
         this.pathCalculator = pathCalculator;
+        this.origin = null;
         occupiedNodes = toOccupiedNodes(region.getNodes());
         occupiedEdges = toOccupiedEdges(region.getEdges());
     }
 
+    /**
+     * Creates a fork of the given {@link VehicleManagerImpl} without any vehicles. The {@link Region}, the
+     * {@link PathCalculator} and the {@link CompactGraph} are shared, the occupied components are created when they are
+     * accessed for the first time.
+     * @param origin The {@link VehicleManagerImpl} to fork.
+     */
+    private VehicleManagerImpl(VehicleManagerImpl origin) {
+        // forks of forks are created from the same origin, whose occupied components are all indexed already
+        this.origin = origin.origin != null ? origin.origin : origin;
+        this.region = origin.region;
+        this.pathCalculator = origin.pathCalculator;
+        compactGraph = this.origin.getCompactGraph();
+        occupiedNodesByIndex = new OccupiedNodeImpl<?>[compactGraph.getNodeCount()];
+        occupiedEdgesByIndex = new OccupiedEdgeImpl[compactGraph.getEdgeCount()];
+    }
+
     private Map<Region.Node, OccupiedNodeImpl<? extends Region.Node>> toOccupiedNodes(Collection<Region.Node> nodes) {
         Map<Region.Node, OccupiedNodeImpl<? extends Region.Node>> retMap = new HashMap<>();
         Iterator<Region.Node> iter = nodes.iterator();
 
         while (iter.hasNext()) {
             Region.Node nextNode = iter.next();
-
-            if (nextNode instanceof Region.Restaurant castNextNode) {
-                retMap.put(castNextNode, new OccupiedRestaurantImpl(castNextNode, this));
-            }
-            else if (nextNode instanceof Region.Neighborhood castNextNode) {
-                retMap.put(castNextNode, new OccupiedNeighborhoodImpl(castNextNode, this));
-            }
-            else {
-                retMap.put(nextNode, new OccupiedNodeImpl<Region.Node>(nextNode, this));
-            }
+            retMap.put(nextNode, createOccupiedNode(nextNode));
         }
 
         return Collections.unmodifiableMap(retMap);
     }
 
+    private OccupiedNodeImpl<? extends Region.Node> createOccupiedNode(Region.Node node) {
+        if (node instanceof Region.Restaurant restaurant) {
+            return new OccupiedRestaurantImpl(restaurant, this);
+        }
+        else if (node instanceof Region.Neighborhood neighborhood) {
+            return new OccupiedNeighborhoodImpl(neighborhood, this);
+        }
+        else {
+            return new OccupiedNodeImpl<Region.Node>(node, this);
+        }
+    }
+
     private Map<Region.Edge, OccupiedEdgeImpl> toOccupiedEdges(Collection<Region.Edge> edges) {
         Map<Region.Edge, OccupiedEdgeImpl> retMap = new HashMap<>();
         Iterator<Region.Edge> iter = edges.iterator();
@@ -65,18 +97,150 @@ class VehicleManagerImpl implements VehicleManager {
 
     private Set<AbstractOccupied<?>> getAllOccupied() {
         Set<AbstractOccupied<?>> retSet = new HashSet<>();
-        retSet.addAll(occupiedNodes.values());
-        retSet.addAll(occupiedEdges.values());
+        retSet.addAll(getOccupiedNodeMap().values());
+        retSet.addAll(getOccupiedEdgeMap().values());
         return Collections.unmodifiableSet(retSet);
     }
 
+    /**
+     * Returns the occupied nodes by their {@link Region.Node}s. A fork creates all of its occupied nodes on the first
+     * call, in the same order as its origin.
+     */
+    private Map<Region.Node, OccupiedNodeImpl<? extends Region.Node>> getOccupiedNodeMap() {
+        if (occupiedNodes == null) {
+            Map<Region.Node, OccupiedNodeImpl<? extends Region.Node>> map = new LinkedHashMap<>();
+            for (OccupiedNodeImpl<?> occupied : origin.occupiedNodes.values()) {
+                map.put(occupied.getComponent(), getOccupiedNode(occupied.index));
+            }
+            occupiedNodes = Collections.unmodifiableMap(map);
+        }
+        return occupiedNodes;
+    }
+
+    /**
+     * Returns the occupied edges by their {@link Region.Edge}s. A fork creates all of its occupied edges on the first
+     * call, in the same order as its origin.
+     */
+    private Map<Region.Edge, OccupiedEdgeImpl> getOccupiedEdgeMap() {
+        if (occupiedEdges == null) {
+            Map<Region.Edge, OccupiedEdgeImpl> map = new LinkedHashMap<>();
+            for (OccupiedEdgeImpl occupied : origin.occupiedEdges.values()) {
+                map.put(occupied.getComponent(), getOccupiedEdge(occupied.index));
+            }
+            occupiedEdges = Collections.unmodifiableMap(map);
+        }
+        return occupiedEdges;
+    }
+
+    /**
+     * Returns the occupied node of the given {@link Region.Node}. A fork looks it up by its index, so that only the
+     * occupied nodes that are actually used are created.
+     */
+    private @Nullable OccupiedNodeImpl<? extends Region.Node> findOccupiedNode(Region.Node node) {
+        if (origin == null) {
+            return occupiedNodes.get(node);
+        }
+        int index = getCompactGraph().indexOf(node.getLocation());
+        return index == -1 ? null : getOccupiedNode(index);
+    }
+
+    /**
+     * Returns the occupied edge of the given {@link Region.Edge}. A fork looks it up by its index, so that only the
+     * occupied edges that are actually used are created.
+     */
+    private @Nullable OccupiedEdgeImpl findOccupiedEdge(Region.Edge edge) {
+        if (origin == null) {
+            return occupiedEdges.get(edge);
+        }
+        CompactGraph graph = getCompactGraph();
+        int nodeA = graph.indexOf(edge.getNodeA().getLocation());
+        int nodeB = graph.indexOf(edge.getNodeB().getLocation());
+        int index = nodeA == -1 || nodeB == -1 ? -1 : graph.findEdge(nodeA, nodeB);
+        return index == -1 ? null : getOccupiedEdge(index);
+    }
+
     private OccupiedNodeImpl<? extends Region.Node> getOccupiedNode(Location location) {
-        return occupiedNodes.values().stream()
+        return getOccupiedNodeMap().values().stream()
             .filter(node -> node.getComponent().getLocation().equals(location))
             .findFirst()
             .orElseThrow(() -> new IllegalArgumentException("Could not find node with given predicate"));
     }
 
+    /**
+     * Returns the {@link CompactGraph} of the underlying {@link Region}.<p>
+     *
+     * On the first call, the occupied components are indexed like the nodes and edges of the {@link CompactGraph}, so
+     * that {@link #getOccupiedNode(int)} and {@link #getOccupiedEdge(int)} can look them up without hashing. They are
+     * ranked in the order of {@link #occupiedNodes} and {@link #occupiedEdges}, which is the order they are ticked in.
+     *
+     * @return The {@link CompactGraph} of the underlying {@link Region}.
+     */
+    CompactGraph getCompactGraph() {
+        if (compactGraph == null) {
+            CompactGraph graph = CompactGraph.of(region);
+            occupiedNodesByIndex = new OccupiedNodeImpl<?>[graph.getNodeCount()];
+            for (int node = 0; node < occupiedNodesByIndex.length; node++) {
+                occupiedNodesByIndex[node] = occupiedNodes.get(graph.getNode(node));
+                if (occupiedNodesByIndex[node] != null) {
+                    occupiedNodesByIndex[node].index = node;
+                }
+            }
+            occupiedEdgesByIndex = new OccupiedEdgeImpl[graph.getEdgeCount()];
+            for (int edge = 0; edge < occupiedEdgesByIndex.length; edge++) {
+                occupiedEdgesByIndex[edge] = occupiedEdges.get(graph.getEdge(edge));
+                if (occupiedEdgesByIndex[edge] != null) {
+                    occupiedEdgesByIndex[edge].index = edge;
+                }
+            }
+            int rank = 0;
+            for (AbstractOccupied<?> occupied : occupiedNodes.values()) {
+                occupied.tickRank = rank++;
+            }
+            for (AbstractOccupied<?> occupied : occupiedEdges.values()) {
+                occupied.tickRank = rank++;
+            }
+            compactGraph = graph;
+        }
+        return compactGraph;
+    }
+
+    /**
+     * Returns the {@link OccupiedNodeImpl} of the node with the given index in the {@link CompactGraph}.
+     * @param node The index of the node.
+     * @return The {@link OccupiedNodeImpl} of the node with the given index.
+     */
+    OccupiedNodeImpl<?> getOccupiedNode(int node) {
+        getCompactGraph();
+        OccupiedNodeImpl<?> occupied = occupiedNodesByIndex[node];
+        if (occupied == null && origin != null) {
+            // an occupied node of a fork is created when it is accessed for the first time
+            OccupiedNodeImpl<?> original = origin.getOccupiedNode(node);
+            occupied = createOccupiedNode(original.getComponent());
+            occupied.index = node;
+            occupied.tickRank = original.tickRank;
+            occupiedNodesByIndex[node] = occupied;
+        }
+        return occupied;
+    }
+
+    /**
+     * Returns the {@link OccupiedEdgeImpl} of the edge with the given index in the {@link CompactGraph}.
+     * @param edge The index of the edge.
+     * @return The {@link OccupiedEdgeImpl} of the edge with the given index.
+     */
+    OccupiedEdgeImpl getOccupiedEdge(int edge) {
+        getCompactGraph();
+        OccupiedEdgeImpl occupied = occupiedEdgesByIndex[edge];
+        if (occupied == null && origin != null) {
+            OccupiedEdgeImpl original = origin.getOccupiedEdge(edge);
+            occupied = new OccupiedEdgeImpl(original.getComponent(), this);
+            occupied.index = edge;
+            occupied.tickRank = original.tickRank;
+            occupiedEdgesByIndex[edge] = occupied;
+        }
+        return occupied;
+    }
+
     @Override
     public Region getRegion() {
         return region;
@@ -110,7 +274,7 @@ class VehicleManagerImpl implements VehicleManager {
         }
         else {
             if (component instanceof Region.Node castComponent) { // Component is Node
-                AbstractOccupied<?> occupiedNode = occupiedNodes.get(castComponent);
+                AbstractOccupied<?> occupiedNode = findOccupiedNode(castComponent);
                 if (occupiedNode == null) {
                     throw new IllegalArgumentException("Could not find occupied node for %s".formatted(component.toString()));
                 }
@@ -119,7 +283,7 @@ class VehicleManagerImpl implements VehicleManager {
                 }
             }
             else { // Component is Edge
-                var occupiedEdge = occupiedEdges.get((Region.Edge) component);
+                var occupiedEdge = findOccupiedEdge((Region.Edge) component);
 
                 if (occupiedEdge == null) {
                     throw new IllegalArgumentException("Could not find occupied edge for %s".formatted(component.toString()));
@@ -134,7 +298,7 @@ class VehicleManagerImpl implements VehicleManager {
 
     @Override
     public List<OccupiedRestaurant> getOccupiedRestaurants() {
-        return occupiedNodes.values().stream()
+        return getOccupiedNodeMap().values().stream()
             .filter(OccupiedRestaurant.class::isInstance)
             .map(OccupiedRestaurant.class::cast)
             .toList();
@@ -145,7 +309,7 @@ class VehicleManagerImpl implements VehicleManager {
         if (node == null) {
             throw new NullPointerException("Node is null!");
         }
-        else if (occupiedNodes.containsKey(node) && occupiedNodes.get(node) instanceof OccupiedRestaurant castOccupied) {
+        else if (findOccupiedNode(node) instanceof OccupiedRestaurant castOccupied) {
             return castOccupied;
         }
         else {
@@ -155,7 +319,7 @@ class VehicleManagerImpl implements VehicleManager {
 
     @Override
     public Collection<OccupiedNeighborhood> getOccupiedNeighborhoods() {
-        return occupiedNodes.values().stream()
+        return getOccupiedNodeMap().values().stream()
             .filter(OccupiedNeighborhood.class::isInstance)
             .map(OccupiedNeighborhood.class::cast)
             .toList();
@@ -166,7 +330,7 @@ class VehicleManagerImpl implements VehicleManager {
         if (node == null) {
             throw new NullPointerException("Node is null!");
         }
-        else if (occupiedNodes.containsKey(node) && occupiedNodes.get(node) instanceof OccupiedNeighborhood castOccupied) {
+        else if (findOccupiedNode(node) instanceof OccupiedNeighborhood castOccupied) {
             return castOccupied;
         }
         else {
@@ -176,12 +340,12 @@ class VehicleManagerImpl implements VehicleManager {
 
     @Override
     public Collection<Occupied<? extends Region.Node>> getOccupiedNodes() {
-        return Collections.unmodifiableCollection(occupiedNodes.values());
+        return Collections.unmodifiableCollection(getOccupiedNodeMap().values());
     }
 
     @Override
     public Collection<Occupied<? extends Region.Edge>> getOccupiedEdges() {
-        return Collections.unmodifiableCollection(occupiedEdges.values());
+        return Collections.unmodifiableCollection(getOccupiedEdgeMap().values());
     }
 
     @Override
@@ -191,6 +355,9 @@ class VehicleManagerImpl implements VehicleManager {
 
     @Override
     public List<Event> tick(long currentTick) {
+        if (dispatchListener != null) {
+            dispatchListener.onTick(currentTick);
+        }
         for (VehicleImpl vehicle : vehiclesToSpawn) {
             spawnVehicle(vehicle, currentTick);
         }
@@ -201,11 +368,135 @@ class VehicleManagerImpl implements VehicleManager {
         // For example, a node tick may move a vehicle onto an edge.
         // Ticking this edge afterwards does not move the vehicle further along the edge
         // compared to a vehicle already on the edge.
-        occupiedNodes.values().forEach(occupiedNode -> occupiedNode.tick(currentTick));
-        occupiedEdges.values().forEach(occupiedEdge -> occupiedEdge.tick(currentTick));
+        // Only nodes that hold a vehicle can change, so instead of all nodes, only the nodes of the vehicles are ticked.
+        // Vehicles on edges are filed under the tick at which they leave their edge, so only the edges of the vehicles
+        // that are due are ticked. They are collected after the nodes have been ticked, because a node tick may move a
+        // vehicle onto an edge.
+        List<OccupiedNodeImpl<?>> activeNodes = new ArrayList<>();
+        for (VehicleImpl vehicle : vehicles) {
+            if (vehicle.getOccupied() instanceof OccupiedNodeImpl<?> occupiedNode) {
+                activeNodes.add(occupiedNode);
+            }
+        }
+        sortByTickOrder(activeNodes).forEach(occupiedNode -> occupiedNode.tick(currentTick));
+
+        List<VehicleImpl> dueVehicles = new ArrayList<>();
+        edgeExits.poll(currentTick, dueVehicles);
+        List<OccupiedEdgeImpl> dueEdges = new ArrayList<>();
+        for (VehicleImpl vehicle : dueVehicles) {
+            if (isDueOnEdge(vehicle, currentTick)) {
+                dueEdges.add((OccupiedEdgeImpl) vehicle.getOccupied());
+            }
+        }
+        sortByTickOrder(dueEdges).forEach(occupiedEdge -> occupiedEdge.tick(currentTick));
+        // a vehicle without a path stays on its edge and is ticked again in the next tick
+        for (VehicleImpl vehicle : dueVehicles) {
+            if (isDueOnEdge(vehicle, currentTick)) {
+                edgeExits.schedule(vehicle, currentTick + 1);
+            }
+        }
         return eventBus.popEvents(currentTick);
     }
 
+    @Override
+    public void setDispatchListener(@Nullable DispatchListener listener) {
+        dispatchListener = listener;
+    }
+
+    /**
+     * Informs the {@link DispatchListener} about a move of the given vehicle.
+     * @return The arrival action to queue.
+     */
+    BiConsumer<? super Vehicle, Long> onMove(VehicleImpl vehicle, Region.Node node, boolean direct, BiConsumer<? super Vehicle, Long> arrivalAction) {
+        return dispatchListener == null ? arrivalAction : dispatchListener.onMove(vehicle, node, direct, arrivalAction);
+    }
+
+    void onLoadOrder(OccupiedRestaurantImpl restaurant, Vehicle vehicle, ConfirmedOrder order, long currentTick) {
+        if (dispatchListener != null) {
+            dispatchListener.onLoadOrder(restaurant, vehicle, order, currentTick);
+        }
+    }
+
+    void onDeliverOrder(OccupiedNeighborhoodImpl neighborhood, Vehicle vehicle, ConfirmedOrder order, long tick) {
+        if (dispatchListener != null) {
+            dispatchListener.onDeliverOrder(neighborhood, vehicle, order, tick);
+        }
+    }
+
+    void onFailure(RuntimeException exception) {
+        if (dispatchListener != null) {
+            dispatchListener.onFailure(exception);
+        }
+    }
+
+    /**
+     * Files the given vehicle under the tick at which it leaves the edge it was just added to.
+     * @param vehicle The vehicle that was added to an edge.
+     * @param exitTick The first tick at which the vehicle leaves its edge.
+     */
+    void scheduleEdgeExit(VehicleImpl vehicle, long exitTick) {
+        edgeExits.schedule(vehicle, exitTick);
+    }
+
+    private static boolean isDueOnEdge(VehicleImpl vehicle, long currentTick) {
+        if (!(vehicle.getOccupied() instanceof OccupiedEdgeImpl occupiedEdge)) {
+            return false;
+        }
+        AbstractOccupied.VehicleStats stats = occupiedEdge.vehicles.get(vehicle);
+        return stats != null && currentTick >= stats.arrived + occupiedEdge.getComponent().getDuration();
+    }
+
+    /**
+     * Sorts the given components in the order of {@link #occupiedNodes} and {@link #occupiedEdges} and removes
+     * duplicates, so they are ticked in the same order as if all components were ticked.
+     * @param active The components to sort.
+     * @return The given {@link List}.
+     */
+    private <O extends AbstractOccupied<?>> List<O> sortByTickOrder(List<O> active) {
+        if (active.size() > 1) {
+            // the components are ranked when they are indexed
+            getCompactGraph();
+            active.sort(Comparator.comparingInt(occupied -> occupied.tickRank));
+            // entries of the same component are adjacent now
+            int size = 1;
+            for (int i = 1; i < active.size(); i++) {
+                if (active.get(i) != active.get(size - 1)) {
+                    active.set(size++, active.get(i));
+                }
+            }
+            active.subList(size, active.size()).clear();
+        }
+        return active;
+    }
+
+    @Override
+    public long getNextEventTick(long tick) {
+        if (!vehiclesToSpawn.isEmpty()) {
+            return tick;
+        }
+        for (VehicleImpl vehicle : vehicles) {
+            if (vehicle.getOccupied() instanceof OccupiedNodeImpl<?> && vehicle.hasQueuedMoves()) {
+                // a vehicle on a node either leaves it or executes its arrival action at the next tick
+                return tick;
+            }
+        }
+        // vehicles on edges are filed under the tick at which they leave their edge
+        return Math.max(tick, edgeExits.getNextDueTick());
+    }
+
+    @Override
+    public boolean isIdle() {
+        if (!vehiclesToSpawn.isEmpty() || edgeExits.size() > 0) {
+            return false;
+        }
+        for (VehicleImpl vehicle : vehicles) {
+            if (vehicle.hasQueuedMoves() || !vehicle.getOrders().isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public void reset() {
         for (AbstractOccupied<?> occupied : getAllOccupied()) {
             occupied.reset();
@@ -220,6 +511,199 @@ class VehicleManagerImpl implements VehicleManager {
             .toList());
 
         vehicles.clear();
+        edgeExits.clear();
+    }
+
+    /**
+     * {@inheritDoc}<p>
+     *
+     * Occupied components are written as their indices in the {@link CompactGraph}. The order in which the vehicles were
+     * spawned is kept, as well as the order of the vehicles that have not been spawned yet.
+     */
+    @Override
+    public void writeCheckpoint(SimulationCheckpoint.Writer writer) {
+        List<VehicleImpl> allVehicles = getVehiclesById();
+        writer.writeInt(allVehicles.size());
+        for (VehicleImpl vehicle : allVehicles) {
+            AbstractOccupied<?> occupied = (AbstractOccupied<?>) vehicle.getOccupied();
+            writer.writeInt(indexOf(occupied));
+            // vehicles that have not been spawned yet are not part of their restaurant
+            AbstractOccupied.VehicleStats stats = occupied.vehicles.get(vehicle);
+            writer.writeBoolean(stats != null);
+            if (stats != null) {
+                writer.writeLong(stats.arrived);
+                writer.writeInt(indexOf(stats.previous));
+            }
+            vehicle.writeCheckpoint(writer);
+        }
+        for (List<VehicleImpl> list : List.of(vehicles, vehiclesToSpawn)) {
+            writer.writeInt(list.size());
+            for (VehicleImpl vehicle : list) {
+                writer.writeInt(vehicle.getId());
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}<p>
+     *
+     * Events that have been posted but not popped yet are discarded, as well as the entries of the log of the
+     * {@link EventBus} from the restored tick on.
+     */
+    @Override
+    public void readCheckpoint(SimulationCheckpoint.Reader reader) {
+        List<VehicleImpl> allVehicles = getVehiclesById();
+        if (reader.readInt() != allVehicles.size()) {
+            throw new IllegalStateException("The checkpoint was created with another amount of vehicles");
+        }
+        for (AbstractOccupied<?> occupied : getAllOccupied()) {
+            occupied.reset();
+        }
+        edgeExits.clear();
+        for (VehicleImpl vehicle : allVehicles) {
+            AbstractOccupied<?> occupied = getOccupiedByIndex(reader.readInt());
+            vehicle.setOccupied(occupied);
+            if (reader.readBoolean()) {
+                long arrived = reader.readLong();
+                occupied.vehicles.put(vehicle, new AbstractOccupied.VehicleStats(arrived, getOccupiedByIndex(reader.readInt())));
+                if (occupied instanceof OccupiedEdgeImpl occupiedEdge) {
+                    edgeExits.schedule(vehicle, arrived + occupiedEdge.getComponent().getDuration());
+                }
+            }
+            vehicle.readCheckpoint(reader);
+        }
+        for (List<VehicleImpl> list : List.of(vehicles, vehiclesToSpawn)) {
+            list.clear();
+            int count = reader.readInt();
+            for (int i = 0; i < count; i++) {
+                list.add(allVehicles.get(reader.readInt()));
+            }
+        }
+        eventBus.clear();
+        eventBus.truncateLog(reader.getTick());
+    }
+
+    /**
+     * Returns all vehicles sorted by their ids, which are their indices.
+     */
+    private List<VehicleImpl> getVehiclesById() {
+        List<VehicleImpl> allVehicles = new ArrayList<>(vehicles);
+        allVehicles.addAll(vehiclesToSpawn);
+        allVehicles.sort(Comparator.comparingInt(VehicleImpl::getId));
+        return allVehicles;
+    }
+
+    /**
+     * Returns the index of the given occupied component in the {@link CompactGraph}. Edges are mapped to negative
+     * indices below -1, so that they can be told apart from nodes, and {@code null} is mapped to -1.
+     */
+    private int indexOf(VehicleManager.@Nullable Occupied<?> occupied) {
+        if (occupied == null) {
+            return -1;
+        }
+        if (occupied.getComponent() instanceof Region.Edge edge) {
+            return -2 - getCompactGraph().indexOf(edge);
+        }
+        return getCompactGraph().indexOf((Region.Node) occupied.getComponent());
+    }
+
+    private @Nullable AbstractOccupied<?> getOccupiedByIndex(int index) {
+        if (index == -1) {
+            return null;
+        }
+        return index < -1 ? getOccupiedEdge(-2 - index) : getOccupiedNode(index);
+    }
+
+    @Override
+    public VehicleManager copy() {
+        VehicleManagerImpl copy = new VehicleManagerImpl(region, pathCalculator);
+        List<Vehicle> allVehicles = new ArrayList<>(getAllVehicles());
+        // the ids of the vehicles are their indices
+        allVehicles.sort(Comparator.comparingInt(Vehicle::getId));
+        for (Vehicle vehicle : allVehicles) {
+            copy.addVehicle(vehicle.getStartingNode().getComponent().getLocation(), vehicle.getCapacity());
+        }
+        return copy;
+    }
+
+    @Override
+    public VehicleManager fork() {
+        VehicleManagerImpl fork = new VehicleManagerImpl(this);
+        List<VehicleImpl> allVehicles = getVehiclesById();
+        List<VehicleImpl> forkedVehicles = new ArrayList<>(allVehicles.size());
+        fork.edgeExits.clear(edgeExits.getCurrentTick());
+        // a fork of a fork copies the copies, so that the orders of the origin are mapped to the new copies as well
+        forkedOrders.forEach((order, copy) -> fork.forkedOrders.put(order, fork.getForkedOrder(copy)));
+        for (VehicleImpl vehicle : allVehicles) {
+            VehicleImpl forkedVehicle = vehicle.fork(fork);
+            forkedVehicles.add(forkedVehicle);
+            AbstractOccupied<?> occupied = (AbstractOccupied<?>) vehicle.getOccupied();
+            AbstractOccupied.VehicleStats stats = occupied.vehicles.get(vehicle);
+            if (stats != null) {
+                AbstractOccupied<?> forkedOccupied = fork.getForkedOccupied(occupied);
+                forkedOccupied.vehicles.put(forkedVehicle, new AbstractOccupied.VehicleStats(
+                    stats.arrived,
+                    stats.previous == null ? null : fork.getForkedOccupied((AbstractOccupied<?>) stats.previous)
+                ));
+                if (forkedOccupied instanceof OccupiedEdgeImpl occupiedEdge) {
+                    fork.edgeExits.schedule(forkedVehicle, stats.arrived + occupiedEdge.getComponent().getDuration());
+                }
+            }
+        }
+        for (VehicleImpl vehicle : vehicles) {
+            fork.vehicles.add(forkedVehicles.get(vehicle.getId()));
+        }
+        for (VehicleImpl vehicle : vehiclesToSpawn) {
+            fork.vehiclesToSpawn.add(forkedVehicles.get(vehicle.getId()));
+        }
+        return fork;
+    }
+
+    /**
+     * Returns the {@link TimingWheel} of the {@link Vehicle}s on edges, filed under the tick at which they leave their
+     * edge.
+     * @return The {@link TimingWheel} of the {@link Vehicle}s on edges.
+     */
+    TimingWheel<VehicleImpl> getEdgeExits() {
+        return edgeExits;
+    }
+
+    /**
+     * Returns whether this {@link VehicleManagerImpl} was created by {@link #fork()}.
+     * @return {@code true} if this {@link VehicleManagerImpl} is a fork.
+     */
+    boolean isFork() {
+        return origin != null;
+    }
+
+    /**
+     * Returns the {@link ConfirmedOrder} this {@link VehicleManagerImpl} uses for the given one. A fork replaces every
+     * {@link ConfirmedOrder} of its origin by a copy with the same ID, which is created on the first call, so that it
+     * never changes an order of its origin. Other {@link VehicleManagerImpl}s use the given {@link ConfirmedOrder}.
+     * @param order The {@link ConfirmedOrder} to look up.
+     * @return The {@link ConfirmedOrder} to use.
+     */
+    ConfirmedOrder getForkedOrder(ConfirmedOrder order) {
+        if (origin == null) {
+            return order;
+        }
+        ConfirmedOrder copy = forkedOrders.get(order);
+        if (copy == null) {
+            copy = new ConfirmedOrder(order);
+            forkedOrders.put(order, copy);
+            forkedOrders.put(copy, copy);
+        }
+        return copy;
+    }
+
+    /**
+     * Returns the occupied component of this {@link VehicleManagerImpl} that corresponds to the given occupied component
+     * of another {@link VehicleManagerImpl} with the same {@link CompactGraph}.
+     * @param occupied The occupied component of the other {@link VehicleManagerImpl}.
+     * @return The corresponding occupied component of this {@link VehicleManagerImpl}.
+     */
+    AbstractOccupied<?> getForkedOccupied(AbstractOccupied<?> occupied) {
+        return occupied instanceof OccupiedEdgeImpl ? getOccupiedEdge(occupied.index) : getOccupiedNode(occupied.index);
     }
 
     @SuppressWarnings("UnusedReturnValue")
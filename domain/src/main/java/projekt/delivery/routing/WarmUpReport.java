@@ -0,0 +1,30 @@
+package projekt.delivery.routing;
+
+/**
+ * The result of warming up the {@link PathCalculator} of a {@link VehicleManager} while it is built.
+ *
+ * @param treeCount The amount of {@link ShortestPathTree}s that were calculated.
+ * @param residentTreeCount The amount of {@link ShortestPathTree}s that are cached after the warm-up. Since the cache is
+ *                          split into segments by the hash of the end node, a segment may evict trees before the whole
+ *                          cache is full, so this can be smaller than {@code treeCount}.
+ * @param nanos The time the warm-up took in nanoseconds, including the preprocessing of the {@link PathCalculator}.
+ * @param estimatedBytes An estimate of the memory retained by the cached {@link ShortestPathTree}s in bytes, which only
+ *                       counts the arrays of the trees and not the object headers.
+ * @see VehicleManager.Builder#warmUp(java.util.concurrent.ForkJoinPool, java.util.function.Consumer)
+ */
+public record WarmUpReport(int treeCount, int residentTreeCount, long nanos, long estimatedBytes) {
+
+    /**
+     * Returns the time the warm-up took in milliseconds.
+     * @return The time the warm-up took in milliseconds.
+     */
+    public double millis() {
+        return nanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return "Warmed up %d shortest path trees in %.1f ms, %d cached (~%.1f MiB)"
+            .formatted(treeCount, millis(), residentTreeCount, estimatedBytes / (1024.0 * 1024.0));
+    }
+}
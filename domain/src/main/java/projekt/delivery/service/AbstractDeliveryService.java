@@ -4,6 +4,7 @@ import projekt.delivery.event.Event;
 import projekt.delivery.event.OrderReceivedEvent;
 import projekt.delivery.routing.ConfirmedOrder;
 import projekt.delivery.routing.VehicleManager;
+import projekt.delivery.simulation.SimulationCheckpoint;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -47,6 +48,29 @@ public abstract class AbstractDeliveryService implements DeliveryService {
         return tick(currentTick, newOrders);
     }
 
+    @Override
+    public long getNextEventTick(long tick) {
+        synchronized (lock) {
+            if (!unprocessedOrders.isEmpty()) {
+                return tick;
+            }
+        }
+        return getNextScheduledTick(tick);
+    }
+
+    /**
+     * Returns the first tick that is not before the given tick at which {@link #tick(long, List)} may do anything
+     * without receiving new orders. It is called by {@link #getNextEventTick(long)} if there are no unprocessed orders.<p>
+     *
+     * The default implementation returns the given tick. Services that only react to the {@link Event}s of the
+     * {@link VehicleManager} and to new orders can return {@link VehicleManager#getNextEventTick(long)} instead.
+     * @param tick The first tick to consider.
+     * @return The first tick at which something may happen or {@link Long#MAX_VALUE} if this service is idle.
+     */
+    protected long getNextScheduledTick(long tick) {
+        return tick;
+    }
+
     @Override
     public VehicleManager getVehicleManager() {
         return vehicleManager;
@@ -58,6 +82,29 @@ public abstract class AbstractDeliveryService implements DeliveryService {
         vehicleManager.reset();
     }
 
+    /**
+     * {@inheritDoc}<p>
+     *
+     * The unprocessed orders and the state of the {@link VehicleManager} are written. Services with further state have to
+     * override this method and {@link #readCheckpoint} to write it after calling the super method.
+     */
+    @Override
+    public void writeCheckpoint(SimulationCheckpoint.Writer writer) {
+        synchronized (lock) {
+            writer.writeOrders(unprocessedOrders);
+        }
+        vehicleManager.writeCheckpoint(writer);
+    }
+
+    @Override
+    public void readCheckpoint(SimulationCheckpoint.Reader reader) {
+        List<ConfirmedOrder> orders = reader.readOrders();
+        synchronized (lock) {
+            unprocessedOrders = orders;
+        }
+        vehicleManager.readCheckpoint(reader);
+    }
+
     /**
      * Executes the current tick.
      * @param currentTick The tick to execute.
@@ -2,10 +2,13 @@ package projekt.delivery.service;
 
 import projekt.delivery.event.ArrivedAtNeighborhoodEvent;
 import projekt.delivery.event.Event;
+import org.jetbrains.annotations.Nullable;
 import projekt.delivery.routing.ConfirmedOrder;
+import projekt.delivery.routing.DistanceTable;
 import projekt.delivery.routing.Region;
 import projekt.delivery.routing.Vehicle;
 import projekt.delivery.routing.VehicleManager;
+import projekt.delivery.simulation.SimulationCheckpoint;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -15,12 +18,17 @@ import java.util.Map;
 import static org.tudalgo.algoutils.student.Student.crash;
 
 /**
- * A very simple delivery service that distributes orders to compatible vehicles in a FIFO manner.
+ * A very simple delivery service that distributes orders to compatible vehicles in a FIFO manner.<p>
+ *
+ * A loaded vehicle visits the neighborhoods of its orders in nearest neighbor order, i.e. it always drives to the
+ * neighborhood that is the closest to its last stop. The travel times are looked up in a {@link DistanceTable}, which is
+ * created when the first tour is planned.
  */
 public class BasicDeliveryService extends AbstractDeliveryService {
 
     // List of orders that have not yet been loaded onto delivery vehicles
     protected final List<ConfirmedOrder> pendingOrders = new ArrayList<>();
+    private @Nullable DistanceTable distanceTable;
 
     public BasicDeliveryService(
         VehicleManager vehicleManager
@@ -53,13 +61,13 @@ public class BasicDeliveryService extends AbstractDeliveryService {
             if (!(vehicle.getOccupied() instanceof VehicleManager.OccupiedRestaurant) || vehicle.getOrders().size() < 1)
                 continue;
             //eine Liste aller Ziellocations anlegen
-            List<VehicleManager.OccupiedNeighborhood> destinations = vehicle.getOrders().stream()
-                .map(o -> vehicleManager.getOccupiedNeighborhood(vehicleManager.getRegion().getNode(o.getLocation()))).distinct().toList();
+            List<VehicleManager.OccupiedNeighborhood> destinations = sortByTravelTime((Region.Node) vehicle.getOccupied().getComponent(),
+                vehicle.getOrders().stream()
+                    .map(o -> vehicleManager.getOccupiedNeighborhood(vehicleManager.getRegion().getNode(o.getLocation()))).distinct().toList());
 
             //Für jeder Ziellocation alle Orders an die Location auf das Vehicel packen und später delivern
             for (VehicleManager.OccupiedNeighborhood destination : destinations){
                 List<ConfirmedOrder> list = vehicle.getOrders().stream().filter(o -> o.getLocation() == destination.getComponent().getLocation()).toList();
-                System.out.println(destination.getComponent().getName());
                 vehicle.moveQueued(destination.getComponent(),
                     (v, t) -> list.forEach(conOrder -> destination.deliverOrder(v, conOrder, t)));
             }
@@ -72,6 +80,54 @@ public class BasicDeliveryService extends AbstractDeliveryService {
         return  eventsOfTick;
     }
 
+    /**
+     * Sorts the given destinations into nearest neighbor order, starting at the given node. Destinations with the same
+     * travel time keep their order.
+     * @param start The {@link Region.Node} the tour starts at.
+     * @param destinations The destinations to sort.
+     * @return A new {@link List} containing the given destinations in the order they should be visited.
+     */
+    private List<VehicleManager.OccupiedNeighborhood> sortByTravelTime(
+        Region.Node start,
+        List<VehicleManager.OccupiedNeighborhood> destinations
+    ) {
+        if (destinations.size() < 2) {
+            return destinations;
+        }
+        if (distanceTable == null) {
+            distanceTable = new DistanceTable(vehicleManager);
+        }
+        List<VehicleManager.OccupiedNeighborhood> remaining = new ArrayList<>(destinations);
+        List<VehicleManager.OccupiedNeighborhood> sorted = new ArrayList<>(destinations.size());
+        Region.Node current = start;
+        while (!remaining.isEmpty()) {
+            int nearest = 0;
+            long nearestDuration = Long.MAX_VALUE;
+            for (int i = 0; i < remaining.size(); i++) {
+                long duration = distanceTable.getDuration(current, distanceTable.neighborhoodIndexOf(remaining.get(i).getComponent()));
+                if (duration < nearestDuration) {
+                    nearest = i;
+                    nearestDuration = duration;
+                }
+            }
+            VehicleManager.OccupiedNeighborhood next = remaining.remove(nearest);
+            sorted.add(next);
+            current = next.getComponent();
+        }
+        return sorted;
+    }
+
+    /**
+     * {@inheritDoc}<p>
+     *
+     * Pending orders that could not be loaded at the last tick can only be loaded after a vehicle arrived at their
+     * restaurant, so nothing happens until the {@link VehicleManager} has something to do.
+     */
+    @Override
+    protected long getNextScheduledTick(long tick) {
+        return vehicleManager.getNextEventTick(tick);
+    }
+
     @Override
     public List<ConfirmedOrder> getPendingOrders() {
         return pendingOrders;
@@ -83,6 +139,19 @@ public class BasicDeliveryService extends AbstractDeliveryService {
         pendingOrders.clear();
     }
 
+    @Override
+    public void writeCheckpoint(SimulationCheckpoint.Writer writer) {
+        super.writeCheckpoint(writer);
+        writer.writeOrders(pendingOrders);
+    }
+
+    @Override
+    public void readCheckpoint(SimulationCheckpoint.Reader reader) {
+        super.readCheckpoint(reader);
+        pendingOrders.clear();
+        pendingOrders.addAll(reader.readOrders());
+    }
+
     public interface Factory extends DeliveryService.Factory {
 
         BasicDeliveryService create(VehicleManager vehicleManager);
@@ -5,6 +5,7 @@ import projekt.delivery.routing.ConfirmedOrder;
 import projekt.delivery.routing.Region;
 import projekt.delivery.routing.Vehicle;
 import projekt.delivery.routing.VehicleManager;
+import projekt.delivery.simulation.SimulationCheckpoint;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -15,7 +16,7 @@ public class BogoDeliveryService extends AbstractDeliveryService {
     // List of orders that have not yet been loaded onto delivery vehicles
     protected final List<ConfirmedOrder> pendingOrders = new ArrayList<>();
     // List of orders that have not yet been loaded onto delivery vehicles
-    private final Random random = new Random(42);
+    private Random random = new Random(42);
     private final List<? extends Region.Node> nodes;
     private final List<Class<? extends Event>> skipInFirstStep = List.of(
         ArrivedAtRestaurantEvent.class,
@@ -85,6 +86,17 @@ public class BogoDeliveryService extends AbstractDeliveryService {
         vehicle.moveDirect(node);
     }
 
+    /**
+     * {@inheritDoc}<p>
+     *
+     * Vehicles only receive new moves and orders when the {@link VehicleManager} posts an {@link Event}, so nothing
+     * happens until the {@link VehicleManager} has something to do.
+     */
+    @Override
+    protected long getNextScheduledTick(long tick) {
+        return vehicleManager.getNextEventTick(tick);
+    }
+
     @Override
     public List<ConfirmedOrder> getPendingOrders() {
         return pendingOrders;
@@ -96,6 +108,21 @@ public class BogoDeliveryService extends AbstractDeliveryService {
         pendingOrders.clear();
     }
 
+    @Override
+    public void writeCheckpoint(SimulationCheckpoint.Writer writer) {
+        super.writeCheckpoint(writer);
+        writer.writeOrders(pendingOrders);
+        writer.writeRandom(random);
+    }
+
+    @Override
+    public void readCheckpoint(SimulationCheckpoint.Reader reader) {
+        super.readCheckpoint(reader);
+        pendingOrders.clear();
+        pendingOrders.addAll(reader.readOrders());
+        random = reader.readRandom();
+    }
+
     public interface Factory extends DeliveryService.Factory {
 
         BogoDeliveryService create(VehicleManager vehicleManager);
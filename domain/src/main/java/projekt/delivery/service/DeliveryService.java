@@ -4,13 +4,14 @@ import projekt.delivery.event.Event;
 import projekt.delivery.routing.ConfirmedOrder;
 import projekt.delivery.routing.Vehicle;
 import projekt.delivery.routing.VehicleManager;
+import projekt.delivery.simulation.Checkpointable;
 
 import java.util.List;
 
 /**
  * Manages all incoming {@link ConfirmedOrder}s and assigns task to the {@link Vehicle}s of the underlying {@link VehicleManager}.
  */
-public interface DeliveryService {
+public interface DeliveryService extends Checkpointable {
 
     BasicDeliveryService.Factory BASIC = BasicDeliveryService::new;
     BogoDeliveryService.Factory BOGO = BogoDeliveryService::new;
@@ -30,6 +31,34 @@ public interface DeliveryService {
      */
     List<Event> tick(long currentTick);
 
+    /**
+     * Returns the first tick that is not before the given tick at which {@link #tick(long)} may change the state of
+     * this {@link DeliveryService} or return any {@link Event}, provided that no new orders are delivered in the meantime.
+     * This allows a {@link projekt.delivery.simulation.Simulation} to skip the ticks in between.<p>
+     *
+     * The default implementation returns the given tick, i.e. something may happen at every tick.
+     * @param tick the first tick to consider.
+     * @return The first tick at which something may happen or {@link Long#MAX_VALUE} if this {@link DeliveryService} is idle.
+     */
+    default long getNextEventTick(long tick) {
+        return tick;
+    }
+
+    /**
+     * Returns whether this {@link DeliveryService} has reached a final state at the given tick, i.e. {@link #tick(long)}
+     * will neither change its state nor return any {@link Event} as long as no new orders are delivered.<p>
+     *
+     * The default implementation requires that there are no pending orders, that {@link #getNextEventTick(long)} returns
+     * {@link Long#MAX_VALUE} and that the {@link VehicleManager} {@linkplain VehicleManager#isIdle() is idle}.
+     * @param tick The current tick.
+     * @return {@code true} if nothing will happen without new orders.
+     */
+    default boolean isQuiescent(long tick) {
+        return getPendingOrders().isEmpty()
+            && getNextEventTick(tick) == Long.MAX_VALUE
+            && getVehicleManager().isIdle();
+    }
+
     /**
      * Returns the underlying {@link VehicleManager}.
      * @return The underlying {@link VehicleManager}.
@@ -3,6 +3,7 @@ package projekt.delivery.service;
 import projekt.delivery.event.Event;
 import projekt.delivery.routing.ConfirmedOrder;
 import projekt.delivery.routing.VehicleManager;
+import projekt.delivery.simulation.SimulationCheckpoint;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -34,6 +35,19 @@ public class OurDeliveryService extends AbstractDeliveryService {
         pendingOrders.clear();
     }
 
+    @Override
+    public void writeCheckpoint(SimulationCheckpoint.Writer writer) {
+        super.writeCheckpoint(writer);
+        writer.writeOrders(pendingOrders);
+    }
+
+    @Override
+    public void readCheckpoint(SimulationCheckpoint.Reader reader) {
+        super.readCheckpoint(reader);
+        pendingOrders.clear();
+        pendingOrders.addAll(reader.readOrders());
+    }
+
     public interface Factory extends DeliveryService.Factory {
 
         OurDeliveryService create(VehicleManager vehicleManager);
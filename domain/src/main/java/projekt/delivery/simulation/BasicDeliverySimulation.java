@@ -1,12 +1,15 @@
 package projekt.delivery.simulation;
 
+import org.jetbrains.annotations.Nullable;
 import projekt.delivery.event.Event;
 import projekt.delivery.generator.OrderGenerator;
 import projekt.delivery.rating.Rater;
 import projekt.delivery.rating.RatingCriteria;
+import projekt.delivery.routing.ConfirmedOrder;
 import projekt.delivery.service.DeliveryService;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 public class BasicDeliverySimulation implements Simulation {
 
@@ -23,6 +26,11 @@ public class BasicDeliverySimulation implements Simulation {
     protected List<Event> lastEvents;
     protected boolean isRunning = false;
     private SimulationListener endSimulationListener;
+    private TickScheduler tickScheduler;
+    private boolean notifying = false;
+    private final Queue<Runnable> afterTickActions = new ConcurrentLinkedQueue<>();
+    private boolean recording = false;
+    private @Nullable SimulationRecording.Recorder recorder;
 
     /**
      * Creates a new {@link BasicDeliverySimulation} instance.
@@ -45,39 +53,68 @@ public class BasicDeliverySimulation implements Simulation {
     @Override
     public void runSimulation() {
         setupNewSimulation();
+        runTicks();
+    }
+
+    /**
+     * Continues the simulation from the current tick instead of starting over, e.g. after a {@link SimulationCheckpoint}
+     * was {@linkplain #restore(SimulationCheckpoint) restored}. Like {@link #runSimulation(long)}, this method blocks the
+     * current thread until the simulation is terminated.
+     * @param simulationLength The tick at which the simulation is terminated automatically or -1 to run until
+     *                         {@link #endSimulation()} is called.
+     */
+    public void resumeSimulation(long simulationLength) {
+        if (currentOrderGenerator == null) {
+            setupNewSimulation();
+        }
+        this.simulationLength = simulationLength;
+        terminationRequested = false;
+        runTicks();
+    }
+
+    private void runTicks() {
         isRunning = true;
+        tickScheduler = new TickScheduler(simulationConfig);
 
         while (!terminationRequested && (simulationLength == -1 || currentTick < simulationLength)) {
             if (simulationConfig.isPaused()) {
                 try {
-                    //noinspection BusyWait
-                    Thread.sleep(50);
+                    simulationConfig.awaitUnpaused(() -> terminationRequested);
                 } catch (InterruptedException e) {
-                    e.printStackTrace();
+                    Thread.currentThread().interrupt();
+                    break;
                 }
+                // the time spent paused must not be caught up
+                tickScheduler.restart();
+                continue;
+            }
+            if (simulationConfig.isUnthrottled()) {
+                runCurrentTick();
+                skipQuiescentTicks();
+                tickScheduler.restart();
                 continue;
             }
-            long tickStartTime = System.currentTimeMillis();
 
             runCurrentTick();
+            if (skipQuiescentTicks()) {
+                break;
+            }
 
             // Wait till next tick is due.
-            long executionTime = System.currentTimeMillis() - tickStartTime;
-            long millisTillNextTick = simulationConfig.getMillisecondsPerTick() - executionTime;
-            if (millisTillNextTick < 0) {
-                System.out.println("\033[0;33m"); //make text yellow
-                System.out.println("WARNING: Can't keep up! Did the system time change, or is the server overloaded?");
-                System.out.println("\033[0m"); // reset text color
-            } else {
-                try {
-                    //noinspection BusyWait
-                    Thread.sleep(millisTillNextTick);
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                }
+            tickScheduler.awaitNextTick();
+            if (Thread.currentThread().isInterrupted()) {
+                break;
             }
         }
 
+        for (SimulationListener listener : listeners) {
+            if (listener instanceof CoalescingSimulationListener coalescingListener) {
+                coalescingListener.flush(currentTick - 1);
+            }
+        }
+        if (recorder != null) {
+            recorder.setLength(currentTick);
+        }
         simulationLength = -1;
         isRunning = false;
     }
@@ -91,6 +128,8 @@ public class BasicDeliverySimulation implements Simulation {
     @Override
     public void endSimulation() {
         terminationRequested = true;
+        // a paused simulation has to notice the termination
+        simulationConfig.wakeUp();
     }
 
     @Override
@@ -118,6 +157,15 @@ public class BasicDeliverySimulation implements Simulation {
         return simulationConfig;
     }
 
+    /**
+     * Returns the {@link TickScheduler} of the current or last simulation run, which contains the statistics about ticks
+     * that overran their deadlines.
+     * @return The {@link TickScheduler} of the current or last simulation run or {@code null} if no run was started yet.
+     */
+    public TickScheduler getTickScheduler() {
+        return tickScheduler;
+    }
+
     @Override
     public long getCurrentTick() {
         return currentTick;
@@ -125,14 +173,161 @@ public class BasicDeliverySimulation implements Simulation {
 
     @Override
     public void runCurrentTick() {
-        getDeliveryService().deliver(currentOrderGenerator.generateOrders(getCurrentTick()));
+        List<ConfirmedOrder> newOrders = currentOrderGenerator.generateOrders(getCurrentTick());
+        if (recorder != null) {
+            recorder.startTick(getCurrentTick(), newOrders);
+        }
+        getDeliveryService().deliver(newOrders);
         lastEvents = Collections.unmodifiableList(deliveryService.tick(getCurrentTick()));
 
-        for (SimulationListener listener : listeners) {
-            listener.onTick(lastEvents, getCurrentTick());
+        notifying = true;
+        try {
+            for (SimulationListener listener : listeners) {
+                listener.onTick(lastEvents, getCurrentTick());
+            }
+        } finally {
+            notifying = false;
         }
 
         currentTick++;
+
+        Runnable action;
+        while ((action = afterTickActions.poll()) != null) {
+            action.run();
+        }
+    }
+
+    /**
+     * Returns whether this {@link Simulation} has reached a final state, i.e. the {@link OrderGenerator} will not
+     * generate any more orders and the {@link DeliveryService} {@linkplain DeliveryService#isQuiescent(long) is quiescent}.
+     * All following ticks would be executed without any {@link Event}.
+     * @return {@code true} if nothing will happen in this {@link Simulation} anymore.
+     */
+    public boolean isQuiescent() {
+        return currentOrderGenerator.getNextOrderTick(currentTick) == Long.MAX_VALUE
+            && deliveryService.isQuiescent(currentTick);
+    }
+
+    /**
+     * Skips the remaining ticks of a simulation with a fixed length once it is quiescent. The {@link SimulationListener}s
+     * are notified about the skipped ticks by {@link SimulationListener#onIdleTicks(long, long)}, which {@link Rater}s
+     * handle without per-tick work.
+     * @return {@code true} if the remaining ticks were skipped.
+     */
+    private boolean skipQuiescentTicks() {
+        if (simulationLength == -1 || currentTick >= simulationLength || !isQuiescent()) {
+            return false;
+        }
+        for (SimulationListener listener : listeners) {
+            listener.onIdleTicks(currentTick, simulationLength);
+        }
+        currentTick = simulationLength;
+        return true;
+    }
+
+    /**
+     * Creates a {@link SimulationCheckpoint} of the current state of this {@link Simulation}, which contains the current
+     * tick and the state of the {@link OrderGenerator}, the {@link DeliveryService} including its
+     * {@link projekt.delivery.routing.VehicleManager} and the {@link Rater}s.<p>
+     *
+     * This method must not be called while a tick is executed, since the state would be incomplete. It can be called while
+     * the simulation is paused or not running, and by an action passed to {@link #runAfterTick(Runnable)}, but not by a
+     * {@link SimulationListener} directly.
+     * @return The created {@link SimulationCheckpoint}.
+     * @throws IllegalStateException If the simulation has not been started yet or the listeners are being notified.
+     */
+    public SimulationCheckpoint checkpoint() {
+        if (currentOrderGenerator == null) {
+            throw new IllegalStateException("The simulation has not been started yet");
+        }
+        checkNotNotifying();
+        SimulationCheckpoint.Writer writer = new SimulationCheckpoint.Writer();
+        writer.writeReference(currentOrderGenerator);
+        currentOrderGenerator.writeCheckpoint(writer);
+        deliveryService.writeCheckpoint(writer);
+        for (RatingCriteria criterion : RatingCriteria.values()) {
+            if (currentRaterMap.containsKey(criterion)) {
+                currentRaterMap.get(criterion).writeCheckpoint(writer);
+            }
+        }
+        return writer.toCheckpoint(this, currentTick);
+    }
+
+    /**
+     * Restores the state of this {@link Simulation} from the given {@link SimulationCheckpoint}. A running simulation
+     * continues with the tick of the checkpoint, a simulation that is not running can be continued by
+     * {@link #resumeSimulation(long)}.<p>
+     *
+     * Like {@link #checkpoint()}, this method must not be called while a tick is executed. The {@link SimulationListener}s
+     * that are not {@link Rater}s are not restored. A {@linkplain #getRecording() recording} of the current run is
+     * discarded, since it cannot go back in time.
+     * @param checkpoint The {@link SimulationCheckpoint} to restore.
+     * @throws IllegalArgumentException If the checkpoint was created by another {@link Simulation}.
+     * @throws IllegalStateException If the listeners are being notified.
+     */
+    public void restore(SimulationCheckpoint checkpoint) {
+        if (checkpoint.getSimulation() != this) {
+            throw new IllegalArgumentException("The checkpoint was created by another simulation");
+        }
+        checkNotNotifying();
+        if (currentOrderGenerator == null) {
+            setupNewSimulation();
+        }
+        stopRecorder();
+        SimulationCheckpoint.Reader reader = checkpoint.reader();
+        currentOrderGenerator = reader.readReference(OrderGenerator.class);
+        currentOrderGenerator.readCheckpoint(reader);
+        deliveryService.readCheckpoint(reader);
+        for (RatingCriteria criterion : RatingCriteria.values()) {
+            if (currentRaterMap.containsKey(criterion)) {
+                currentRaterMap.get(criterion).readCheckpoint(reader);
+            }
+        }
+        currentTick = checkpoint.getTick();
+        lastEvents = new ArrayList<>();
+    }
+
+    /**
+     * Runs the given action on the thread that runs the simulation, after the current tick has been executed and all
+     * {@link SimulationListener}s have been notified. This allows {@link SimulationListener}s and other threads to
+     * create or restore {@link SimulationCheckpoint}s between two ticks. Actions passed while the simulation is not
+     * running are run after the next executed tick.
+     * @param action The action to run.
+     */
+    public void runAfterTick(Runnable action) {
+        afterTickActions.add(action);
+    }
+
+    /**
+     * Sets whether the following simulation runs are recorded. A recording contains the generated orders and the
+     * decisions of the {@link DeliveryService}, so the run can be replayed without them, see {@link SimulationRecording}.
+     * Recording requires a {@link projekt.delivery.routing.VehicleManager} that supports a
+     * {@link projekt.delivery.routing.DispatchListener}.
+     * @param recording Whether the following simulation runs are recorded.
+     */
+    public void setRecording(boolean recording) {
+        this.recording = recording;
+    }
+
+    /**
+     * Returns the recording of the current or last simulation run.
+     * @return The {@link SimulationRecording} of the current or last run or {@code null} if it was not recorded.
+     */
+    public @Nullable SimulationRecording getRecording() {
+        return recorder == null ? null : recorder.getRecording();
+    }
+
+    private void stopRecorder() {
+        if (recorder != null) {
+            deliveryService.getVehicleManager().setDispatchListener(null);
+            recorder = null;
+        }
+    }
+
+    private void checkNotNotifying() {
+        if (notifying) {
+            throw new IllegalStateException("The state must not be accessed while the listeners are notified, use runAfterTick instead");
+        }
     }
 
     @Override
@@ -150,6 +345,14 @@ public class BasicDeliverySimulation implements Simulation {
         return deliveryService;
     }
 
+    /**
+     * Returns the {@link OrderGenerator} of the current simulation run.
+     * @return The {@link OrderGenerator} of the current simulation run.
+     */
+    protected OrderGenerator getOrderGenerator() {
+        return currentOrderGenerator;
+    }
+
     private void setupNewSimulation() {
         currentTick = 0;
         terminationRequested = false;
@@ -158,6 +361,11 @@ public class BasicDeliverySimulation implements Simulation {
         getDeliveryService().reset();
         setupRaters();
         setupOrderGenerator();
+        stopRecorder();
+        if (recording) {
+            recorder = SimulationRecording.record(deliveryService.getVehicleManager());
+            deliveryService.getVehicleManager().setDispatchListener(recorder);
+        }
     }
 
     private void setupRaters() {
@@ -0,0 +1,23 @@
+package projekt.delivery.simulation;
+
+/**
+ * A component of a {@link Simulation} whose state can be written into a {@link SimulationCheckpoint} and read from it
+ * again.<p>
+ *
+ * The state is read in the same order it was written, into the same object or an equivalent object created by the same
+ * factory. Every component of a simulation implements both methods, so a checkpoint can always be created.
+ */
+public interface Checkpointable {
+
+    /**
+     * Writes the current state of this component.
+     * @param writer The {@link SimulationCheckpoint.Writer} to write the state to.
+     */
+    void writeCheckpoint(SimulationCheckpoint.Writer writer);
+
+    /**
+     * Replaces the current state of this component by the state that was written by {@link #writeCheckpoint}.
+     * @param reader The {@link SimulationCheckpoint.Reader} to read the state from.
+     */
+    void readCheckpoint(SimulationCheckpoint.Reader reader);
+}
@@ -0,0 +1,75 @@
+package projekt.delivery.simulation;
+
+import projekt.delivery.event.Event;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link SimulationListener} that notifies another {@link SimulationListener} only every few ticks.<p>
+ *
+ * The {@link Event}s of the ticks in between are collected and passed to the other {@link SimulationListener} together,
+ * so listeners that do expensive work per notification, e.g. redrawing a map, are not slowed down by fast simulations.
+ * Skipped ticks are counted without collecting anything. A {@link BasicDeliverySimulation} passes the remaining
+ * {@link Event}s on by calling {@link #flush(long)} when it ends.
+ */
+public class CoalescingSimulationListener implements SimulationListener {
+
+    private final SimulationListener delegate;
+    private final int ticksPerNotification;
+    private final List<Event> pendingEvents = new ArrayList<>();
+    private long pendingTicks = 0;
+
+    /**
+     * Creates a new {@link CoalescingSimulationListener} instance.
+     * @param delegate The {@link SimulationListener} to notify.
+     * @param ticksPerNotification The amount of ticks that are passed on in a single notification.
+     */
+    public CoalescingSimulationListener(SimulationListener delegate, int ticksPerNotification) {
+        if (ticksPerNotification < 1) {
+            throw new IllegalArgumentException("ticksPerNotification must be positive");
+        }
+        this.delegate = delegate;
+        this.ticksPerNotification = ticksPerNotification;
+    }
+
+    /**
+     * Returns the {@link SimulationListener} that is notified by this {@link CoalescingSimulationListener}.
+     * @return The notified {@link SimulationListener}.
+     */
+    public SimulationListener getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void onTick(List<Event> events, long tick) {
+        pendingEvents.addAll(events);
+        pendingTicks++;
+        if (pendingTicks >= ticksPerNotification) {
+            flush(tick);
+        }
+    }
+
+    @Override
+    public void onIdleTicks(long fromTick, long toTick) {
+        pendingTicks += toTick - fromTick;
+        if (pendingTicks >= ticksPerNotification) {
+            flush(toTick - 1);
+        }
+    }
+
+    /**
+     * Passes all collected {@link Event}s to the notified {@link SimulationListener}, if any tick was collected since the
+     * last notification.
+     * @param tick The last collected tick.
+     */
+    public void flush(long tick) {
+        if (pendingTicks == 0) {
+            return;
+        }
+        List<Event> events = List.copyOf(pendingEvents);
+        pendingEvents.clear();
+        pendingTicks = 0;
+        delegate.onTick(events, tick);
+    }
+}
@@ -0,0 +1,64 @@
+package projekt.delivery.simulation;
+
+import projekt.delivery.generator.OrderGenerator;
+import projekt.delivery.rating.Rater;
+import projekt.delivery.rating.RatingCriteria;
+import projekt.delivery.service.DeliveryService;
+
+import java.util.Map;
+
+/**
+ * A {@link BasicDeliverySimulation} that skips ticks in which nothing can happen.<p>
+ *
+ * After a tick has been executed, the simulation asks the {@link OrderGenerator} for the next tick with new orders and the
+ * {@link DeliveryService} for its next tick with something to do, e.g. a vehicle leaving an edge. The ticks in between
+ * are skipped without being executed or waited for. {@link SimulationListener}s are notified about skipped ticks by
+ * {@link SimulationListener#onIdleTicks(long, long)}, which by default calls {@link SimulationListener#onTick} for every
+ * skipped tick, so they observe the same ticks as with a {@link BasicDeliverySimulation}.<p>
+ *
+ * This pays off in long scenarios with few orders. Components that cannot tell when something will happen fall back to
+ * executing every tick.
+ */
+public class EventDrivenDeliverySimulation extends BasicDeliverySimulation {
+
+    /**
+     * Creates a new {@link EventDrivenDeliverySimulation} instance.
+     *
+     * @param simulationConfig The used {@link SimulationConfig}.
+     * @param raterFactoryMap The {@link Rater.Factory}s that are used to rate this {@link EventDrivenDeliverySimulation} based on the corresponding {@link RatingCriteria}.
+     * @param deliveryService The simulated {@link DeliveryService}.
+     * @param orderGeneratorFactory The {@link OrderGenerator.Factory} used to generate orders during this {@link EventDrivenDeliverySimulation}.
+     */
+    public EventDrivenDeliverySimulation(SimulationConfig simulationConfig,
+                                         Map<RatingCriteria, Rater.Factory> raterFactoryMap,
+                                         DeliveryService deliveryService,
+                                         OrderGenerator.Factory orderGeneratorFactory) {
+        super(simulationConfig, raterFactoryMap, deliveryService, orderGeneratorFactory);
+    }
+
+    /**
+     * Executes the current tick of this {@link Simulation} and skips all following ticks in which nothing can happen.
+     */
+    @Override
+    public void runCurrentTick() {
+        super.runCurrentTick();
+
+        long nextTick = Math.min(
+            getOrderGenerator().getNextOrderTick(currentTick),
+            getDeliveryService().getNextEventTick(currentTick)
+        );
+        if (simulationLength != -1) {
+            nextTick = Math.min(nextTick, simulationLength);
+        } else if (nextTick == Long.MAX_VALUE) {
+            // an unlimited simulation that has nothing left to do keeps running tick by tick until it is ended
+            return;
+        }
+
+        if (nextTick > currentTick) {
+            for (SimulationListener listener : listeners) {
+                listener.onIdleTicks(currentTick, nextTick);
+            }
+            currentTick = nextTick;
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package projekt.delivery.simulation;
+
+import org.jetbrains.annotations.Nullable;
+import projekt.delivery.routing.ConfirmedOrder;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+/**
+ * The state of a {@link Simulation} between two ticks, which can be restored later to continue the simulation from that
+ * tick, e.g. to resume a long simulation or to simulate several alternatives that share the same beginning.<p>
+ *
+ * The numbers that make up the state, like the positions of the vehicles, the remaining nodes of their paths and the
+ * accumulated values of the raters, are stored in a compact binary form. Objects that cannot be stored as numbers, like
+ * the {@link ConfirmedOrder}s and the arrival actions of the vehicles, are stored by reference and are shared with the
+ * {@link Simulation}. Therefore, a {@link SimulationCheckpoint} can only be restored into the {@link Simulation} that
+ * created it, and it cannot be serialized or outlive the process. A run that has to be stored on disk can be written as a
+ * {@link SimulationRecording} instead.
+ */
+public final class SimulationCheckpoint {
+
+    private final Simulation simulation;
+    private final long tick;
+    private final byte[] data;
+    private final Object[] references;
+
+    private SimulationCheckpoint(Simulation simulation, long tick, byte[] data, Object[] references) {
+        this.simulation = simulation;
+        this.tick = tick;
+        this.data = data;
+        this.references = references;
+    }
+
+    /**
+     * Returns the {@link Simulation} this {@link SimulationCheckpoint} was created from.
+     * @return The {@link Simulation} this {@link SimulationCheckpoint} was created from.
+     */
+    public Simulation getSimulation() {
+        return simulation;
+    }
+
+    /**
+     * Returns the tick that is executed next after this {@link SimulationCheckpoint} was restored.
+     * @return The tick that is executed next.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Returns the size of the binary part of this {@link SimulationCheckpoint}.
+     * @return The size in bytes.
+     */
+    public int getSize() {
+        return data.length;
+    }
+
+    /**
+     * Returns the amount of objects this {@link SimulationCheckpoint} refers to.
+     * @return The amount of referenced objects.
+     */
+    public int getReferenceCount() {
+        return references.length;
+    }
+
+    /**
+     * Creates a new {@link Reader} that reads the state from the beginning.
+     * @return The created {@link Reader}.
+     */
+    Reader reader() {
+        return new Reader(this);
+    }
+
+    @Override
+    public String toString() {
+        return "SimulationCheckpoint(tick=%d, size=%d, references=%d)".formatted(tick, data.length, references.length);
+    }
+
+    /**
+     * Collects the state of a {@link Simulation} for a new {@link SimulationCheckpoint}.
+     */
+    public static final class Writer {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private final Map<Object, Integer> referenceIndices = new IdentityHashMap<>();
+        private final List<Object> references = new ArrayList<>();
+
+        Writer() {}
+
+        public void writeBoolean(boolean value) {
+            try {
+                out.writeBoolean(value);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        public void writeInt(int value) {
+            try {
+                out.writeInt(value);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        public void writeLong(long value) {
+            try {
+                out.writeLong(value);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        public void writeDouble(double value) {
+            try {
+                out.writeDouble(value);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Writes a reference to the given object. Every object is stored only once, no matter how often it is written.
+         * @param value The object to refer to.
+         */
+        public void writeReference(@Nullable Object value) {
+            if (value == null) {
+                writeInt(-1);
+                return;
+            }
+            Integer index = referenceIndices.get(value);
+            if (index == null) {
+                index = references.size();
+                referenceIndices.put(value, index);
+                references.add(value);
+            }
+            writeInt(index);
+        }
+
+        /**
+         * Writes the given {@link ConfirmedOrder}s by reference together with their actual delivery ticks.
+         * @param orders The {@link ConfirmedOrder}s to write.
+         */
+        public void writeOrders(Collection<ConfirmedOrder> orders) {
+            writeInt(orders.size());
+            for (ConfirmedOrder order : orders) {
+                writeReference(order);
+                writeLong(order.getActualDeliveryTick());
+            }
+        }
+
+        /**
+         * Writes the state of the given {@link Random}, so that the restored {@link Random} continues with the same
+         * numbers.
+         * @param random The {@link Random} to write.
+         */
+        public void writeRandom(Random random) {
+            ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+            try (ObjectOutputStream objectOut = new ObjectOutputStream(serialized)) {
+                objectOut.writeObject(random);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            writeInt(serialized.size());
+            try {
+                serialized.writeTo(out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        SimulationCheckpoint toCheckpoint(Simulation simulation, long tick) {
+            return new SimulationCheckpoint(simulation, tick, bytes.toByteArray(), references.toArray());
+        }
+    }
+
+    /**
+     * Reads the state of a {@link Simulation} from a {@link SimulationCheckpoint} in the order it was written.
+     */
+    public static final class Reader {
+
+        private final SimulationCheckpoint checkpoint;
+        private final ByteBuffer in;
+
+        private Reader(SimulationCheckpoint checkpoint) {
+            this.checkpoint = checkpoint;
+            this.in = ByteBuffer.wrap(checkpoint.data).asReadOnlyBuffer();
+        }
+
+        /**
+         * Returns the tick that is executed next after the {@link SimulationCheckpoint} was restored.
+         * @return The tick that is executed next.
+         */
+        public long getTick() {
+            return checkpoint.tick;
+        }
+
+        public boolean readBoolean() {
+            return in.get() != 0;
+        }
+
+        public int readInt() {
+            return in.getInt();
+        }
+
+        public long readLong() {
+            return in.getLong();
+        }
+
+        public double readDouble() {
+            return in.getDouble();
+        }
+
+        /**
+         * Reads a reference that was written by {@link Writer#writeReference(Object)}.
+         * @param type The type of the referenced object.
+         * @param <T> The type of the referenced object.
+         * @return The referenced object.
+         * @throws IllegalStateException If the referenced object is not an instance of the given type.
+         */
+        public <T> @Nullable T readReference(Class<T> type) {
+            int index = readInt();
+            if (index == -1) {
+                return null;
+            }
+            Object value = checkpoint.references[index];
+            if (!type.isInstance(value)) {
+                throw new IllegalStateException("Reference %d is not of type %s".formatted(index, type.getName()));
+            }
+            return type.cast(value);
+        }
+
+        /**
+         * Reads {@link ConfirmedOrder}s that were written by {@link Writer#writeOrders(Collection)} and restores their
+         * actual delivery ticks.
+         * @return A new {@link List} containing the {@link ConfirmedOrder}s.
+         */
+        public List<ConfirmedOrder> readOrders() {
+            int count = readInt();
+            List<ConfirmedOrder> orders = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                ConfirmedOrder order = readReference(ConfirmedOrder.class);
+                order.setActualDeliveryTick(readLong());
+                orders.add(order);
+            }
+            return orders;
+        }
+
+        /**
+         * Reads a {@link Random} that was written by {@link Writer#writeRandom(Random)}.
+         * @return A new {@link Random} in the written state.
+         */
+        public Random readRandom() {
+            byte[] serialized = new byte[readInt()];
+            in.get(serialized);
+            try (ObjectInputStream objectIn = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+                return (Random) objectIn.readObject();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -1,15 +1,29 @@
 package projekt.delivery.simulation;
 
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
 
 /**
  * A config for a {@link Simulation}.<p>
  *
- * It contains the length of a tick and whether the {@link Simulation} is paused.
+ * It contains the length of a tick and whether the {@link Simulation} is paused. A length of
+ * {@link #UNTHROTTLED} executes the ticks as fast as possible, without waiting and without any console output, e.g.
+ * for headless batch evaluations.
  */
 public class SimulationConfig {
+
+    /**
+     * The length of a tick that executes the ticks as fast as possible.
+     */
+    public static final int UNTHROTTLED = 0;
+
     private final AtomicInteger millisecondsPerTick;
     private volatile boolean paused = false;
+    private volatile TickScheduler.OverrunPolicy overrunPolicy = TickScheduler.OverrunPolicy.SKIP;
+    private final ReentrantLock pauseLock = new ReentrantLock();
+    private final Condition pauseChanged = pauseLock.newCondition();
 
     /**
      * Creates a new {@link Simulation} instance.<p>
@@ -38,6 +52,30 @@ public class SimulationConfig {
         this.millisecondsPerTick.set(millisecondsPerTick);
     }
 
+    /**
+     * Returns how ticks are scheduled after a tick overran its deadline.
+     * @return The {@link TickScheduler.OverrunPolicy} of this {@link SimulationConfig}.
+     */
+    public TickScheduler.OverrunPolicy getOverrunPolicy() {
+        return overrunPolicy;
+    }
+
+    /**
+     * Sets how ticks are scheduled after a tick overran its deadline. By default, missed deadlines are skipped.
+     * @param overrunPolicy The new {@link TickScheduler.OverrunPolicy}.
+     */
+    public void setOverrunPolicy(TickScheduler.OverrunPolicy overrunPolicy) {
+        this.overrunPolicy = overrunPolicy;
+    }
+
+    /**
+     * Returns True if the ticks are executed as fast as possible.
+     * @return True if the length of a tick is {@link #UNTHROTTLED} or less.
+     */
+    public boolean isUnthrottled() {
+        return getMillisecondsPerTick() <= UNTHROTTLED;
+    }
+
     /**
      * Returns True if the simulation is paused.
      * @return True if the simulation is paused.
@@ -51,6 +89,43 @@ public class SimulationConfig {
      * @param paused The new paused status.
      */
     public void setPaused(boolean paused) {
-        this.paused = paused;
+        pauseLock.lock();
+        try {
+            this.paused = paused;
+            pauseChanged.signalAll();
+        } finally {
+            pauseLock.unlock();
+        }
+    }
+
+    /**
+     * Blocks the current thread while this {@link SimulationConfig} is paused. The thread is parked until the pause
+     * ends, so it does not use any CPU time while waiting.
+     * @param cancelled Checked whenever the thread wakes up; waiting ends early once it returns True.
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     * @see #wakeUp()
+     */
+    public void awaitUnpaused(BooleanSupplier cancelled) throws InterruptedException {
+        pauseLock.lock();
+        try {
+            while (paused && !cancelled.getAsBoolean()) {
+                pauseChanged.await();
+            }
+        } finally {
+            pauseLock.unlock();
+        }
+    }
+
+    /**
+     * Wakes up all threads waiting in {@link #awaitUnpaused(BooleanSupplier)}, so that they check again whether they
+     * were cancelled.
+     */
+    public void wakeUp() {
+        pauseLock.lock();
+        try {
+            pauseChanged.signalAll();
+        } finally {
+            pauseLock.unlock();
+        }
     }
 }
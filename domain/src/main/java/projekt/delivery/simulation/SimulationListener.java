@@ -18,4 +18,20 @@ public interface SimulationListener {
      * @param tick The executed tick.
      */
     void onTick(List<Event> events, long tick);
+
+    /**
+     * Signals this {@link SimulationListener} that the observed {@link Simulation} skipped the given ticks because
+     * nothing happened during them.<p>
+     *
+     * The default implementation calls {@link #onTick(List, long)} with an empty {@link List} for every skipped tick, so
+     * listeners observe the same ticks as in a {@link Simulation} that executes every tick. Listeners that ignore ticks
+     * without {@link Event}s can override this method to do nothing.
+     * @param fromTick The first skipped tick.
+     * @param toTick The tick after the last skipped tick.
+     */
+    default void onIdleTicks(long fromTick, long toTick) {
+        for (long tick = fromTick; tick < toTick; tick++) {
+            onTick(List.of(), tick);
+        }
+    }
 }
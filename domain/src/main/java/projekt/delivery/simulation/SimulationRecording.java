@@ -0,0 +1,515 @@
+package projekt.delivery.simulation;
+
+import org.jetbrains.annotations.Nullable;
+import projekt.base.Location;
+import projekt.base.TickInterval;
+import projekt.delivery.event.Event;
+import projekt.delivery.generator.OrderGenerator;
+import projekt.delivery.rating.Rater;
+import projekt.delivery.rating.RatingCriteria;
+import projekt.delivery.routing.ConfirmedOrder;
+import projekt.delivery.routing.DispatchListener;
+import projekt.delivery.routing.Region;
+import projekt.delivery.routing.Vehicle;
+import projekt.delivery.routing.VehicleManager;
+import projekt.delivery.service.AbstractDeliveryService;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * A recording of the inputs of a simulation run, which allows to replay the run without the {@link OrderGenerator} and
+ * the dispatch logic of the {@link projekt.delivery.service.DeliveryService}.<p>
+ *
+ * A run is completely determined by the orders that are generated at each tick and the decisions of the dispatcher, i.e.
+ * the calls of {@link Vehicle#moveQueued}, {@link Vehicle#moveDirect}, {@link VehicleManager.OccupiedRestaurant#loadOrder}
+ * and {@link VehicleManager.OccupiedNeighborhood#deliverOrder}. A recording stores both in the order in which they
+ * happened. Calls made by an arrival action are stored with the move that queued the action, so they are replayed when
+ * the {@link Vehicle} arrives, at the same point within the tick as in the recorded run. Every decision also stores
+ * whether the call threw an exception.<p>
+ *
+ * A {@linkplain #createReplay(Map) replay} executes the same calls on the same {@link VehicleManager} and produces the
+ * same {@link Event}s and ratings as the recorded run. A call that succeeds although it failed in the recorded run or vice
+ * versa means that the {@link VehicleManager} behaves differently than in the recorded run, and the replay throws an
+ * {@link IllegalStateException}. It is an {@link EventDrivenDeliverySimulation} that only executes
+ * the ticks with new orders, decisions or moving {@link Vehicle}s, which makes it suitable for regression checks and for
+ * comparing the performance of different versions of the {@link VehicleManager}.<p>
+ *
+ * A recording is created by {@link BasicDeliverySimulation#setRecording(boolean)} and can be written to and read from a
+ * binary stream.
+ */
+public final class SimulationRecording {
+
+    private static final int FORMAT_VERSION = 2;
+
+    private final VehicleManager vehicleManager;
+    private final NavigableMap<Long, List<ConfirmedOrder>> orders = new TreeMap<>();
+    private final List<Decision> decisions = new ArrayList<>();
+    private long length;
+
+    private SimulationRecording(VehicleManager vehicleManager) {
+        this.vehicleManager = vehicleManager;
+    }
+
+    /**
+     * Returns the {@link VehicleManager} the recorded run was simulated on.
+     * @return The {@link VehicleManager} of this {@link SimulationRecording}.
+     */
+    public VehicleManager getVehicleManager() {
+        return vehicleManager;
+    }
+
+    /**
+     * Returns the amount of ticks of the recorded run.
+     * @return The amount of recorded ticks.
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * Returns the amount of recorded orders.
+     * @return The amount of recorded orders.
+     */
+    public int getOrderCount() {
+        return orders.values().stream().mapToInt(List::size).sum();
+    }
+
+    /**
+     * Returns the amount of recorded decisions, including the calls made by arrival actions.
+     * @return The amount of recorded decisions.
+     */
+    public int getDecisionCount() {
+        return decisions.size();
+    }
+
+    /**
+     * Creates a {@link Simulation} that replays the recorded run on the {@link VehicleManager} of this recording. The
+     * replay runs unthrottled and has to be run for {@link #getLength()} ticks to cover the whole recorded run.<p>
+     *
+     * The {@link VehicleManager} is reset when the replay starts, so it must not be used by another simulation at the
+     * same time. Any {@link DispatchListener} is removed from it. The recorded orders are shared with the recorded run and
+     * their actual delivery ticks are reset as well.
+     * @param raterFactoryMap The {@link Rater.Factory}s that are used to rate the replay, usually the ones of the recorded run.
+     * @return The created {@link Simulation}.
+     */
+    public BasicDeliverySimulation createReplay(Map<RatingCriteria, Rater.Factory> raterFactoryMap) {
+        return new EventDrivenDeliverySimulation(
+            new SimulationConfig(SimulationConfig.UNTHROTTLED),
+            raterFactoryMap,
+            new ReplayDeliveryService(),
+            ReplayOrderGenerator::new
+        );
+    }
+
+    /**
+     * Writes this {@link SimulationRecording} to the given {@link DataOutput}. Orders are stored with their ids and
+     * identified by their position in the recording, {@link Vehicle}s by their ids and nodes by their {@link Location}s.
+     * @param out The {@link DataOutput} to write to.
+     * @throws IOException If an I/O error occurs.
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeInt(FORMAT_VERSION);
+        out.writeLong(vehicleManager.getRegion().getFingerprint());
+        out.writeLong(length);
+        out.writeInt(getOrderCount());
+        for (Map.Entry<Long, List<ConfirmedOrder>> entry : orders.entrySet()) {
+            for (ConfirmedOrder order : entry.getValue()) {
+                out.writeLong(entry.getKey());
+                out.writeInt(order.getOrderID());
+                writeLocation(out, order.getLocation());
+                writeLocation(out, order.getRestaurant().getComponent().getLocation());
+                out.writeLong(order.getDeliveryInterval().start());
+                out.writeLong(order.getDeliveryInterval().end());
+                out.writeInt(order.getFoodList().size());
+                for (String food : order.getFoodList()) {
+                    out.writeUTF(food);
+                }
+                out.writeDouble(order.getWeight());
+            }
+        }
+        out.writeInt(decisions.size());
+        for (Decision decision : decisions) {
+            out.writeByte(decision.kind().ordinal());
+            out.writeLong(decision.tick());
+            out.writeInt(decision.parent());
+            out.writeBoolean(decision.afterVehicles());
+            out.writeInt(decision.vehicle());
+            writeLocation(out, decision.location());
+            out.writeInt(decision.order());
+            out.writeLong(decision.argument());
+            out.writeBoolean(decision.failed());
+        }
+    }
+
+    /**
+     * Reads a {@link SimulationRecording} that was written by {@link #write(DataOutput)} from the given {@link DataInput}.
+     * The orders are created again for the given {@link VehicleManager} with their recorded ids.
+     * @param vehicleManager The {@link VehicleManager} to replay the recording on, which must have the same
+     *                       {@link Region} and {@link Vehicle}s as the one of the recorded run.
+     * @param in The {@link DataInput} to read from.
+     * @return The read {@link SimulationRecording}.
+     * @throws IOException If an I/O error occurs, the input is not a {@link SimulationRecording} or it was recorded on
+     *                     another {@link Region}.
+     */
+    public static SimulationRecording read(VehicleManager vehicleManager, DataInput in) throws IOException {
+        int version = in.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported recording version: %d".formatted(version));
+        }
+        if (in.readLong() != vehicleManager.getRegion().getFingerprint()) {
+            throw new IOException("The recording was made on another region");
+        }
+        SimulationRecording recording = new SimulationRecording(vehicleManager);
+        recording.length = in.readLong();
+        int orderCount = in.readInt();
+        if (orderCount < 0) {
+            throw new IOException("Malformed recording");
+        }
+        for (int i = 0; i < orderCount; i++) {
+            long tick = in.readLong();
+            int orderID = in.readInt();
+            Location location = readLocation(in);
+            VehicleManager.OccupiedRestaurant restaurant = vehicleManager.getOccupiedRestaurant(getNode(vehicleManager, readLocation(in)));
+            TickInterval deliveryInterval = new TickInterval(in.readLong(), in.readLong());
+            int foodCount = in.readInt();
+            List<String> foodList = new ArrayList<>(foodCount);
+            for (int food = 0; food < foodCount; food++) {
+                foodList.add(in.readUTF());
+            }
+            ConfirmedOrder order = new ConfirmedOrder(orderID, location, restaurant, deliveryInterval, foodList, in.readDouble());
+            recording.orders.computeIfAbsent(tick, t -> new ArrayList<>()).add(order);
+        }
+        int decisionCount = in.readInt();
+        if (decisionCount < 0) {
+            throw new IOException("Malformed recording");
+        }
+        Decision.Kind[] kinds = Decision.Kind.values();
+        for (int i = 0; i < decisionCount; i++) {
+            int kind = in.readByte();
+            if (kind < 0 || kind >= kinds.length) {
+                throw new IOException("Malformed recording");
+            }
+            recording.decisions.add(new Decision(
+                kinds[kind],
+                in.readLong(),
+                in.readInt(),
+                in.readBoolean(),
+                in.readInt(),
+                readLocation(in),
+                in.readInt(),
+                in.readLong(),
+                in.readBoolean()
+            ));
+        }
+        return recording;
+    }
+
+    @Override
+    public String toString() {
+        return "SimulationRecording(length=%d, orders=%d, decisions=%d)".formatted(length, getOrderCount(), decisions.size());
+    }
+
+    private static void writeLocation(DataOutput out, Location location) throws IOException {
+        out.writeInt(location.getX());
+        out.writeInt(location.getY());
+    }
+
+    private static Location readLocation(DataInput in) throws IOException {
+        return new Location(in.readInt(), in.readInt());
+    }
+
+    private static Region.Node getNode(VehicleManager vehicleManager, Location location) throws IOException {
+        Region.Node node = vehicleManager.getRegion().getNode(location);
+        if (node == null) {
+            throw new IOException("There is no node at %s".formatted(location));
+        }
+        return node;
+    }
+
+    /**
+     * Creates a {@link Recorder} for a new recording of a run on the given {@link VehicleManager}.
+     * @param vehicleManager The {@link VehicleManager} of the run.
+     * @return The created {@link Recorder}.
+     */
+    static Recorder record(VehicleManager vehicleManager) {
+        return new Recorder(new SimulationRecording(vehicleManager));
+    }
+
+    /**
+     * A recorded call. Moves store the id of their arrival action in {@code argument}, loaded and delivered orders store
+     * the tick that was passed to the call.
+     * @param kind The kind of the call.
+     * @param tick The tick at which the call was made.
+     * @param parent The id of the arrival action that made the call or -1 if it was made by the dispatcher.
+     * @param afterVehicles Whether the call was made after the {@link Vehicle}s have been moved in the tick.
+     * @param vehicle The id of the {@link Vehicle}.
+     * @param location The {@link Location} of the node the vehicle is moved to or of the occupied node.
+     * @param order The index of the order in the recording or -1 for moves.
+     * @param argument The id of the arrival action or the tick that was passed to the call.
+     * @param failed Whether the call threw an exception.
+     */
+    private record Decision(Kind kind, long tick, int parent, boolean afterVehicles, int vehicle, Location location,
+                            int order, long argument, boolean failed) {
+
+        private enum Kind {
+            MOVE_QUEUED, MOVE_DIRECT, LOAD_ORDER, DELIVER_ORDER
+        }
+    }
+
+    /**
+     * Records the orders and decisions of a run. The orders of a tick are passed by the {@link BasicDeliverySimulation}
+     * before the tick is executed, the decisions are reported by the {@link VehicleManager}.
+     */
+    static final class Recorder implements DispatchListener {
+
+        private final SimulationRecording recording;
+        private final Map<ConfirmedOrder, Integer> orderIndices = new IdentityHashMap<>();
+        private long tick;
+        private boolean afterVehicles;
+        private int parent = -1;
+        private int nextAction;
+
+        private Recorder(SimulationRecording recording) {
+            this.recording = recording;
+        }
+
+        /**
+         * Returns the recording this {@link Recorder} writes to.
+         * @return The {@link SimulationRecording}.
+         */
+        SimulationRecording getRecording() {
+            return recording;
+        }
+
+        /**
+         * Records the orders of the given tick, which is executed next.
+         * @param currentTick The tick that is executed next.
+         * @param newOrders The orders generated for the tick.
+         */
+        void startTick(long currentTick, List<ConfirmedOrder> newOrders) {
+            tick = currentTick;
+            afterVehicles = false;
+            if (!newOrders.isEmpty()) {
+                for (ConfirmedOrder order : newOrders) {
+                    orderIndices.put(order, orderIndices.size());
+                }
+                recording.orders.computeIfAbsent(currentTick, t -> new ArrayList<>()).addAll(newOrders);
+            }
+        }
+
+        /**
+         * Sets the amount of ticks of the recorded run.
+         * @param length The amount of ticks.
+         */
+        void setLength(long length) {
+            recording.length = length;
+        }
+
+        @Override
+        public void onTick(long currentTick) {
+            tick = currentTick;
+            afterVehicles = true;
+        }
+
+        @Override
+        public BiConsumer<? super Vehicle, Long> onMove(Vehicle vehicle, Region.Node node, boolean direct,
+                                                        BiConsumer<? super Vehicle, Long> arrivalAction) {
+            int action = nextAction++;
+            add(direct ? Decision.Kind.MOVE_DIRECT : Decision.Kind.MOVE_QUEUED, vehicle, node.getLocation(), -1, action);
+            return (v, t) -> {
+                int outer = parent;
+                parent = action;
+                try {
+                    arrivalAction.accept(v, t);
+                } finally {
+                    parent = outer;
+                }
+            };
+        }
+
+        @Override
+        public void onLoadOrder(VehicleManager.OccupiedRestaurant restaurant, Vehicle vehicle, ConfirmedOrder order, long currentTick) {
+            add(Decision.Kind.LOAD_ORDER, vehicle, restaurant.getComponent().getLocation(), indexOf(order), currentTick);
+        }
+
+        @Override
+        public void onDeliverOrder(VehicleManager.OccupiedNeighborhood neighborhood, Vehicle vehicle, ConfirmedOrder order, long tick) {
+            add(Decision.Kind.DELIVER_ORDER, vehicle, neighborhood.getComponent().getLocation(), indexOf(order), tick);
+        }
+
+        @Override
+        public void onFailure(RuntimeException exception) {
+            int last = recording.decisions.size() - 1;
+            Decision decision = recording.decisions.get(last);
+            recording.decisions.set(last, new Decision(decision.kind(), decision.tick(), decision.parent(),
+                decision.afterVehicles(), decision.vehicle(), decision.location(), decision.order(), decision.argument(), true));
+        }
+
+        private void add(Decision.Kind kind, Vehicle vehicle, Location location, int order, long argument) {
+            recording.decisions.add(new Decision(kind, tick, parent, afterVehicles, vehicle.getId(), location, order, argument, false));
+        }
+
+        private int indexOf(ConfirmedOrder order) {
+            Integer index = orderIndices.get(order);
+            if (index == null) {
+                throw new IllegalArgumentException("The order %d was not generated during the recorded run".formatted(order.getOrderID()));
+            }
+            return index;
+        }
+    }
+
+    /**
+     * An {@link OrderGenerator} that returns the recorded orders.
+     */
+    private final class ReplayOrderGenerator implements OrderGenerator {
+
+        @Override
+        public List<ConfirmedOrder> generateOrders(long tick) {
+            return orders.getOrDefault(tick, List.of());
+        }
+
+        @Override
+        public long getNextOrderTick(long tick) {
+            Long next = orders.ceilingKey(tick);
+            return next == null ? Long.MAX_VALUE : next;
+        }
+
+        @Override
+        public void writeCheckpoint(SimulationCheckpoint.Writer writer) {
+            // the recorded orders do not change
+        }
+
+        @Override
+        public void readCheckpoint(SimulationCheckpoint.Reader reader) {
+            // the recorded orders do not change
+        }
+    }
+
+    /**
+     * A {@link projekt.delivery.service.DeliveryService} that executes the recorded decisions instead of dispatch logic.
+     */
+    private final class ReplayDeliveryService extends AbstractDeliveryService {
+
+        private final List<ConfirmedOrder> pendingOrders = new ArrayList<>();
+        private final NavigableMap<Long, List<Decision>> beforeVehicles = new TreeMap<>();
+        private final NavigableMap<Long, List<Decision>> afterVehicles = new TreeMap<>();
+        private final Map<Long, List<Decision>> byAction = new HashMap<>();
+        private final List<ConfirmedOrder> orderList = new ArrayList<>();
+        private final Map<Integer, Vehicle> vehicles = new HashMap<>();
+
+        private ReplayDeliveryService() {
+            super(SimulationRecording.this.vehicleManager);
+            orders.values().forEach(orderList::addAll);
+            for (Decision decision : decisions) {
+                Map<Long, List<Decision>> map;
+                long key;
+                if (decision.parent() != -1) {
+                    map = byAction;
+                    key = decision.parent();
+                } else {
+                    map = decision.afterVehicles() ? afterVehicles : beforeVehicles;
+                    key = decision.tick();
+                }
+                map.computeIfAbsent(key, k -> new ArrayList<>()).add(decision);
+            }
+        }
+
+        @Override
+        protected List<Event> tick(long currentTick, List<ConfirmedOrder> newOrders) {
+            pendingOrders.addAll(newOrders);
+            replay(beforeVehicles.get(currentTick));
+            List<Event> events = vehicleManager.tick(currentTick);
+            replay(afterVehicles.get(currentTick));
+            return events;
+        }
+
+        @Override
+        protected long getNextScheduledTick(long tick) {
+            long next = vehicleManager.getNextEventTick(tick);
+            for (NavigableMap<Long, List<Decision>> map : List.of(beforeVehicles, afterVehicles)) {
+                Long decisionTick = map.ceilingKey(tick);
+                if (decisionTick != null) {
+                    next = Math.min(next, decisionTick);
+                }
+            }
+            return next;
+        }
+
+        private void replay(@Nullable List<Decision> decisions) {
+            if (decisions == null) {
+                return;
+            }
+            for (Decision decision : decisions) {
+                RuntimeException failure = null;
+                try {
+                    execute(decision);
+                } catch (RuntimeException e) {
+                    failure = e;
+                }
+                // a call that failed in the recorded run as well is skipped, since the dispatcher continued after it
+                if (decision.failed() != (failure != null)) {
+                    throw new IllegalStateException("The replay diverged from the recording at tick %d: %s of vehicle %d %s"
+                        .formatted(decision.tick(), decision.kind(), decision.vehicle(),
+                            decision.failed() ? "succeeded, but failed in the recorded run" : "failed, but succeeded in the recorded run"),
+                        failure);
+                }
+            }
+        }
+
+        private void execute(Decision decision) {
+            Vehicle vehicle = vehicles.get(decision.vehicle());
+            Region.Node node = vehicleManager.getRegion().getNode(decision.location());
+            switch (decision.kind()) {
+                case MOVE_QUEUED -> vehicle.moveQueued(node, createArrivalAction(decision.argument()));
+                case MOVE_DIRECT -> vehicle.moveDirect(node, createArrivalAction(decision.argument()));
+                case LOAD_ORDER -> {
+                    ConfirmedOrder order = orderList.get(decision.order());
+                    pendingOrders.remove(order);
+                    vehicleManager.getOccupiedRestaurant(node).loadOrder(vehicle, order, decision.argument());
+                }
+                case DELIVER_ORDER -> vehicleManager.getOccupiedNeighborhood(node)
+                    .deliverOrder(vehicle, orderList.get(decision.order()), decision.argument());
+            }
+        }
+
+        private BiConsumer<? super Vehicle, Long> createArrivalAction(long action) {
+            List<Decision> calls = byAction.get(action);
+            return (v, t) -> replay(calls);
+        }
+
+        @Override
+        public List<ConfirmedOrder> getPendingOrders() {
+            return pendingOrders;
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            pendingOrders.clear();
+            // the recorded orders are reused by every replay, so they must not keep the delivery ticks of an earlier run
+            orderList.forEach(order -> order.setActualDeliveryTick(0));
+            vehicleManager.setDispatchListener(null);
+            vehicles.clear();
+            for (Vehicle vehicle : vehicleManager.getAllVehicles()) {
+                vehicles.put(vehicle.getId(), vehicle);
+            }
+        }
+
+        @Override
+        public void writeCheckpoint(SimulationCheckpoint.Writer writer) {
+            super.writeCheckpoint(writer);
+            writer.writeOrders(pendingOrders);
+        }
+
+        @Override
+        public void readCheckpoint(SimulationCheckpoint.Reader reader) {
+            super.readCheckpoint(reader);
+            pendingOrders.clear();
+            pendingOrders.addAll(reader.readOrders());
+        }
+    }
+}
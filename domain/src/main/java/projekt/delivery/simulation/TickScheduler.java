@@ -0,0 +1,153 @@
+package projekt.delivery.simulation;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Schedules the ticks of a {@link Simulation} that runs in real time.<p>
+ *
+ * Every tick has a deadline based on {@link System#nanoTime()}, which is not affected by changes of the system time. The
+ * deadline of the next tick is the deadline of the previous tick plus the current length of a tick, so waiting
+ * inaccurately does not add up over time. The thread is parked until shortly before the deadline and spins for the
+ * remaining time, so short ticks are kept accurately as well.<p>
+ *
+ * A tick that ends after the deadline of the next tick overruns it. How the following ticks are scheduled is determined
+ * by the {@link OverrunPolicy} of the {@link SimulationConfig}. Overruns are counted instead of being reported on the
+ * console.
+ */
+public class TickScheduler {
+
+    /**
+     * The time before a deadline at which the thread stops parking and spins instead.
+     */
+    private static final long SPIN_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    /**
+     * Determines how ticks are scheduled after a tick overran its deadline.
+     */
+    public enum OverrunPolicy {
+
+        /**
+         * The following ticks are executed without waiting until the simulation is back on schedule, so the
+         * simulation does not fall behind in the long run.
+         */
+        CATCH_UP,
+
+        /**
+         * The missed deadlines are skipped and the next tick is scheduled one tick after the end of the overrunning
+         * tick, so the simulation never runs faster than configured.
+         */
+        SKIP
+    }
+
+    private final SimulationConfig simulationConfig;
+    private long deadline;
+    private long tickCount;
+    private long overrunCount;
+    private long skippedDeadlineCount;
+    private long totalOverrunNanos;
+    private long maxOverrunNanos;
+
+    /**
+     * Creates a new {@link TickScheduler} instance.
+     * @param simulationConfig The {@link SimulationConfig} containing the length of a tick and the {@link OverrunPolicy}.
+     */
+    public TickScheduler(SimulationConfig simulationConfig) {
+        this.simulationConfig = simulationConfig;
+        restart();
+    }
+
+    /**
+     * Starts scheduling from the current time again, e.g. after the simulation was paused. The statistics are kept.
+     */
+    public void restart() {
+        deadline = System.nanoTime();
+    }
+
+    /**
+     * Waits until the next tick is due. It has to be called once after every executed tick.<p>
+     *
+     * Waiting ends early if the current thread is interrupted. The interrupted status of the thread is kept.
+     */
+    public void awaitNextTick() {
+        long tickNanos = TimeUnit.MILLISECONDS.toNanos(simulationConfig.getMillisecondsPerTick());
+        deadline += tickNanos;
+        tickCount++;
+
+        long now = System.nanoTime();
+        long overrun = now - deadline;
+        if (overrun > 0) {
+            overrunCount++;
+            totalOverrunNanos += overrun;
+            maxOverrunNanos = Math.max(maxOverrunNanos, overrun);
+            if (simulationConfig.getOverrunPolicy() != OverrunPolicy.SKIP) {
+                return;
+            }
+            // every deadline up to now has been missed, the next tick starts one tick after the end of this one
+            skippedDeadlineCount += tickNanos > 0 ? overrun / tickNanos + 1 : 0;
+            deadline = now + tickNanos;
+        }
+
+        for (long remaining = deadline - now; remaining > 0; remaining = deadline - System.nanoTime()) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            if (remaining > SPIN_NANOS) {
+                LockSupport.parkNanos(this, remaining - SPIN_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /**
+     * Returns the amount of ticks that have been scheduled.
+     * @return The amount of ticks that have been scheduled.
+     */
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Returns the amount of ticks that ended after the deadline of the next tick.
+     * @return The amount of overrunning ticks.
+     */
+    public long getOverrunCount() {
+        return overrunCount;
+    }
+
+    /**
+     * Returns the amount of deadlines that were skipped because of the {@link OverrunPolicy#SKIP} policy.
+     * @return The amount of skipped deadlines.
+     */
+    public long getSkippedDeadlineCount() {
+        return skippedDeadlineCount;
+    }
+
+    /**
+     * Returns the total time by which ticks overran their deadlines.
+     * @return The total overrun in nanoseconds.
+     */
+    public long getTotalOverrunNanos() {
+        return totalOverrunNanos;
+    }
+
+    /**
+     * Returns the longest time by which a tick overran its deadline.
+     * @return The longest overrun in nanoseconds.
+     */
+    public long getMaxOverrunNanos() {
+        return maxOverrunNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "TickScheduler(ticks=%d, overruns=%d, skippedDeadlines=%d, totalOverrun=%.3fms, maxOverrun=%.3fms)".formatted(
+            tickCount,
+            overrunCount,
+            skippedDeadlineCount,
+            totalOverrunNanos / 1e6,
+            maxOverrunNanos / 1e6
+        );
+    }
+}
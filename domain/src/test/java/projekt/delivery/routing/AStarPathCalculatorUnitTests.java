@@ -0,0 +1,54 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import projekt.base.ChessboardDistanceCalculator;
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.Location;
+import projekt.base.ManhattanDistanceCalculator;
+
+import static projekt.delivery.routing.PathCalculatorAssertions.assertMatchesDijkstra;
+
+public class AStarPathCalculatorUnitTests {
+
+    private static Region presetRegion;
+    private static Region randomGrid;
+
+    @BeforeAll
+    public static void initialize() {
+        presetRegion = TestRegions.presetRegion();
+        randomGrid = TestRegions.randomGrid(12, 10, 7);
+    }
+
+    @Test
+    public void testOtherMetrics() {
+        assertMatchesDijkstra(TestRegions.randomGrid(12, 10, 7, new ManhattanDistanceCalculator()), new AStarPathCalculator());
+        assertMatchesDijkstra(TestRegions.randomGrid(12, 10, 7, new ChessboardDistanceCalculator()), new AStarPathCalculator());
+    }
+
+    @Test
+    public void testCustomDistanceCalculator() {
+        // not a known metric, so the search falls back to Dijkstra's algorithm
+        EuclideanDistanceCalculator euclidean = new EuclideanDistanceCalculator();
+        Region region = TestRegions.randomGrid(12, 10, 7, (a, b) -> euclidean.calculateDistance(a, b) * 3);
+        assertMatchesDijkstra(region, new AStarPathCalculator());
+    }
+
+    @Test
+    public void testSameCalculatorForSeveralRegions() {
+        AStarPathCalculator pathCalculator = new AStarPathCalculator();
+        assertMatchesDijkstra(presetRegion, pathCalculator);
+        assertMatchesDijkstra(TestRegions.randomGrid(8, 8, 7, new ManhattanDistanceCalculator()), pathCalculator);
+        assertMatchesDijkstra(randomGrid, pathCalculator);
+    }
+
+    @Test
+    public void testRegionWithoutEdges() {
+        Region region = Region.builder()
+            .addNeighborhood("N", new Location(0, 0))
+            .addRestaurant(new Location(5, 5), Region.Restaurant.LOS_FOPBOTS_HERMANOS)
+            .distanceCalculator(new EuclideanDistanceCalculator())
+            .build();
+        assertMatchesDijkstra(region, new AStarPathCalculator());
+    }
+}
@@ -0,0 +1,171 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static projekt.delivery.routing.PathCalculatorAssertions.assertMatchesDijkstra;
+
+public class CachedPathCalculatorUnitTests {
+
+    private static Region presetRegion;
+    private static List<Region.Node> nodes;
+
+    @BeforeAll
+    public static void initialize() {
+        presetRegion = TestRegions.presetRegion();
+        nodes = new ArrayList<>(presetRegion.getNodes());
+    }
+
+    @Test
+    public void testPresetRegion() {
+        assertMatchesDijkstra(presetRegion, new CachedPathCalculator(new DijkstraPathCalculator()));
+        assertMatchesDijkstra(presetRegion, new CachedPathCalculator(new DijkstraPathCalculator(), 2));
+    }
+
+    @Test
+    public void testHitsAndMisses() {
+        CountingPathCalculator delegate = new CountingPathCalculator(0);
+        CachedPathCalculator pathCalculator = new CachedPathCalculator(delegate, 4);
+        Region.Node end = nodes.get(0);
+
+        ShortestPathTree tree = pathCalculator.getShortestPathTree(end);
+        assertSame(tree, pathCalculator.getShortestPathTree(end));
+        pathCalculator.getPath(nodes.get(1), end);
+
+        assertEquals(1, pathCalculator.getMissCount());
+        assertEquals(2, pathCalculator.getHitCount());
+        assertEquals(1, delegate.getCount(end));
+    }
+
+    @Test
+    public void testEviction() {
+        CountingPathCalculator delegate = new CountingPathCalculator(0);
+        CachedPathCalculator pathCalculator = new CachedPathCalculator(delegate, 3);
+
+        for (int i = 0; i < 3; i++) {
+            pathCalculator.getShortestPathTree(nodes.get(i));
+        }
+        // node 0 becomes the most recently used tree, so node 1 is evicted next
+        pathCalculator.getShortestPathTree(nodes.get(0));
+        pathCalculator.getShortestPathTree(nodes.get(3));
+
+        assertEquals(1, pathCalculator.getEvictionCount());
+        List<Region.Node> roots = pathCalculator.getCachedTrees().stream().map(ShortestPathTree::getRoot).toList();
+        assertEquals(List.of(nodes.get(2), nodes.get(0), nodes.get(3)), roots);
+
+        pathCalculator.getShortestPathTree(nodes.get(1));
+        assertEquals(2, delegate.getCount(nodes.get(1)));
+        assertEquals(2, pathCalculator.getEvictionCount());
+        assertEquals(3, pathCalculator.getCachedTrees().size());
+    }
+
+    @Test
+    public void testPutShortestPathTree() {
+        CountingPathCalculator delegate = new CountingPathCalculator(0);
+        CachedPathCalculator pathCalculator = new CachedPathCalculator(delegate, 4);
+        ShortestPathTree tree = new DijkstraPathCalculator().getShortestPathTree(nodes.get(0));
+
+        pathCalculator.putShortestPathTree(tree);
+        assertSame(tree, pathCalculator.getShortestPathTree(nodes.get(0)));
+        assertEquals(0, delegate.getCount(nodes.get(0)));
+    }
+
+    @Test
+    public void testPutWhileCalculating() {
+        ShortestPathTree putTree = new DijkstraPathCalculator().getShortestPathTree(nodes.get(0));
+        CachedPathCalculator[] pathCalculator = new CachedPathCalculator[1];
+        // puts the tree of the same node while it is calculated, like a tree read from a file by another thread
+        pathCalculator[0] = new CachedPathCalculator(new DijkstraPathCalculator() {
+            @Override
+            public ShortestPathTree getShortestPathTree(Region.Node end) {
+                pathCalculator[0].putShortestPathTree(putTree);
+                return super.getShortestPathTree(end);
+            }
+        }, 2);
+        pathCalculator[0].putShortestPathTree(new DijkstraPathCalculator().getShortestPathTree(nodes.get(1)));
+
+        assertSame(putTree, pathCalculator[0].getShortestPathTree(nodes.get(0)));
+        assertEquals(0, pathCalculator[0].getEvictionCount());
+        List<Region.Node> roots = pathCalculator[0].getCachedTrees().stream().map(ShortestPathTree::getRoot).toList();
+        assertEquals(List.of(nodes.get(1), nodes.get(0)), roots);
+    }
+
+    @Test
+    public void testSingleFlight() throws Exception {
+        int threadCount = 8;
+        CountingPathCalculator delegate = new CountingPathCalculator(50);
+        CachedPathCalculator pathCalculator = new CachedPathCalculator(delegate, 64);
+        CyclicBarrier barrier = new CyclicBarrier(threadCount);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<List<ShortestPathTree>>> futures = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                futures.add(executor.submit(() -> {
+                    barrier.await();
+                    List<ShortestPathTree> trees = new ArrayList<>();
+                    for (Region.Node end : nodes) {
+                        trees.add(pathCalculator.getShortestPathTree(end));
+                    }
+                    return trees;
+                }));
+            }
+            List<ShortestPathTree> expected = futures.get(0).get();
+            for (Future<List<ShortestPathTree>> future : futures) {
+                List<ShortestPathTree> trees = future.get();
+                for (int i = 0; i < nodes.size(); i++) {
+                    assertSame(expected.get(i), trees.get(i));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (Region.Node end : nodes) {
+            assertEquals(1, delegate.getCount(end), "the tree of %s was calculated more than once".formatted(end.getLocation()));
+        }
+        assertEquals((long) threadCount * nodes.size(), pathCalculator.getHitCount() + pathCalculator.getMissCount());
+    }
+
+    /**
+     * A {@link DijkstraPathCalculator} that counts how often the tree of every end node is calculated.
+     */
+    private static class CountingPathCalculator extends DijkstraPathCalculator {
+
+        private final Map<Region.Node, AtomicInteger> counts = new ConcurrentHashMap<>();
+        private final long delay;
+
+        private CountingPathCalculator(long delay) {
+            this.delay = delay;
+        }
+
+        private int getCount(Region.Node end) {
+            AtomicInteger count = counts.get(end);
+            return count == null ? 0 : count.get();
+        }
+
+        @Override
+        public ShortestPathTree getShortestPathTree(Region.Node end) {
+            counts.computeIfAbsent(end, node -> new AtomicInteger()).incrementAndGet();
+            if (delay > 0) {
+                // gives the other threads time to miss the same node
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            return super.getShortestPathTree(end);
+        }
+    }
+}
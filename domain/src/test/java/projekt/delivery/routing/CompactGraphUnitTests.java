@@ -0,0 +1,149 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.Test;
+import projekt.base.DistanceCalculator;
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.Location;
+import projekt.base.ManhattanDistanceCalculator;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompactGraphUnitTests {
+
+    @Test
+    public void testNodeLayout() {
+        for (Region region : List.of(TestRegions.presetRegion(), TestRegions.randomGrid(12, 9, 3))) {
+            CompactGraph graph = CompactGraph.of(region);
+
+            assertEquals(region.getNodes().size(), graph.getNodeCount());
+            assertEquals(region.getEdges().size(), graph.getEdgeCount());
+            assertEquals(2 * graph.getEdgeCount(), graph.getArcCount());
+            for (int u = 1; u < graph.getNodeCount(); u++) {
+                assertTrue(graph.getNode(u - 1).getLocation().compareTo(graph.getNode(u).getLocation()) < 0,
+                    "nodes are not sorted by their location");
+            }
+        }
+    }
+
+    @Test
+    public void testArcLayout() {
+        Region region = TestRegions.randomGrid(12, 9, 3);
+        CompactGraph graph = CompactGraph.of(region);
+
+        assertEquals(0, graph.getFirstArc(0));
+        assertEquals(graph.getArcCount(), graph.getLastArc(graph.getNodeCount() - 1));
+        int[] arcsPerEdge = new int[graph.getEdgeCount()];
+        for (int u = 0; u < graph.getNodeCount(); u++) {
+            Region.Node node = graph.getNode(u);
+            assertEquals(node.getAdjacentEdges().size(), graph.getLastArc(u) - graph.getFirstArc(u));
+            if (u > 0) {
+                assertEquals(graph.getLastArc(u - 1), graph.getFirstArc(u), "the arcs of the nodes are not contiguous");
+            }
+            for (int arc = graph.getFirstArc(u); arc < graph.getLastArc(u); arc++) {
+                int target = graph.getArcTarget(arc);
+                int edge = graph.getArcEdge(arc);
+                if (arc > graph.getFirstArc(u)) {
+                    assertTrue(graph.getArcTarget(arc - 1) < target, "the arcs of a node are not sorted by their target");
+                }
+                Region.Edge regionEdge = region.getEdge(node, graph.getNode(target));
+                assertNotNull(regionEdge);
+                assertSame(regionEdge, graph.getEdge(edge));
+                assertEquals(regionEdge.getDuration(), graph.getArcDuration(arc));
+                assertEquals(regionEdge.getDuration(), graph.getDuration(edge));
+                assertEquals(arc, graph.findArc(u, target));
+                arcsPerEdge[edge]++;
+            }
+        }
+        for (int edge = 0; edge < graph.getEdgeCount(); edge++) {
+            assertEquals(2, arcsPerEdge[edge], "an edge is not represented by two arcs");
+            assertTrue(graph.getNodeA(edge) < graph.getNodeB(edge));
+        }
+    }
+
+    @Test
+    public void testIndexRoundTrip() {
+        for (Region region : List.of(TestRegions.presetRegion(), TestRegions.randomGrid(40, 40, 5))) {
+            CompactGraph graph = CompactGraph.of(region);
+
+            for (int u = 0; u < graph.getNodeCount(); u++) {
+                Region.Node node = graph.getNode(u);
+                assertEquals(u, graph.indexOf(node));
+                assertEquals(u, graph.indexOf(node.getLocation()));
+            }
+            for (int e = 0; e < graph.getEdgeCount(); e++) {
+                Region.Edge edge = graph.getEdge(e);
+                assertEquals(e, graph.indexOf(edge));
+                assertEquals(e, graph.findEdge(graph.getNodeA(e), graph.getNodeB(e)));
+                assertEquals(e, graph.findEdge(graph.getNodeB(e), graph.getNodeA(e)));
+            }
+        }
+    }
+
+    @Test
+    public void testIndexOfUnknownNodes() {
+        CompactGraph graph = CompactGraph.of(TestRegions.presetRegion());
+        Set<Location> locations = new HashSet<>();
+        for (int u = 0; u < graph.getNodeCount(); u++) {
+            locations.add(graph.getNode(u).getLocation());
+        }
+
+        for (int x = -20; x <= 20; x++) {
+            for (int y = -20; y <= 20; y++) {
+                Location location = new Location(x, y);
+                if (!locations.contains(location)) {
+                    assertEquals(-1, graph.indexOf(location), "found a node at %s".formatted(location));
+                }
+            }
+        }
+        assertEquals(-1, graph.indexOf(new Location(Integer.MIN_VALUE, Integer.MAX_VALUE)));
+
+        Region.Node foreign = Region.builder()
+            .addNode("Foreign", new Location(100, 100))
+            .distanceCalculator(new EuclideanDistanceCalculator())
+            .build()
+            .getNode(new Location(100, 100));
+        assertThrows(IllegalArgumentException.class, () -> graph.indexOf(foreign));
+    }
+
+    @Test
+    public void testFingerprint() {
+        long fingerprint = CompactGraph.of(createRegion(false, "M", new EuclideanDistanceCalculator())).getFingerprint();
+
+        // the order in which the components are added and the names do not matter
+        assertEquals(fingerprint, CompactGraph.of(createRegion(true, "M", new EuclideanDistanceCalculator())).getFingerprint());
+        assertEquals(fingerprint, CompactGraph.of(createRegion(false, "K", new EuclideanDistanceCalculator())).getFingerprint());
+
+        assertNotEquals(fingerprint, CompactGraph.of(createRegion(false, "M", new ManhattanDistanceCalculator())).getFingerprint());
+        Region withoutEdge = Region.builder()
+            .addNeighborhood("N", new Location(0, 0))
+            .addNode("M", new Location(3, 4))
+            .addRestaurant(new Location(6, 0), Region.Restaurant.LOS_FOPBOTS_HERMANOS)
+            .addEdge("A", new Location(0, 0), new Location(3, 4))
+            .distanceCalculator(new EuclideanDistanceCalculator())
+            .build();
+        assertNotEquals(fingerprint, CompactGraph.of(withoutEdge).getFingerprint());
+        assertEquals(CompactGraph.of(TestRegions.presetRegion()).getFingerprint(), CompactGraph.of(TestRegions.presetRegion()).getFingerprint());
+    }
+
+    private static Region createRegion(boolean reversed, String name, DistanceCalculator distanceCalculator) {
+        Region.Builder builder = Region.builder().distanceCalculator(distanceCalculator);
+        if (reversed) {
+            builder.addRestaurant(new Location(6, 0), Region.Restaurant.LOS_FOPBOTS_HERMANOS)
+                .addNode(name, new Location(3, 4))
+                .addNeighborhood("N", new Location(0, 0))
+                .addEdge("B", new Location(6, 0), new Location(3, 4))
+                .addEdge("A", new Location(3, 4), new Location(0, 0));
+        } else {
+            builder.addNeighborhood("N", new Location(0, 0))
+                .addNode(name, new Location(3, 4))
+                .addRestaurant(new Location(6, 0), Region.Restaurant.LOS_FOPBOTS_HERMANOS)
+                .addEdge("A", new Location(0, 0), new Location(3, 4))
+                .addEdge("B", new Location(3, 4), new Location(6, 0));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,45 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static projekt.delivery.routing.PathCalculatorAssertions.assertMatchesDijkstra;
+
+public class ContractionHierarchyPathCalculatorUnitTests {
+
+    private static Region presetRegion;
+    private static Region randomGrid;
+
+    @BeforeAll
+    public static void initialize() {
+        presetRegion = TestRegions.presetRegion();
+        randomGrid = TestRegions.randomGrid(12, 10, 4);
+    }
+
+    @Test
+    public void testReadHierarchy() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new ContractionHierarchyPathCalculator().writeHierarchy(randomGrid, new DataOutputStream(bytes));
+
+        ContractionHierarchyPathCalculator pathCalculator = new ContractionHierarchyPathCalculator();
+        assertTrue(pathCalculator.readHierarchy(randomGrid, new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+        assertMatchesDijkstra(randomGrid, pathCalculator);
+    }
+
+    @Test
+    public void testReadHierarchyOfAnotherRegion() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new ContractionHierarchyPathCalculator().writeHierarchy(randomGrid, new DataOutputStream(bytes));
+
+        ContractionHierarchyPathCalculator pathCalculator = new ContractionHierarchyPathCalculator();
+        assertFalse(pathCalculator.readHierarchy(presetRegion, new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+        assertMatchesDijkstra(presetRegion, pathCalculator);
+    }
+}
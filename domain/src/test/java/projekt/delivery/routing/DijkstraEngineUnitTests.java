@@ -0,0 +1,170 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.Test;
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.Location;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DijkstraEngineUnitTests {
+
+    @Test
+    public void testDistances() {
+        CompactGraph graph = CompactGraph.of(TestRegions.randomGrid(15, 15, 2));
+        DijkstraEngine engine = new DijkstraEngine();
+
+        for (int source = 0; source < graph.getNodeCount(); source += 17) {
+            engine.reset(graph).addSource(source).run(-1);
+            long[] expected = bellmanFord(graph, source);
+            for (int node = 0; node < graph.getNodeCount(); node++) {
+                assertEquals(expected[node], engine.getDistance(node), "distance from %d to %d".formatted(source, node));
+                assertEquals(expected[node] != DijkstraEngine.UNREACHABLE, engine.isSettled(node));
+                int predecessor = engine.getPredecessor(node);
+                if (predecessor != -1) {
+                    assertEquals(expected[node], expected[predecessor] + graph.getDuration(graph.findEdge(predecessor, node)));
+                }
+            }
+            assertEquals(-1, engine.getPredecessor(source));
+        }
+    }
+
+    @Test
+    public void testMultipleSources() {
+        CompactGraph graph = CompactGraph.of(TestRegions.randomGrid(10, 10, 4));
+        int[] sources = {0, 42, 99};
+        DijkstraEngine engine = new DijkstraEngine().reset(graph);
+        for (int source : sources) {
+            engine.addSource(source);
+        }
+        engine.run(-1);
+
+        long[][] expected = Arrays.stream(sources).mapToObj(source -> bellmanFord(graph, source)).toArray(long[][]::new);
+        for (int node = 0; node < graph.getNodeCount(); node++) {
+            long minimum = DijkstraEngine.UNREACHABLE;
+            for (long[] distances : expected) {
+                minimum = Math.min(minimum, distances[node]);
+            }
+            assertEquals(minimum, engine.getDistance(node));
+        }
+    }
+
+    @Test
+    public void testStopAtTarget() {
+        Region region = TestRegions.presetRegion();
+        CompactGraph graph = CompactGraph.of(region);
+        int source = graph.indexOf(new Location(3, -1));
+        int target = graph.indexOf(new Location(4, -4));
+        DijkstraEngine engine = new DijkstraEngine().reset(graph).addSource(source).run(target);
+
+        assertTrue(engine.isSettled(target));
+        assertEquals(bellmanFord(graph, source)[target], engine.getDistance(target));
+        assertFalse(engine.isExhausted());
+        // the farthest node is not settled before the target
+        assertFalse(engine.isSettled(graph.indexOf(new Location(-10, -1))));
+        assertEquals(List.of(region.getNode(new Location(1, -2)), region.getNode(new Location(3, -1))),
+            List.copyOf(engine.pathToSource(target)));
+    }
+
+    @Test
+    public void testTieBreaking() {
+        // two paths of the same duration lead from S to T, via A at (3, 4) and via B at (4, 3)
+        Region region = Region.builder()
+            .addNode("S", new Location(0, 0))
+            .addNode("A", new Location(3, 4))
+            .addNode("B", new Location(4, 3))
+            .addNode("T", new Location(7, 7))
+            .addEdge("SA", new Location(0, 0), new Location(3, 4))
+            .addEdge("SB", new Location(0, 0), new Location(4, 3))
+            .addEdge("AT", new Location(3, 4), new Location(7, 7))
+            .addEdge("BT", new Location(4, 3), new Location(7, 7))
+            .distanceCalculator(new EuclideanDistanceCalculator())
+            .build();
+        CompactGraph graph = CompactGraph.of(region);
+        int a = graph.indexOf(new Location(3, 4));
+        int b = graph.indexOf(new Location(4, 3));
+        DijkstraEngine engine = new DijkstraEngine();
+
+        for (int i = 0; i < 3; i++) {
+            engine.reset(graph).addSource(graph.indexOf(new Location(0, 0))).run(-1);
+            // the node with the smaller index is settled first and reaches T first
+            assertEquals(Math.min(a, b), engine.getPredecessor(graph.indexOf(new Location(7, 7))));
+        }
+    }
+
+    @Test
+    public void testUnreachable() {
+        Region region = Region.builder()
+            .addNode("A", new Location(0, 0))
+            .addNode("B", new Location(1, 0))
+            .addNode("C", new Location(5, 5))
+            .addEdge("AB", new Location(0, 0), new Location(1, 0))
+            .distanceCalculator(new EuclideanDistanceCalculator())
+            .build();
+        CompactGraph graph = CompactGraph.of(region);
+        int c = graph.indexOf(new Location(5, 5));
+        DijkstraEngine engine = new DijkstraEngine().reset(graph).addSource(graph.indexOf(new Location(0, 0))).run(c);
+
+        assertTrue(engine.isExhausted());
+        assertEquals(DijkstraEngine.UNREACHABLE, engine.peekKey());
+        assertFalse(engine.isReached(c));
+        assertEquals(DijkstraEngine.UNREACHABLE, engine.getDistance(c));
+        assertEquals(-1, engine.getPredecessor(c));
+        assertThrows(IllegalArgumentException.class, () -> engine.pathToSource(c));
+    }
+
+    @Test
+    public void testReuseAfterReset() {
+        CompactGraph small = CompactGraph.of(TestRegions.presetRegion());
+        CompactGraph large = CompactGraph.of(TestRegions.randomGrid(12, 12, 6));
+        DijkstraEngine engine = new DijkstraEngine();
+
+        engine.reset(large).addSource(0).run(-1);
+        // a search on another graph must not see the nodes of the previous search
+        engine.reset(small).addSource(3).run(3);
+        for (int node = 0; node < small.getNodeCount(); node++) {
+            assertEquals(node == 3, engine.isReached(node), "node %d".formatted(node));
+        }
+
+        for (CompactGraph graph : List.of(small, large, small)) {
+            for (int source = 0; source < graph.getNodeCount(); source += 5) {
+                engine.reset(graph).addSource(source).run(-1);
+                DijkstraEngine fresh = new DijkstraEngine().reset(graph).addSource(source).run(-1);
+                for (int node = 0; node < graph.getNodeCount(); node++) {
+                    assertEquals(fresh.getDistance(node), engine.getDistance(node));
+                    assertEquals(fresh.getPredecessor(node), engine.getPredecessor(node));
+                }
+            }
+        }
+    }
+
+    /**
+     * Calculates the distances from the given source with the Bellman-Ford algorithm, which shares no code with the
+     * {@link DijkstraEngine}.
+     */
+    private static long[] bellmanFord(CompactGraph graph, int source) {
+        long[] distances = new long[graph.getNodeCount()];
+        Arrays.fill(distances, DijkstraEngine.UNREACHABLE);
+        distances[source] = 0;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int edge = 0; edge < graph.getEdgeCount(); edge++) {
+                int a = graph.getNodeA(edge);
+                int b = graph.getNodeB(edge);
+                long duration = graph.getDuration(edge);
+                if (distances[a] != DijkstraEngine.UNREACHABLE && distances[a] + duration < distances[b]) {
+                    distances[b] = distances[a] + duration;
+                    changed = true;
+                }
+                if (distances[b] != DijkstraEngine.UNREACHABLE && distances[b] + duration < distances[a]) {
+                    distances[a] = distances[b] + duration;
+                    changed = true;
+                }
+            }
+        }
+        return distances;
+    }
+}
@@ -0,0 +1,93 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import projekt.base.Location;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DistanceTableUnitTests {
+
+    private final PathCalculator dijkstra = new DijkstraPathCalculator();
+
+    private VehicleManager vehicleManager;
+    private DistanceTable distanceTable;
+
+    @BeforeEach
+    public void setup() {
+        vehicleManager = VehicleManager.builder()
+            .region(TestRegions.presetRegion())
+            .pathCalculator(new DijkstraPathCalculator())
+            .addVehicle(new Location(3, -1), 1)
+            .addVehicle(new Location(3, -1), 1)
+            .build();
+        distanceTable = new DistanceTable(vehicleManager);
+    }
+
+    @Test
+    public void testRestaurantDurations() {
+        for (VehicleManager.OccupiedRestaurant restaurant : vehicleManager.getOccupiedRestaurants()) {
+            for (VehicleManager.OccupiedNeighborhood neighborhood : vehicleManager.getOccupiedNeighborhoods()) {
+                long expected = dijkstra.getDuration(restaurant.getComponent(), neighborhood.getComponent());
+                assertEquals(expected, distanceTable.getDuration(restaurant, neighborhood));
+                assertEquals(expected, distanceTable.getDuration(
+                    distanceTable.restaurantIndexOf(restaurant.getComponent()),
+                    distanceTable.neighborhoodIndexOf(neighborhood.getComponent())));
+            }
+        }
+    }
+
+    @Test
+    public void testNodeDurations() {
+        List<Region.Node> neighborhoods = distanceTable.getNeighborhoods();
+        for (Region.Node node : vehicleManager.getRegion().getNodes()) {
+            for (int i = 0; i < neighborhoods.size(); i++) {
+                assertEquals(dijkstra.getDuration(node, neighborhoods.get(i)), distanceTable.getDuration(node, i),
+                    "duration from %s to %s".formatted(node.getLocation(), neighborhoods.get(i).getLocation()));
+            }
+        }
+    }
+
+    @Test
+    public void testVehicleDurations() {
+        Region region = vehicleManager.getRegion();
+        Region.Node restaurant = region.getNode(new Location(3, -1));
+        Region.Node target = region.getNode(new Location(1, -2));
+        Vehicle moved = vehicleManager.getAllVehicles().stream().filter(vehicle -> vehicle.getId() == 0).findFirst().orElseThrow();
+        moved.moveDirect(target);
+        long tick = 0;
+        while (moved.getOccupied().getComponent() != target) {
+            vehicleManager.tick(++tick);
+        }
+        distanceTable.refresh(tick);
+
+        for (Vehicle vehicle : vehicleManager.getAllVehicles()) {
+            Region.Node position = vehicle == moved ? target : restaurant;
+            for (VehicleManager.OccupiedNeighborhood neighborhood : vehicleManager.getOccupiedNeighborhoods()) {
+                assertEquals(dijkstra.getDuration(position, neighborhood.getComponent()), distanceTable.getDuration(vehicle, neighborhood));
+            }
+        }
+    }
+
+    @Test
+    public void testIndexOf() {
+        List<Region.Node> neighborhoods = distanceTable.getNeighborhoods();
+        List<Region.Node> restaurants = distanceTable.getRestaurants();
+        for (int i = 0; i < neighborhoods.size(); i++) {
+            assertEquals(i, distanceTable.neighborhoodIndexOf(neighborhoods.get(i)));
+        }
+        for (int i = 0; i < restaurants.size(); i++) {
+            assertEquals(i, distanceTable.restaurantIndexOf(restaurants.get(i)));
+        }
+
+        Region.Node restaurant = restaurants.get(0);
+        Region.Node neighborhood = neighborhoods.get(0);
+        Region.Node node = vehicleManager.getRegion().getNode(new Location(1, -2));
+        assertThrows(IllegalArgumentException.class, () -> distanceTable.neighborhoodIndexOf(restaurant));
+        assertThrows(IllegalArgumentException.class, () -> distanceTable.restaurantIndexOf(neighborhood));
+        assertThrows(IllegalArgumentException.class, () -> distanceTable.neighborhoodIndexOf(node));
+        assertThrows(IllegalArgumentException.class, () -> distanceTable.restaurantIndexOf(node));
+    }
+}
@@ -0,0 +1,139 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GraphCacheUnitTests {
+
+    @Test
+    public void testComputedOnce() {
+        AtomicInteger count = new AtomicInteger();
+        GraphCache<Object> cache = new GraphCache<>(graph -> {
+            count.incrementAndGet();
+            return new Object();
+        });
+        CompactGraph graph = CompactGraph.of(TestRegions.presetRegion());
+
+        Object value = cache.get(graph);
+        assertSame(value, cache.get(graph));
+        assertEquals(1, count.get());
+    }
+
+    @Test
+    public void testSingleFlight() throws Exception {
+        int threadCount = 8;
+        AtomicInteger count = new AtomicInteger();
+        GraphCache<Object> cache = new GraphCache<>(graph -> {
+            count.incrementAndGet();
+            sleep(50);
+            return new Object();
+        });
+        CompactGraph graph = CompactGraph.of(TestRegions.presetRegion());
+        CyclicBarrier barrier = new CyclicBarrier(threadCount);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                futures.add(executor.submit(() -> {
+                    barrier.await();
+                    return cache.get(graph);
+                }));
+            }
+            Object expected = futures.get(0).get();
+            for (Future<Object> future : futures) {
+                assertSame(expected, future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, count.get(), "the value was computed more than once");
+    }
+
+    @Test
+    public void testOtherGraphsAreNotBlocked() throws Exception {
+        CompactGraph slowGraph = CompactGraph.of(TestRegions.randomGrid(4, 4, 1));
+        CompactGraph fastGraph = CompactGraph.of(TestRegions.presetRegion());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        GraphCache<Integer> cache = new GraphCache<>(graph -> {
+            if (graph == slowGraph) {
+                started.countDown();
+                await(release);
+            }
+            return graph.getNodeCount();
+        });
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> slow = executor.submit(() -> cache.get(slowGraph));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+
+            // the computation of the slow graph is still running
+            assertEquals(fastGraph.getNodeCount(), cache.get(fastGraph).intValue());
+            assertFalse(slow.isDone());
+
+            release.countDown();
+            assertEquals(slowGraph.getNodeCount(), slow.get().intValue());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailureIsRetried() {
+        AtomicInteger count = new AtomicInteger();
+        GraphCache<Object> cache = new GraphCache<>(graph -> {
+            if (count.incrementAndGet() == 1) {
+                throw new IllegalStateException("first computation fails");
+            }
+            return new Object();
+        });
+        CompactGraph graph = CompactGraph.of(TestRegions.presetRegion());
+
+        assertThrows(IllegalStateException.class, () -> cache.get(graph));
+        assertNotNull(cache.get(graph));
+        assertEquals(2, count.get());
+    }
+
+    @Test
+    public void testPut() {
+        AtomicInteger count = new AtomicInteger();
+        GraphCache<Object> cache = new GraphCache<>(graph -> {
+            count.incrementAndGet();
+            return new Object();
+        });
+        CompactGraph graph = CompactGraph.of(TestRegions.presetRegion());
+        Object value = new Object();
+
+        cache.put(graph, value);
+        assertSame(value, cache.get(graph));
+        assertEquals(0, count.get());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndexedHeapUnitTests {
+
+    @Test
+    public void testPollOrder() {
+        Random random = new Random(1);
+        IndexedHeap heap = new IndexedHeap();
+        heap.ensureCapacity(1000);
+        long[] keys = new long[1000];
+        List<Integer> ids = new ArrayList<>();
+        for (int id = 0; id < keys.length; id++) {
+            keys[id] = random.nextInt(100);
+            heap.insertOrDecrease(id, keys[id]);
+            ids.add(id);
+        }
+        ids.sort(Comparator.<Integer>comparingLong(id -> keys[id]).thenComparingInt(id -> id));
+
+        for (int id : ids) {
+            assertEquals(keys[id], heap.peekKey());
+            assertEquals(id, heap.poll());
+        }
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void testDecreaseKey() {
+        IndexedHeap heap = new IndexedHeap();
+        heap.ensureCapacity(4);
+        heap.insertOrDecrease(0, 10);
+        heap.insertOrDecrease(1, 20);
+        heap.insertOrDecrease(2, 30);
+
+        heap.insertOrDecrease(2, 5);
+        // a larger key does not replace a smaller one
+        heap.insertOrDecrease(0, 40);
+
+        assertEquals(5, heap.peekKey());
+        assertEquals(2, heap.poll());
+        assertEquals(10, heap.peekKey());
+        assertEquals(0, heap.poll());
+        assertEquals(1, heap.poll());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void testUpdateKey() {
+        IndexedHeap heap = new IndexedHeap();
+        heap.ensureCapacity(4);
+        heap.insertOrUpdate(0, 10);
+        heap.insertOrUpdate(1, 20);
+        heap.insertOrUpdate(2, 30);
+
+        heap.insertOrUpdate(0, 25);
+        heap.insertOrUpdate(2, 15);
+
+        assertEquals(2, heap.poll());
+        assertEquals(1, heap.poll());
+        assertEquals(0, heap.poll());
+    }
+
+    @Test
+    public void testTieBreaking() {
+        IndexedHeap heap = new IndexedHeap();
+        heap.ensureCapacity(8);
+        for (int id : new int[] {5, 2, 7, 0, 3}) {
+            heap.insertOrDecrease(id, 1);
+        }
+        // decreasing a key to the key of the others does not move the id in front of smaller ids
+        heap.insertOrDecrease(6, 2);
+        heap.insertOrDecrease(6, 1);
+
+        for (int id : new int[] {0, 2, 3, 5, 6, 7}) {
+            assertEquals(id, heap.poll());
+        }
+    }
+
+    @Test
+    public void testContains() {
+        IndexedHeap heap = new IndexedHeap();
+        heap.ensureCapacity(4);
+        heap.insertOrDecrease(1, 3);
+        heap.insertOrDecrease(3, 2);
+
+        assertTrue(heap.contains(1));
+        assertTrue(heap.contains(3));
+        assertFalse(heap.contains(0));
+        assertEquals(3, heap.poll());
+        assertFalse(heap.contains(3));
+        assertTrue(heap.contains(1));
+    }
+
+    @Test
+    public void testReuseAfterClear() {
+        IndexedHeap heap = new IndexedHeap();
+        heap.ensureCapacity(16);
+        for (int id = 0; id < 16; id++) {
+            heap.insertOrDecrease(id, 16 - id);
+        }
+        heap.poll();
+        heap.clear();
+
+        assertTrue(heap.isEmpty());
+        for (int id = 0; id < 16; id++) {
+            assertFalse(heap.contains(id));
+        }
+        // a cleared id is added again instead of decreasing a stale key
+        heap.insertOrDecrease(3, 100);
+        heap.insertOrDecrease(4, 50);
+        assertEquals(4, heap.poll());
+        assertEquals(3, heap.poll());
+        assertTrue(heap.isEmpty());
+
+        // growing the heap clears it as well
+        heap.insertOrDecrease(0, 1);
+        heap.ensureCapacity(32);
+        assertTrue(heap.isEmpty());
+        heap.insertOrDecrease(31, 1);
+        assertEquals(31, heap.poll());
+    }
+
+    @Test
+    public void testEmpty() {
+        IndexedHeap heap = new IndexedHeap();
+        heap.ensureCapacity(1);
+
+        assertTrue(heap.isEmpty());
+        assertThrows(NoSuchElementException.class, heap::peekKey);
+        assertThrows(NoSuchElementException.class, heap::poll);
+    }
+}
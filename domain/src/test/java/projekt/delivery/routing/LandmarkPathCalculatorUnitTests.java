@@ -0,0 +1,57 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static projekt.delivery.routing.PathCalculatorAssertions.assertMatchesDijkstra;
+
+public class LandmarkPathCalculatorUnitTests {
+
+    private static Region presetRegion;
+    private static Region randomGrid;
+
+    @BeforeAll
+    public static void initialize() {
+        presetRegion = TestRegions.presetRegion();
+        randomGrid = TestRegions.randomGrid(12, 10, 6);
+    }
+
+    @Test
+    public void testLandmarkCount() {
+        assertThrows(IllegalArgumentException.class, () -> new LandmarkPathCalculator(0));
+        assertEquals(8, new LandmarkPathCalculator().getLandmarkCount());
+        assertEquals(3, LandmarkTable.compute(randomGrid, 3).getLandmarkCount());
+        // a region cannot have more landmarks than nodes
+        int nodeCount = presetRegion.getNodes().size();
+        assertEquals(nodeCount, LandmarkTable.compute(presetRegion, nodeCount + 5).getLandmarkCount());
+    }
+
+    @Test
+    public void testReadTable() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        LandmarkTable.compute(randomGrid, 4).write(new DataOutputStream(bytes));
+        LandmarkTable table = LandmarkTable.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(4, table.getLandmarkCount());
+        assertTrue(table.matches(randomGrid));
+        assertFalse(table.matches(presetRegion));
+
+        LandmarkPathCalculator pathCalculator = new LandmarkPathCalculator();
+        pathCalculator.setLandmarkTable(randomGrid, table);
+        assertSame(table, pathCalculator.getLandmarkTable(randomGrid));
+        assertMatchesDijkstra(randomGrid, pathCalculator);
+    }
+
+    @Test
+    public void testTableOfAnotherRegion() {
+        LandmarkTable table = LandmarkTable.compute(randomGrid, 4);
+        assertThrows(IllegalArgumentException.class, () -> new LandmarkPathCalculator().setLandmarkTable(presetRegion, table));
+    }
+}
@@ -0,0 +1,88 @@
+package projekt.delivery.routing;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Assertions that compare a {@link PathCalculator} with the {@link DijkstraPathCalculator}, which serves as reference.
+ */
+final class PathCalculatorAssertions {
+
+    private PathCalculatorAssertions() {
+    }
+
+    /**
+     * Asserts that the given {@link PathCalculator} returns the same durations as the {@link DijkstraPathCalculator}
+     * for all pairs of nodes of the given {@link Region}, and that its paths are connected and as short as the ones of
+     * the {@link DijkstraPathCalculator}. Since shortest paths are not unique, the nodes of the paths are not compared.
+     * @param region The {@link Region} to calculate the paths in.
+     * @param pathCalculator The {@link PathCalculator} to check.
+     */
+    static void assertMatchesDijkstra(Region region, PathCalculator pathCalculator) {
+        PathCalculator reference = new DijkstraPathCalculator();
+        List<Region.Node> nodes = new ArrayList<>(region.getNodes());
+        Region.Node[] targets = nodes.toArray(Region.Node[]::new);
+
+        for (Region.Node start : nodes) {
+            long[] expected = reference.getDurations(start, targets);
+            assertArrayEquals(expected, pathCalculator.getDurations(start, targets),
+                "durations from %s differ".formatted(start.getLocation()));
+
+            for (int i = 0; i < targets.length; i++) {
+                Region.Node end = targets[i];
+                assertEquals(expected[i], pathCalculator.getDuration(start, end),
+                    "duration from %s to %s".formatted(start.getLocation(), end.getLocation()));
+                if (expected[i] == ShortestPathTree.UNREACHABLE) {
+                    assertThrows(IllegalArgumentException.class, () -> pathCalculator.getPath(start, end));
+                } else {
+                    assertEquals(expected[i], durationOf(region, start, pathCalculator.getPath(start, end)),
+                        "path from %s to %s".formatted(start.getLocation(), end.getLocation()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Asserts that the {@link ShortestPathTree}s and the paths of {@link PathCalculator#getAllPathsTo(Region.Node)} of
+     * the given {@link PathCalculator} match the ones of the {@link DijkstraPathCalculator} for every end node of the
+     * given {@link Region}.
+     * @param region The {@link Region} to calculate the paths in.
+     * @param pathCalculator The {@link PathCalculator} to check.
+     */
+    static void assertTreesMatchDijkstra(Region region, PathCalculator pathCalculator) {
+        PathCalculator reference = new DijkstraPathCalculator();
+        for (Region.Node end : region.getNodes()) {
+            ShortestPathTree expected = reference.getShortestPathTree(end);
+            ShortestPathTree actual = pathCalculator.getShortestPathTree(end);
+            Map<Region.Node, Deque<Region.Node>> paths = pathCalculator.getAllPathsTo(end);
+            for (Region.Node start : region.getNodes()) {
+                assertEquals(expected.getDistance(start), actual.getDistance(start),
+                    "tree distance from %s to %s".formatted(start.getLocation(), end.getLocation()));
+                assertEquals(expected.isReachable(start), paths.containsKey(start));
+                if (expected.isReachable(start)) {
+                    assertEquals(expected.getDistance(start), durationOf(region, start, actual.getPath(start)));
+                    assertEquals(expected.getDistance(start), durationOf(region, start, paths.get(start)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the duration of the given path and asserts that its nodes are connected.
+     */
+    static long durationOf(Region region, Region.Node start, Deque<Region.Node> path) {
+        long duration = 0;
+        Region.Node last = start;
+        for (Region.Node node : path) {
+            Region.Edge edge = region.getEdge(last, node);
+            assertNotNull(edge, "the path contains the missing edge %s - %s".formatted(last.getLocation(), node.getLocation()));
+            duration += edge.getDuration();
+            last = node;
+        }
+        return duration;
+    }
+}
@@ -0,0 +1,156 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.Location;
+
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static projekt.delivery.routing.PathCalculatorAssertions.assertMatchesDijkstra;
+import static projekt.delivery.routing.PathCalculatorAssertions.assertTreesMatchDijkstra;
+import static projekt.delivery.routing.PathCalculatorAssertions.durationOf;
+
+/**
+ * The tests shared by all {@link PathCalculator}s, which are compared with the {@link DijkstraPathCalculator}.
+ */
+public class PathCalculatorUnitTests {
+
+    private static Region presetRegion;
+    private static List<Region> randomGrids;
+    private static Region disconnectedRegion;
+    private static Region diamondRegion;
+
+    @BeforeAll
+    public static void initialize() {
+        presetRegion = TestRegions.presetRegion();
+        randomGrids = List.of(TestRegions.randomGrid(12, 10, 4), TestRegions.randomGrid(12, 10, 5));
+        disconnectedRegion = Region.builder()
+            .addNeighborhood("N", new Location(0, 0))
+            .addNode("M", new Location(3, 4))
+            .addRestaurant(new Location(10, 0), Region.Restaurant.LOS_FOPBOTS_HERMANOS)
+            .addNode("K", new Location(13, 4))
+            .addNode("L", new Location(20, 20))
+            .addEdge("A", new Location(0, 0), new Location(3, 4))
+            .addEdge("B", new Location(10, 0), new Location(13, 4))
+            .distanceCalculator(new EuclideanDistanceCalculator())
+            .build();
+        // both paths from S to T take 10
+        diamondRegion = Region.builder()
+            .addNeighborhood("S", new Location(0, 0))
+            .addNode("A", new Location(3, 4))
+            .addNode("B", new Location(4, 3))
+            .addRestaurant(new Location(7, 7), Region.Restaurant.LOS_FOPBOTS_HERMANOS)
+            .addEdge("SA", new Location(0, 0), new Location(3, 4))
+            .addEdge("SB", new Location(0, 0), new Location(4, 3))
+            .addEdge("AT", new Location(3, 4), new Location(7, 7))
+            .addEdge("BT", new Location(4, 3), new Location(7, 7))
+            .distanceCalculator(new EuclideanDistanceCalculator())
+            .build();
+    }
+
+    private static Stream<Arguments> pathCalculators() {
+        return Stream.of(
+            Arguments.of("BidirectionalDijkstraPathCalculator", (Supplier<PathCalculator>) BidirectionalDijkstraPathCalculator::new),
+            Arguments.of("ContractionHierarchyPathCalculator", (Supplier<PathCalculator>) ContractionHierarchyPathCalculator::new),
+            Arguments.of("LandmarkPathCalculator", (Supplier<PathCalculator>) LandmarkPathCalculator::new),
+            Arguments.of("LandmarkPathCalculator(1)", (Supplier<PathCalculator>) () -> new LandmarkPathCalculator(1)),
+            Arguments.of("AStarPathCalculator", (Supplier<PathCalculator>) AStarPathCalculator::new)
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("pathCalculators")
+    public void testPresetRegion(String name, Supplier<PathCalculator> pathCalculator) {
+        assertMatchesDijkstra(presetRegion, pathCalculator.get());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("pathCalculators")
+    public void testRandomGrids(String name, Supplier<PathCalculator> pathCalculator) {
+        for (Region randomGrid : randomGrids) {
+            assertMatchesDijkstra(randomGrid, pathCalculator.get());
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("pathCalculators")
+    public void testShortestPathTrees(String name, Supplier<PathCalculator> pathCalculator) {
+        assertTreesMatchDijkstra(presetRegion, pathCalculator.get());
+        assertTreesMatchDijkstra(disconnectedRegion, pathCalculator.get());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("pathCalculators")
+    public void testUnreachable(String name, Supplier<PathCalculator> pathCalculator) {
+        PathCalculator calculator = pathCalculator.get();
+        Region.Node start = disconnectedRegion.getNode(new Location(0, 0));
+        Region.Node reachable = disconnectedRegion.getNode(new Location(3, 4));
+        Region.Node unreachable = disconnectedRegion.getNode(new Location(13, 4));
+        Region.Node isolated = disconnectedRegion.getNode(new Location(20, 20));
+
+        assertEquals(ShortestPathTree.UNREACHABLE, calculator.getDuration(start, unreachable));
+        assertEquals(ShortestPathTree.UNREACHABLE, calculator.getDuration(isolated, start));
+        assertThrows(IllegalArgumentException.class, () -> calculator.getPath(start, unreachable));
+        assertThrows(IllegalArgumentException.class, () -> calculator.getPath(isolated, start));
+        assertArrayEquals(new long[] {ShortestPathTree.UNREACHABLE, 5, ShortestPathTree.UNREACHABLE},
+            calculator.getDurations(start, unreachable, reachable, isolated));
+        // an unreachable node does not affect the paths within the other component
+        assertEquals(List.of(reachable), List.copyOf(calculator.getPath(start, reachable)));
+
+        ShortestPathTree tree = calculator.getShortestPathTree(unreachable);
+        assertFalse(tree.isReachable(start));
+        assertEquals(ShortestPathTree.UNREACHABLE, tree.getDistance(start));
+        assertFalse(calculator.getAllPathsTo(unreachable).containsKey(start));
+        assertMatchesDijkstra(disconnectedRegion, pathCalculator.get());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("pathCalculators")
+    public void testStartEqualsEnd(String name, Supplier<PathCalculator> pathCalculator) {
+        PathCalculator calculator = pathCalculator.get();
+        for (Region region : List.of(presetRegion, disconnectedRegion)) {
+            for (Region.Node node : region.getNodes()) {
+                assertTrue(calculator.getPath(node, node).isEmpty(), "path from %s to itself".formatted(node.getLocation()));
+                assertEquals(0, calculator.getDuration(node, node));
+                assertArrayEquals(new long[] {0}, calculator.getDurations(node, node));
+
+                ShortestPathTree tree = calculator.getShortestPathTree(node);
+                assertEquals(0, tree.getDistance(node));
+                assertTrue(tree.getPath(node).isEmpty());
+                Map<Region.Node, Deque<Region.Node>> paths = calculator.getAllPathsTo(node);
+                assertTrue(paths.containsKey(node));
+                assertTrue(paths.get(node).isEmpty());
+            }
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("pathCalculators")
+    public void testTies(String name, Supplier<PathCalculator> pathCalculator) {
+        PathCalculator calculator = pathCalculator.get();
+        Region.Node start = diamondRegion.getNode(new Location(0, 0));
+        Region.Node end = diamondRegion.getNode(new Location(7, 7));
+
+        assertEquals(10, calculator.getDuration(start, end));
+        assertEquals(10, calculator.getDuration(end, start));
+        Deque<Region.Node> path = calculator.getPath(start, end);
+        assertEquals(2, path.size());
+        assertSame(end, path.getLast());
+        assertEquals(10, durationOf(diamondRegion, start, path));
+        // the choice between equally short paths does not change between calls or instances
+        for (PathCalculator other : List.of(calculator, pathCalculator.get())) {
+            for (int i = 0; i < 3; i++) {
+                assertEquals(List.copyOf(path), List.copyOf(other.getPath(start, end)));
+            }
+        }
+        assertEquals(10, durationOf(diamondRegion, start, calculator.getShortestPathTree(end).getPath(start)));
+    }
+}
@@ -0,0 +1,120 @@
+package projekt.delivery.routing;
+
+import projekt.base.DistanceCalculator;
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.Location;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The {@link Region}s shared by the unit tests of the path calculators and simulations.
+ */
+public final class TestRegions {
+
+    private TestRegions() {
+    }
+
+    /**
+     * Returns the {@link Region} of the problem presets, i.e. the area around Frankfurt with one restaurant.
+     * @return The {@link Region} of the problem presets.
+     */
+    public static Region presetRegion() {
+        return Region.builder()
+            .addNeighborhood("Wiesbaden", new Location(-9, -4))
+            .addNeighborhood("Mainz", new Location(-8, 0))
+            .addNeighborhood("Frankfurt", new Location(8, -8))
+            .addNeighborhood("Darmstadt", new Location(6, 8))
+            .addNeighborhood("Ruesselsheim", new Location(-2, 0))
+            .addNeighborhood("Gross-Gerau", new Location(0, 5))
+            .addNeighborhood("Langen", new Location(6, 0))
+            .addNeighborhood("Offenbach", new Location(10, -7))
+            .addRestaurant(new Location(3, -1), Region.Restaurant.LOS_FOPBOTS_HERMANOS)
+            .addNode("Mainspitzdreieck", new Location(-5, 0))
+            .addNode("Wiesbadener Kreuz", new Location(-4, -5))
+            .addNode("Moenchhof-Dreieck", new Location(1, -2))
+            .addNode("Frankfurter Kreuz", new Location(4, -4))
+            .addNode("Dreieck Mainz", new Location(-10, -1))
+            .addEdge("A643", new Location(-10, -1), new Location(-9, -4))
+            .addEdge("A60", new Location(-10, -1), new Location(-8, 0))
+            .addEdge("A60_1", new Location(-5, 0), new Location(-8, 0))
+            .addEdge("A671", new Location(-5, 0), new Location(-9, -4))
+            .addEdge("A60_2", new Location(-5, 0), new Location(-2, 0))
+            .addEdge("A66", new Location(-4, -5), new Location(-9, -4))
+            .addEdge("A66_1", new Location(-4, -5), new Location(8, -8))
+            .addEdge("A3", new Location(-4, -5), new Location(1, -2))
+            .addEdge("A67", new Location(1, -2), new Location(-2, 0))
+            .addEdge("A3_1", new Location(1, -2), new Location(4, -4))
+            .addEdge("A5", new Location(4, -4), new Location(8, -8))
+            .addEdge("A3_2", new Location(4, -4), new Location(10, -7))
+            .addEdge("A5_1", new Location(4, -4), new Location(6, 0))
+            .addEdge("A5_2", new Location(6, 0), new Location(6, 8))
+            .addEdge("A67_1", new Location(0, 5), new Location(6, 8))
+            .addEdge("A67_2", new Location(0, 5), new Location(-2, 0))
+            .addEdge("Strasse", new Location(3, -1), new Location(1, -2))
+            .distanceCalculator(new EuclideanDistanceCalculator())
+            .build();
+    }
+
+    /**
+     * Creates a random grid {@link Region}. The nodes are placed on a jittered grid and connected to their right, lower
+     * and diagonal neighbors, but a part of the edges is left out, so the paths are irregular and some nodes may not be
+     * reachable from each other. The node at the origin is a restaurant, every seventh node is a neighborhood.
+     * @param width The amount of columns.
+     * @param height The amount of rows.
+     * @param seed The seed of the random layout.
+     * @return The created {@link Region}.
+     */
+    public static Region randomGrid(int width, int height, long seed) {
+        return randomGrid(width, height, seed, new EuclideanDistanceCalculator());
+    }
+
+    /**
+     * Creates a random grid {@link Region} like {@link #randomGrid(int, int, long)}, but derives the durations of the
+     * edges with the given {@link DistanceCalculator}.
+     * @param width The amount of columns.
+     * @param height The amount of rows.
+     * @param seed The seed of the random layout.
+     * @param distanceCalculator The {@link DistanceCalculator} of the created {@link Region}.
+     * @return The created {@link Region}.
+     */
+    public static Region randomGrid(int width, int height, long seed, DistanceCalculator distanceCalculator) {
+        Random random = new Random(seed);
+        Location[][] locations = new Location[width][height];
+        Region.Builder builder = Region.builder().distanceCalculator(distanceCalculator);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                // the jitter is smaller than the spacing, so no two nodes share a location
+                Location location = new Location(x * 4 + random.nextInt(3), y * 4 + random.nextInt(3));
+                locations[x][y] = location;
+                int index = x * height + y;
+                if (index == 0) {
+                    builder.addRestaurant(location, Region.Restaurant.LOS_FOPBOTS_HERMANOS);
+                } else if (index % 7 == 0) {
+                    builder.addNeighborhood("Neighborhood " + index, location);
+                } else {
+                    builder.addNode("Node " + index, location);
+                }
+            }
+        }
+        List<Location[]> edges = new ArrayList<>();
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                if (x + 1 < width && random.nextDouble() < 0.8) {
+                    edges.add(new Location[] {locations[x][y], locations[x + 1][y]});
+                }
+                if (y + 1 < height && random.nextDouble() < 0.8) {
+                    edges.add(new Location[] {locations[x][y], locations[x][y + 1]});
+                }
+                if (x + 1 < width && y + 1 < height && random.nextDouble() < 0.2) {
+                    edges.add(new Location[] {locations[x][y], locations[x + 1][y + 1]});
+                }
+            }
+        }
+        for (int i = 0; i < edges.size(); i++) {
+            builder.addEdge("Edge " + i, edges.get(i)[0], edges.get(i)[1]);
+        }
+        return builder.build();
+    }
+}
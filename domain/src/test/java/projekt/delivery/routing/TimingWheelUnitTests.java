@@ -0,0 +1,156 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimingWheelUnitTests {
+
+    @Test
+    public void testPollOrder() {
+        TimingWheel<Long> wheel = new TimingWheel<>();
+        for (long dueTick : new long[] {5, 3, 70, 3, 0, 4100, 64}) {
+            wheel.schedule(dueTick, dueTick);
+        }
+        assertEquals(7, wheel.size());
+        assertEquals(0, wheel.getNextDueTick());
+
+        List<Long> due = new ArrayList<>();
+        wheel.poll(4, due);
+        assertEquals(List.of(0L, 3L, 3L), due);
+        assertEquals(5, wheel.getCurrentTick());
+        assertEquals(5, wheel.getNextDueTick());
+
+        due.clear();
+        wheel.poll(100, due);
+        assertEquals(List.of(5L, 64L, 70L), due);
+        assertEquals(4100, wheel.getNextDueTick());
+
+        due.clear();
+        wheel.poll(4099, due);
+        assertTrue(due.isEmpty());
+        wheel.poll(4100, due);
+        assertEquals(List.of(4100L), due);
+        assertEquals(0, wheel.size());
+        assertEquals(Long.MAX_VALUE, wheel.getNextDueTick());
+    }
+
+    @Test
+    public void testScheduleInThePast() {
+        TimingWheel<String> wheel = new TimingWheel<>();
+        List<String> due = new ArrayList<>();
+        wheel.poll(10, due);
+        wheel.schedule("late", 2);
+
+        assertEquals(11, wheel.getNextDueTick());
+        wheel.poll(11, due);
+        assertEquals(List.of("late"), due);
+    }
+
+    @Test
+    public void testOverflow() {
+        // the four levels of 64 slots cover 2^24 ticks
+        long farTick = (1L << 24) * 3 + 17;
+        TimingWheel<Long> wheel = new TimingWheel<>();
+        wheel.schedule(farTick, farTick);
+        wheel.schedule(1L, 1);
+        assertEquals(1, wheel.getNextDueTick());
+
+        List<Long> due = new ArrayList<>();
+        wheel.poll(1, due);
+        assertEquals(List.of(1L), due);
+        assertEquals(farTick, wheel.getNextDueTick());
+
+        // advancing within the range of the wheel moves the value out of the overflow list step by step
+        due.clear();
+        for (long tick = 1L << 23; tick < farTick; tick += 1L << 23) {
+            wheel.poll(tick, due);
+            assertTrue(due.isEmpty());
+        }
+        wheel.poll(farTick - 1, due);
+        assertTrue(due.isEmpty());
+        wheel.poll(farTick, due);
+        assertEquals(List.of(farTick), due);
+    }
+
+    @Test
+    public void testRebuild() {
+        TimingWheel<Long> wheel = new TimingWheel<>();
+        for (long dueTick : new long[] {10, 20, 1L << 30}) {
+            wheel.schedule(dueTick, dueTick);
+        }
+        List<Long> due = new ArrayList<>();
+
+        // polling further ahead than the wheel spans rebuilds it
+        wheel.poll((1L << 30) - 1, due);
+        assertEquals(List.of(10L, 20L), due);
+        assertEquals(1L << 30, wheel.getCurrentTick());
+
+        // polling backwards rebuilds the wheel as well
+        due.clear();
+        wheel.poll(3, due);
+        assertTrue(due.isEmpty());
+        assertEquals(4, wheel.getCurrentTick());
+        wheel.schedule(5L, 5);
+        assertEquals(2, wheel.size());
+        wheel.poll(1L << 30, due);
+        assertEquals(List.of(5L, 1L << 30), due);
+    }
+
+    @Test
+    public void testClear() {
+        TimingWheel<Long> wheel = new TimingWheel<>();
+        wheel.schedule(3L, 3);
+        wheel.schedule(1L << 26, 1L << 26);
+        wheel.clear(100);
+
+        assertEquals(0, wheel.size());
+        assertEquals(100, wheel.getCurrentTick());
+        assertEquals(Long.MAX_VALUE, wheel.getNextDueTick());
+        wheel.schedule(150L, 150);
+        List<Long> due = new ArrayList<>();
+        wheel.poll(200, due);
+        assertEquals(List.of(150L), due);
+    }
+
+    @Test
+    public void testRandomSchedules() {
+        Random random = new Random(42);
+        TimingWheel<Long> wheel = new TimingWheel<>();
+        List<Long> scheduled = new ArrayList<>();
+        List<Long> polled = new ArrayList<>();
+        long tick = 0;
+        for (int round = 0; round < 2000; round++) {
+            int amount = random.nextInt(4);
+            for (int i = 0; i < amount; i++) {
+                // mostly near future, sometimes several levels ahead
+                long dueTick = wheel.getCurrentTick() + (random.nextInt(10) == 0 ? random.nextInt(1 << 20) : random.nextInt(100));
+                wheel.schedule(dueTick, dueTick);
+                scheduled.add(dueTick);
+            }
+            tick += 1 + random.nextInt(random.nextInt(20) == 0 ? 5000 : 10);
+            List<Long> due = new ArrayList<>();
+            wheel.poll(tick, due);
+
+            List<Long> expected = new ArrayList<>();
+            for (Long dueTick : scheduled) {
+                if (dueTick <= tick) {
+                    expected.add(dueTick);
+                }
+            }
+            scheduled.removeAll(expected);
+            Collections.sort(expected);
+            assertEquals(expected, due);
+            assertEquals(scheduled.size(), wheel.size());
+            long nextDueTick = scheduled.isEmpty() ? Long.MAX_VALUE : Collections.min(scheduled);
+            assertEquals(nextDueTick, wheel.getNextDueTick());
+            polled.addAll(due);
+        }
+        assertFalse(polled.isEmpty());
+    }
+}
@@ -0,0 +1,157 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import projekt.base.Location;
+import projekt.base.TickInterval;
+import projekt.delivery.event.DeliverOrderEvent;
+import projekt.delivery.event.Event;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VehicleManagerForkUnitTests {
+
+    private VehicleManagerImpl vehicleManager;
+    private VehicleManager.OccupiedNeighborhood neighborhood;
+    private ConfirmedOrder order;
+    private Vehicle vehicle;
+
+    @BeforeEach
+    public void setup() {
+        vehicleManager = (VehicleManagerImpl) VehicleManager.builder()
+            .region(TestRegions.presetRegion())
+            .pathCalculator(new DijkstraPathCalculator())
+            .addVehicle(new Location(3, -1), 1)
+            .addVehicle(new Location(3, -1), 1)
+            .build();
+        Region region = vehicleManager.getRegion();
+        VehicleManager.OccupiedRestaurant restaurant = vehicleManager.getOccupiedRestaurant(region.getNode(new Location(3, -1)));
+        neighborhood = vehicleManager.getOccupiedNeighborhood(region.getNode(new Location(-2, 0)));
+        vehicleManager.tick(0);
+
+        order = new ConfirmedOrder(-2, 0, restaurant, new TickInterval(0, 100), List.of("Rigatoni"), 0.5);
+        vehicle = getVehicle(vehicleManager, 0);
+        restaurant.loadOrder(vehicle, order, 0);
+        // the arrival action refers to the components and the order of the original vehicle manager
+        vehicle.moveQueued(neighborhood.getComponent(), (v, t) -> neighborhood.deliverOrder(v, order, t));
+        vehicleManager.tick(1);
+        vehicleManager.tick(2);
+        assertInstanceOf(Region.Edge.class, vehicle.getOccupied().getComponent());
+    }
+
+    @Test
+    public void testSeparateOrders() {
+        VehicleManagerImpl fork = (VehicleManagerImpl) vehicleManager.fork();
+        Vehicle forkedVehicle = getVehicle(fork, 0);
+        ConfirmedOrder forkedOrder = forkedVehicle.getOrders().iterator().next();
+        assertNotSame(order, forkedOrder);
+        assertEquals(order.getOrderID(), forkedOrder.getOrderID());
+
+        long deliveryTick = tickUntilDelivered(fork, 3);
+        assertEquals(deliveryTick, forkedOrder.getActualDeliveryTick());
+        assertTrue(forkedVehicle.getOrders().isEmpty());
+        // the order of the original vehicle manager is still loaded and not delivered
+        assertEquals(0, order.getActualDeliveryTick());
+        assertEquals(List.of(order), List.copyOf(vehicle.getOrders()));
+
+        assertEquals(deliveryTick, tickUntilDelivered(vehicleManager, 3));
+        assertEquals(deliveryTick, order.getActualDeliveryTick());
+        assertTrue(vehicle.getOrders().isEmpty());
+    }
+
+    @Test
+    public void testForkOfFork() {
+        VehicleManagerImpl fork = (VehicleManagerImpl) vehicleManager.fork();
+        fork.tick(3);
+        VehicleManagerImpl forkOfFork = (VehicleManagerImpl) fork.fork();
+        ConfirmedOrder forkedOrder = getVehicle(fork, 0).getOrders().iterator().next();
+        ConfirmedOrder forkOfForkOrder = getVehicle(forkOfFork, 0).getOrders().iterator().next();
+        assertNotSame(order, forkOfForkOrder);
+        assertNotSame(forkedOrder, forkOfForkOrder);
+        // the original order is mapped to the copy of the fork of the fork, too
+        assertSame(forkOfForkOrder, forkOfFork.getForkedOrder(order));
+
+        long deliveryTick = tickUntilDelivered(forkOfFork, 4);
+        assertEquals(deliveryTick, forkOfForkOrder.getActualDeliveryTick());
+        assertEquals(0, forkedOrder.getActualDeliveryTick());
+        assertEquals(0, order.getActualDeliveryTick());
+        assertFalse(getVehicle(fork, 0).getOrders().isEmpty());
+    }
+
+    @Test
+    public void testSeparateEventBus() {
+        int logSize = vehicleManager.getEventBus().getLog().size();
+        VehicleManagerImpl fork = (VehicleManagerImpl) vehicleManager.fork();
+        assertNotSame(vehicleManager.getEventBus(), fork.getEventBus());
+
+        List<Event> events = new ArrayList<>();
+        for (long tick = 3; tick < 50; tick++) {
+            events.addAll(fork.tick(tick));
+        }
+        assertTrue(events.stream().anyMatch(DeliverOrderEvent.class::isInstance));
+        assertEquals(logSize, vehicleManager.getEventBus().getLog().size());
+        assertTrue(vehicleManager.getEventBus().popEvents(3).isEmpty());
+    }
+
+    @Test
+    public void testSeparateTimingWheel() {
+        TimingWheel<VehicleImpl> edgeExits = vehicleManager.getEdgeExits();
+        long currentTick = edgeExits.getCurrentTick();
+        long nextDueTick = edgeExits.getNextDueTick();
+        VehicleManagerImpl fork = (VehicleManagerImpl) vehicleManager.fork();
+        TimingWheel<VehicleImpl> forkedEdgeExits = fork.getEdgeExits();
+        assertNotSame(edgeExits, forkedEdgeExits);
+        assertEquals(edgeExits.size(), forkedEdgeExits.size());
+        assertEquals(nextDueTick, forkedEdgeExits.getNextDueTick());
+
+        for (long tick = 3; tick <= nextDueTick; tick++) {
+            fork.tick(tick);
+        }
+        assertEquals(0, forkedEdgeExits.size());
+        assertEquals(1, edgeExits.size());
+        assertEquals(currentTick, edgeExits.getCurrentTick());
+        assertEquals(nextDueTick, edgeExits.getNextDueTick());
+        assertEquals(nextDueTick, vehicleManager.getNextEventTick(3));
+        assertInstanceOf(Region.Edge.class, vehicle.getOccupied().getComponent());
+    }
+
+    @Test
+    public void testSharedCompactGraph() {
+        VehicleManagerImpl fork = (VehicleManagerImpl) vehicleManager.fork();
+        VehicleManagerImpl forkOfFork = (VehicleManagerImpl) fork.fork();
+        assertSame(vehicleManager.getCompactGraph(), fork.getCompactGraph());
+        assertSame(vehicleManager.getCompactGraph(), forkOfFork.getCompactGraph());
+        assertSame(vehicleManager.getRegion(), fork.getRegion());
+        assertSame(vehicleManager.getPathCalculator(), fork.getPathCalculator());
+
+        // the occupied components are not shared, but created once when they are accessed
+        Region.Node node = neighborhood.getComponent();
+        VehicleManager.OccupiedNeighborhood forkedNeighborhood = fork.getOccupiedNeighborhood(node);
+        assertNotSame(neighborhood, forkedNeighborhood);
+        assertSame(forkedNeighborhood, fork.getOccupiedNeighborhood(node));
+        assertSame(node, forkedNeighborhood.getComponent());
+        assertNotSame(forkedNeighborhood, forkOfFork.getOccupiedNeighborhood(node));
+        assertNotSame(vehicle.getOccupied(), getVehicle(fork, 0).getOccupied());
+        assertSame(vehicle.getOccupied().getComponent(), getVehicle(fork, 0).getOccupied().getComponent());
+    }
+
+    private static Vehicle getVehicle(VehicleManager vehicleManager, int id) {
+        return vehicleManager.getAllVehicles().stream().filter(vehicle -> vehicle.getId() == id).findFirst().orElseThrow();
+    }
+
+    /**
+     * Ticks the given {@link VehicleManager} from the given tick on until the first {@link DeliverOrderEvent} and
+     * returns the tick of the delivery.
+     */
+    private static long tickUntilDelivered(VehicleManager vehicleManager, long firstTick) {
+        for (long tick = firstTick; tick < firstTick + 100; tick++) {
+            if (vehicleManager.tick(tick).stream().anyMatch(DeliverOrderEvent.class::isInstance)) {
+                return tick;
+            }
+        }
+        return fail("the order was not delivered");
+    }
+}
@@ -0,0 +1,118 @@
+package projekt.delivery.simulation;
+
+import org.junit.jupiter.api.Test;
+import projekt.delivery.event.Event;
+import projekt.delivery.rating.RatingCriteria;
+import projekt.delivery.service.DeliveryService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static projekt.delivery.simulation.TestSimulations.createSimulation;
+import static projekt.delivery.simulation.TestSimulations.getRatings;
+
+public class SimulationCheckpointUnitTests {
+
+    private static final long CHECKPOINT_TICK = 200;
+    private static final long SIMULATION_LENGTH = 600;
+
+    @Test
+    public void testRestoreAfterRun() {
+        for (DeliveryService.Factory deliveryServiceFactory : List.of(DeliveryService.BASIC, DeliveryService.BOGO)) {
+            testRestoreAfterRun(false, deliveryServiceFactory);
+            testRestoreAfterRun(true, deliveryServiceFactory);
+        }
+    }
+
+    private void testRestoreAfterRun(boolean eventDriven, DeliveryService.Factory deliveryServiceFactory) {
+        BasicDeliverySimulation simulation = createSimulation(eventDriven, deliveryServiceFactory);
+        SimulationCheckpoint[] checkpoint = new SimulationCheckpoint[1];
+        simulation.addListener((events, tick) -> {
+            if (tick == CHECKPOINT_TICK - 1) {
+                simulation.runAfterTick(() -> checkpoint[0] = simulation.checkpoint());
+            }
+        });
+        List<String> events = recordEvents(simulation);
+        simulation.runSimulation(SIMULATION_LENGTH);
+        Map<RatingCriteria, Double> ratings = getRatings(simulation);
+        List<String> expectedEvents = new ArrayList<>(events);
+
+        assertNotNull(checkpoint[0]);
+        assertEquals(CHECKPOINT_TICK, checkpoint[0].getTick());
+        events.clear();
+        simulation.restore(checkpoint[0]);
+        assertEquals(CHECKPOINT_TICK, simulation.getCurrentTick());
+        simulation.resumeSimulation(SIMULATION_LENGTH);
+
+        assertEquals(ratings, getRatings(simulation));
+        assertEquals(expectedEvents, events);
+    }
+
+    @Test
+    public void testRestoreWhileRunning() {
+        Map<RatingCriteria, Double> ratings = getRatings(run(createSimulation(false, DeliveryService.BASIC)));
+
+        BasicDeliverySimulation simulation = createSimulation(false, DeliveryService.BASIC);
+        SimulationCheckpoint[] checkpoint = new SimulationCheckpoint[1];
+        boolean[] restored = new boolean[1];
+        simulation.addListener((events, tick) -> {
+            if (tick == CHECKPOINT_TICK - 1) {
+                simulation.runAfterTick(() -> checkpoint[0] = simulation.checkpoint());
+            } else if (tick == 2 * CHECKPOINT_TICK && !restored[0]) {
+                restored[0] = true;
+                simulation.runAfterTick(() -> simulation.restore(checkpoint[0]));
+            }
+        });
+        run(simulation);
+
+        assertTrue(restored[0]);
+        assertEquals(ratings, getRatings(simulation));
+    }
+
+    @Test
+    public void testCheckpointWhileNotifying() {
+        BasicDeliverySimulation simulation = createSimulation(false, DeliveryService.BASIC);
+        RuntimeException[] exception = new RuntimeException[1];
+        simulation.addListener((events, tick) -> {
+            if (tick == 10) {
+                try {
+                    simulation.checkpoint();
+                } catch (RuntimeException e) {
+                    exception[0] = e;
+                }
+            }
+        });
+        assertThrows(IllegalStateException.class, simulation::checkpoint);
+        simulation.runSimulation(20);
+
+        assertTrue(exception[0] instanceof IllegalStateException);
+    }
+
+    @Test
+    public void testCheckpointOfAnotherSimulation() {
+        BasicDeliverySimulation simulation = run(createSimulation(false, DeliveryService.BASIC));
+        SimulationCheckpoint checkpoint = simulation.checkpoint();
+
+        assertThrows(IllegalArgumentException.class, () -> createSimulation(false, DeliveryService.BASIC).restore(checkpoint));
+    }
+
+    private static BasicDeliverySimulation run(BasicDeliverySimulation simulation) {
+        simulation.runSimulation(SIMULATION_LENGTH);
+        return simulation;
+    }
+
+    private static List<String> recordEvents(Simulation simulation) {
+        List<String> events = new ArrayList<>();
+        simulation.addListener((tickEvents, tick) -> {
+            if (tick >= CHECKPOINT_TICK) {
+                for (Event event : tickEvents) {
+                    // regenerated orders receive new ids
+                    events.add(tick + " " + event.toString().replaceAll("@[0-9a-f]+|orderID=[0-9]+", ""));
+                }
+            }
+        });
+        return events;
+    }
+}
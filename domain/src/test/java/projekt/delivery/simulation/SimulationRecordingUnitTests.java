@@ -0,0 +1,135 @@
+package projekt.delivery.simulation;
+
+import org.junit.jupiter.api.Test;
+import projekt.delivery.event.Event;
+import projekt.delivery.routing.DijkstraPathCalculator;
+import projekt.delivery.routing.TestRegions;
+import projekt.delivery.routing.VehicleManager;
+import projekt.delivery.service.DeliveryService;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static projekt.delivery.simulation.TestSimulations.createRaterFactoryMap;
+import static projekt.delivery.simulation.TestSimulations.createSimulation;
+import static projekt.delivery.simulation.TestSimulations.createVehicleManager;
+import static projekt.delivery.simulation.TestSimulations.getRatings;
+
+public class SimulationRecordingUnitTests {
+
+    private static final long SIMULATION_LENGTH = 1000;
+
+    @Test
+    public void testReplay() {
+        for (DeliveryService.Factory deliveryServiceFactory : List.of(DeliveryService.BASIC, DeliveryService.BOGO)) {
+            testReplay(false, deliveryServiceFactory);
+            testReplay(true, deliveryServiceFactory);
+        }
+    }
+
+    private void testReplay(boolean eventDriven, DeliveryService.Factory deliveryServiceFactory) {
+        BasicDeliverySimulation simulation = createSimulation(eventDriven, deliveryServiceFactory);
+        simulation.setRecording(true);
+        List<String> events = recordEvents(simulation);
+        simulation.runSimulation(SIMULATION_LENGTH);
+        SimulationRecording recording = simulation.getRecording();
+
+        assertNotNull(recording);
+        assertEquals(100, recording.getOrderCount());
+        assertTrue(recording.getDecisionCount() > 0);
+
+        VehicleManager vehicleManager = recording.getVehicleManager();
+        BasicDeliverySimulation replay = recording.createReplay(createRaterFactoryMap(vehicleManager));
+        List<String> replayEvents = recordEvents(replay);
+        replay.runSimulation(recording.getLength());
+
+        assertEquals(events, replayEvents);
+        assertEquals(getRatings(simulation), getRatings(replay));
+    }
+
+    @Test
+    public void testReadRecording() throws IOException {
+        for (DeliveryService.Factory deliveryServiceFactory : List.of(DeliveryService.BASIC, DeliveryService.BOGO)) {
+            for (int seed = 1; seed <= 4; seed++) {
+                testReadRecording(deliveryServiceFactory, seed);
+            }
+        }
+    }
+
+    private void testReadRecording(DeliveryService.Factory deliveryServiceFactory, int seed) throws IOException {
+        BasicDeliverySimulation simulation = createSimulation(false, deliveryServiceFactory, createVehicleManager(2), seed);
+        simulation.setRecording(true);
+        List<String> events = recordEvents(simulation);
+        simulation.runSimulation(SIMULATION_LENGTH);
+        SimulationRecording recording = simulation.getRecording();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        recording.write(new DataOutputStream(bytes));
+        // a new vehicle manager has other hash codes, so the replay must not depend on them
+        VehicleManager vehicleManager = createVehicleManager(2);
+        SimulationRecording readRecording = SimulationRecording.read(vehicleManager, new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(recording.getLength(), readRecording.getLength());
+        assertEquals(recording.getOrderCount(), readRecording.getOrderCount());
+        assertEquals(recording.getDecisionCount(), readRecording.getDecisionCount());
+
+        BasicDeliverySimulation replay = readRecording.createReplay(createRaterFactoryMap(vehicleManager));
+        // the events contain the ids of the orders, which must be the recorded ones
+        List<String> replayEvents = recordEvents(replay);
+        replay.runSimulation(readRecording.getLength());
+
+        assertEquals(events.size(), replayEvents.size());
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals(events.get(i), replayEvents.get(i), "event %d of seed %d".formatted(i, seed));
+        }
+        assertEquals(getRatings(simulation), getRatings(replay));
+    }
+
+    @Test
+    public void testReadRecordingOfAnotherRegion() throws IOException {
+        BasicDeliverySimulation simulation = createSimulation(false, DeliveryService.BASIC);
+        simulation.setRecording(true);
+        simulation.runSimulation(SIMULATION_LENGTH);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        simulation.getRecording().write(new DataOutputStream(bytes));
+
+        VehicleManager vehicleManager = VehicleManager.builder()
+            .region(TestRegions.randomGrid(4, 4, 1))
+            .pathCalculator(new DijkstraPathCalculator())
+            .build();
+        assertThrows(IOException.class,
+            () -> SimulationRecording.read(vehicleManager, new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+    }
+
+    @Test
+    public void testDivergence() throws IOException {
+        BasicDeliverySimulation simulation = createSimulation(false, DeliveryService.BASIC);
+        simulation.setRecording(true);
+        simulation.runSimulation(SIMULATION_LENGTH);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        simulation.getRecording().write(new DataOutputStream(bytes));
+
+        // the vehicles cannot carry the orders they loaded in the recorded run
+        VehicleManager vehicleManager = createVehicleManager(0.01);
+        SimulationRecording recording = SimulationRecording.read(vehicleManager, new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        BasicDeliverySimulation replay = recording.createReplay(createRaterFactoryMap(vehicleManager));
+
+        assertThrows(IllegalStateException.class, () -> replay.runSimulation(recording.getLength()));
+    }
+
+    private static List<String> recordEvents(Simulation simulation) {
+        List<String> events = new ArrayList<>();
+        simulation.addListener((tickEvents, tick) -> {
+            for (Event event : tickEvents) {
+                events.add(tick + " " + event.toString().replaceAll("@[0-9a-f]+", ""));
+            }
+        });
+        return events;
+    }
+}
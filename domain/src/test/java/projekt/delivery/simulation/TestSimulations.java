@@ -0,0 +1,93 @@
+package projekt.delivery.simulation;
+
+import projekt.base.Location;
+import projekt.delivery.generator.FridayOrderGenerator;
+import projekt.delivery.generator.OrderGenerator;
+import projekt.delivery.rating.AmountDeliveredRater;
+import projekt.delivery.rating.InTimeRater;
+import projekt.delivery.rating.Rater;
+import projekt.delivery.rating.RatingCriteria;
+import projekt.delivery.rating.TravelDistanceRater;
+import projekt.delivery.routing.DijkstraPathCalculator;
+import projekt.delivery.routing.TestRegions;
+import projekt.delivery.routing.VehicleManager;
+import projekt.delivery.service.DeliveryService;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The simulations shared by the unit tests of checkpoints and recordings.
+ */
+final class TestSimulations {
+
+    private TestSimulations() {
+    }
+
+    /**
+     * Creates an unthrottled simulation of 100 orders on the {@linkplain TestRegions#presetRegion() preset region} with
+     * three {@link projekt.delivery.routing.Vehicle}s.
+     * @param eventDriven Whether an {@link EventDrivenDeliverySimulation} is created.
+     * @param deliveryServiceFactory The {@link DeliveryService.Factory} of the dispatcher.
+     * @return The created {@link BasicDeliverySimulation}.
+     */
+    static BasicDeliverySimulation createSimulation(boolean eventDriven, DeliveryService.Factory deliveryServiceFactory) {
+        return createSimulation(eventDriven, deliveryServiceFactory, createVehicleManager(2), 7);
+    }
+
+    /**
+     * Creates a simulation like {@link #createSimulation(boolean, DeliveryService.Factory)} on the given
+     * {@link VehicleManager} whose orders are generated with the given seed.
+     */
+    static BasicDeliverySimulation createSimulation(boolean eventDriven, DeliveryService.Factory deliveryServiceFactory,
+                                                    VehicleManager vehicleManager, int seed) {
+        OrderGenerator.Factory orderGeneratorFactory = FridayOrderGenerator.Factory.builder()
+            .setOrderCount(100)
+            .setVehicleManager(vehicleManager)
+            .setLastTick(300)
+            .setSeed(seed)
+            .setMaxWeight(0.5)
+            .build();
+        SimulationConfig simulationConfig = new SimulationConfig(0);
+        DeliveryService deliveryService = deliveryServiceFactory.create(vehicleManager);
+        return eventDriven
+            ? new EventDrivenDeliverySimulation(simulationConfig, createRaterFactoryMap(vehicleManager), deliveryService, orderGeneratorFactory)
+            : new BasicDeliverySimulation(simulationConfig, createRaterFactoryMap(vehicleManager), deliveryService, orderGeneratorFactory);
+    }
+
+    /**
+     * Creates a new {@link VehicleManager} on the preset region with three {@link projekt.delivery.routing.Vehicle}s at
+     * the restaurant, the first two of which have the given capacity.
+     */
+    static VehicleManager createVehicleManager(double capacity) {
+        return VehicleManager.builder()
+            .region(TestRegions.presetRegion())
+            .pathCalculator(new DijkstraPathCalculator())
+            .addVehicle(new Location(3, -1), capacity)
+            .addVehicle(new Location(3, -1), capacity)
+            .addVehicle(new Location(3, -1), 1)
+            .build();
+    }
+
+    /**
+     * Creates the {@link Rater.Factory}s of all {@link RatingCriteria} for the given {@link VehicleManager}.
+     */
+    static Map<RatingCriteria, Rater.Factory> createRaterFactoryMap(VehicleManager vehicleManager) {
+        Map<RatingCriteria, Rater.Factory> raterFactoryMap = new EnumMap<>(RatingCriteria.class);
+        raterFactoryMap.put(RatingCriteria.IN_TIME, InTimeRater.Factory.builder().build());
+        raterFactoryMap.put(RatingCriteria.AMOUNT_DELIVERED, AmountDeliveredRater.Factory.builder().build());
+        raterFactoryMap.put(RatingCriteria.TRAVEL_DISTANCE, TravelDistanceRater.Factory.builder().setVehicleManager(vehicleManager).build());
+        return raterFactoryMap;
+    }
+
+    /**
+     * Returns the ratings of all {@link RatingCriteria} of the given {@link Simulation}.
+     */
+    static Map<RatingCriteria, Double> getRatings(Simulation simulation) {
+        Map<RatingCriteria, Double> ratings = new EnumMap<>(RatingCriteria.class);
+        for (RatingCriteria criterion : RatingCriteria.values()) {
+            ratings.put(criterion, simulation.getRatingForCriterion(criterion));
+        }
+        return ratings;
+    }
+}
@@ -0,0 +1,48 @@
+package projekt.delivery.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TickSchedulerUnitTests {
+
+    @Test
+    public void testSkipWaitsOneTickAfterOverrun() throws InterruptedException {
+        SimulationConfig simulationConfig = new SimulationConfig(20);
+        simulationConfig.setOverrunPolicy(TickScheduler.OverrunPolicy.SKIP);
+        TickScheduler tickScheduler = new TickScheduler(simulationConfig);
+
+        // the tick overruns its own deadline and the one of the following tick
+        Thread.sleep(55);
+        long end = System.nanoTime();
+        tickScheduler.awaitNextTick();
+        assertTrue(System.nanoTime() - end >= TimeUnit.MILLISECONDS.toNanos(20), "the next tick started too early");
+        assertEquals(1, tickScheduler.getOverrunCount());
+        assertTrue(tickScheduler.getSkippedDeadlineCount() >= 2);
+
+        // the schedule continues from the end of the overrunning tick
+        long start = System.nanoTime();
+        tickScheduler.awaitNextTick();
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(15));
+        assertEquals(2, tickScheduler.getTickCount());
+        assertEquals(1, tickScheduler.getOverrunCount());
+    }
+
+    @Test
+    public void testCatchUpDoesNotWaitAfterOverrun() throws InterruptedException {
+        SimulationConfig simulationConfig = new SimulationConfig(20);
+        simulationConfig.setOverrunPolicy(TickScheduler.OverrunPolicy.CATCH_UP);
+        TickScheduler tickScheduler = new TickScheduler(simulationConfig);
+
+        Thread.sleep(55);
+        long start = System.nanoTime();
+        // the deadlines of both ticks have already passed
+        tickScheduler.awaitNextTick();
+        tickScheduler.awaitNextTick();
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(15), "the ticks did not catch up");
+        assertEquals(2, tickScheduler.getOverrunCount());
+        assertEquals(0, tickScheduler.getSkippedDeadlineCount());
+    }
+}
@@ -0,0 +1,348 @@
+package projekt;
+
+import org.jetbrains.annotations.Nullable;
+import projekt.delivery.archetype.ProblemArchetype;
+import projekt.delivery.archetype.ProblemArchetypeImpl;
+import projekt.delivery.archetype.ProblemGroupImpl;
+import projekt.delivery.generator.FridayOrderGenerator;
+import projekt.delivery.rating.Rater;
+import projekt.delivery.rating.RatingCriteria;
+import projekt.delivery.routing.Vehicle;
+import projekt.delivery.routing.VehicleManager;
+import projekt.delivery.service.DeliveryService;
+import projekt.delivery.simulation.EventDrivenDeliverySimulation;
+import projekt.delivery.simulation.Simulation;
+import projekt.delivery.simulation.SimulationConfig;
+import projekt.io.IOHelper;
+import projekt.runner.ParallelRunner;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs simulations without a gui for a grid of parameters and writes one CSV row per simulation.<p>
+ *
+ * The problems are read from problem files. Every combination of a problem, the parameters of a
+ * {@link FridayOrderGenerator} and a fleet size is simulated as fast as possible, in parallel and without any console
+ * output apart from one line per problem on the standard error, which reports the warm-up of its routing cache.
+ * Parameters that are not given are taken from the problem. A fleet of a given size is created by cycling through
+ * the starting nodes and capacities of the vehicles of the problem. Each row is written as soon as its simulation
+ * finished, so the rows are not sorted.<p>
+ *
+ * The combinations of a problem share its path calculator, so it is warmed up once per problem, before the first
+ * simulation is started.
+ */
+public class BatchProjektImpl implements Projekt {
+
+    private static final String USAGE = """
+        Usage: --batch [options]
+          --problem <file>              a problem file, may be given multiple times (default: all problems)
+          --order-count <ints>          order counts of the order generator
+          --delivery-interval <ints>    delivery intervals of the order generator
+          --standard-deviation <reals>  standard deviations of the order generator
+          --seed <ints>                 base seeds of the order generator, run i adds i
+          --vehicles <ints>             fleet sizes
+          --runs <int>                  runs per combination (default: 1)
+          --threads <int>               simulations executed at the same time (default: available processors)
+          --service <basic|bogo|our>    the delivery service (default: basic)
+          --output <file>               the CSV file to write (default: standard output)
+        Lists are separated by commas, integers may also be given as ranges like 1..10 or 1..10:3.""";
+
+    private static final Map<String, DeliveryService.Factory> DELIVERY_SERVICES = Map.of(
+        "basic", DeliveryService.BASIC,
+        "bogo", DeliveryService.BOGO,
+        "our", DeliveryService.OUR
+    );
+
+    private final String[] args;
+
+    /**
+     * Creates a new {@link BatchProjektImpl} instance.
+     * @param args The command line arguments, optionally starting with {@code --batch}.
+     */
+    public BatchProjektImpl(String[] args) {
+        this.args = args;
+    }
+
+    @Override
+    public void start() {
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return;
+        }
+
+        List<ProblemArchetype> problems;
+        if (options.problemFiles.isEmpty()) {
+            IOHelper.initProblemPresets();
+            problems = IOHelper.readProblems();
+        } else {
+            problems = options.problemFiles.stream().map(IOHelper::readProblem).toList();
+        }
+
+        Map<ProblemArchetype, Combination> combinations = new IdentityHashMap<>();
+        List<ProblemArchetype> archetypes = new ArrayList<>();
+        ForkJoinPool warmUpPool = new ForkJoinPool(options.threads);
+        try {
+            for (ProblemArchetype problem : problems) {
+                boolean warmUp = true;
+                for (Combination combination : options.combinations(problem)) {
+                    ProblemArchetype archetype = createArchetype(problem, combination, warmUp ? warmUpPool : null);
+                    combinations.put(archetype, combination);
+                    archetypes.add(archetype);
+                    warmUp = false;
+                }
+            }
+        } finally {
+            warmUpPool.shutdown();
+        }
+        List<RatingCriteria> criteria = Arrays.stream(RatingCriteria.values())
+            .filter(criterion -> problems.stream().allMatch(problem -> problem.raterFactoryMap().containsKey(criterion)))
+            .toList();
+
+        try (PrintWriter writer = options.output == null
+            ? new PrintWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), false)
+            : new PrintWriter(new BufferedWriter(new FileWriter(options.output, StandardCharsets.UTF_8)))) {
+
+            writer.println("problem,orderCount,deliveryInterval,standardDeviation,seed,vehicles,run,"
+                + criteria.stream().map(Enum::name).collect(Collectors.joining(",")));
+            writer.flush();
+
+            ParallelRunner runner = new ParallelRunner(options.threads, (archetype, run, result) -> {
+                Combination combination = combinations.get(archetype);
+                writer.println("%s,%d,%d,%s,%d,%d,%d,%s".formatted(
+                    escape(archetype.name()),
+                    combination.orderCount(),
+                    combination.deliveryInterval(),
+                    combination.standardDeviation(),
+                    combination.seed(),
+                    combination.vehicles(),
+                    run,
+                    criteria.stream().map(criterion -> String.valueOf(result.get(criterion))).collect(Collectors.joining(","))
+                ));
+                writer.flush();
+            }) {
+                @Override
+                protected Simulation createSimulation(ProblemArchetype problem,
+                                                      SimulationConfig simulationConfig,
+                                                      DeliveryService.Factory deliveryServiceFactory) {
+                    return new EventDrivenDeliverySimulation(
+                        simulationConfig,
+                        problem.raterFactoryMap(),
+                        deliveryServiceFactory.create(problem.vehicleManager()),
+                        problem.orderGeneratorFactory()
+                    );
+                }
+            };
+            runner.run(
+                new ProblemGroupImpl(archetypes, criteria),
+                new SimulationConfig(SimulationConfig.UNTHROTTLED),
+                options.runs,
+                options.deliveryService,
+                (simulation, problem, i) -> {
+                },
+                (simulation, problem) -> false,
+                result -> {
+                });
+
+            // the archetypes share the path calculators of the problems, which now contain the paths of all runs
+            problems.forEach(IOHelper::writeRoutingCache);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Creates a {@link ProblemArchetype} that simulates the given problem with the given parameters. It shares the
+     * {@link projekt.delivery.routing.Region} and the {@link projekt.delivery.routing.PathCalculator} of the problem.
+     * If a pool is given, the path calculator is warmed up on it and the report is printed to the standard error.
+     */
+    private static ProblemArchetype createArchetype(ProblemArchetype problem, Combination combination,
+                                                    @Nullable ForkJoinPool warmUpPool) {
+        VehicleManager original = problem.vehicleManager();
+        List<Vehicle> vehicles = original.getAllVehicles().stream()
+            .sorted(Comparator.comparingInt(Vehicle::getId))
+            .toList();
+        if (vehicles.isEmpty()) {
+            throw new IllegalArgumentException("Problem %s has no vehicles to create a fleet from".formatted(problem.name()));
+        }
+
+        VehicleManager.Builder builder = VehicleManager.builder()
+            .region(original.getRegion())
+            .pathCalculator(original.getPathCalculator());
+        for (int i = 0; i < combination.vehicles(); i++) {
+            Vehicle vehicle = vehicles.get(i % vehicles.size());
+            builder.addVehicle(vehicle.getStartingNode().getComponent().getLocation(), vehicle.getCapacity());
+        }
+        if (warmUpPool != null) {
+            builder.warmUp(warmUpPool, report -> System.err.println("%s: %s".formatted(problem.name(), report)));
+        }
+        VehicleManager vehicleManager = builder.build();
+
+        FridayOrderGenerator.FactoryBuilder orderGeneratorFactoryBuilder = FridayOrderGenerator.Factory.builder();
+        if (problem.orderGeneratorFactory() instanceof FridayOrderGenerator.Factory factory) {
+            orderGeneratorFactoryBuilder
+                .setMaxWeight(factory.maxWeight)
+                .setLastTick(factory.lastTick);
+        }
+        orderGeneratorFactoryBuilder
+            .setOrderCount(combination.orderCount())
+            .setDeliveryInterval(combination.deliveryInterval())
+            .setStandardDeviation(combination.standardDeviation())
+            .setSeed(combination.seed())
+            .setVehicleManager(vehicleManager);
+
+        Map<RatingCriteria, Rater.Factory> raterFactoryMap = new EnumMap<>(RatingCriteria.class);
+        problem.raterFactoryMap().forEach((criterion, factory) -> raterFactoryMap.put(criterion, factory.withVehicleManager(vehicleManager)));
+
+        return new ProblemArchetypeImpl(
+            orderGeneratorFactoryBuilder.build(),
+            vehicleManager,
+            raterFactoryMap,
+            problem.simulationLength(),
+            problem.name()
+        );
+    }
+
+    private static String escape(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    /**
+     * A combination of parameters that is simulated.
+     */
+    private record Combination(int orderCount, int deliveryInterval, double standardDeviation, int seed, int vehicles) {
+    }
+
+    /**
+     * The parsed command line arguments. Lists that were not given are empty and replaced by the values of a problem.
+     */
+    private static final class Options {
+
+        private final List<File> problemFiles = new ArrayList<>();
+        private List<Integer> orderCounts = List.of();
+        private List<Integer> deliveryIntervals = List.of();
+        private List<Double> standardDeviations = List.of();
+        private List<Integer> seeds = List.of();
+        private List<Integer> fleetSizes = List.of();
+        private int runs = 1;
+        private int threads = Runtime.getRuntime().availableProcessors();
+        private DeliveryService.Factory deliveryService = DeliveryService.BASIC;
+        private File output;
+
+        private static Options parse(String[] args) {
+            Options options = new Options();
+            int i = args.length > 0 && args[0].equals("--batch") ? 1 : 0;
+            while (i < args.length) {
+                String option = args[i++];
+                if (option.equals("--help")) {
+                    throw new IllegalArgumentException("Runs simulations without a gui and writes their results as CSV.");
+                }
+                if (i == args.length) {
+                    throw new IllegalArgumentException("Missing value for option " + option);
+                }
+                String value = args[i++];
+                switch (option) {
+                    case "--problem" -> options.problemFiles.add(new File(value));
+                    case "--order-count" -> options.orderCounts = parseIntegers(option, value);
+                    case "--delivery-interval" -> options.deliveryIntervals = parseIntegers(option, value);
+                    case "--standard-deviation" -> options.standardDeviations = parseList(option, value, Double::parseDouble);
+                    case "--seed" -> options.seeds = parseIntegers(option, value);
+                    case "--vehicles" -> options.fleetSizes = parseIntegers(option, value);
+                    case "--runs" -> options.runs = parsePositive(option, value);
+                    case "--threads" -> options.threads = parsePositive(option, value);
+                    case "--service" -> {
+                        options.deliveryService = DELIVERY_SERVICES.get(value.toLowerCase(Locale.ROOT));
+                        if (options.deliveryService == null) {
+                            throw new IllegalArgumentException("Unknown delivery service: " + value);
+                        }
+                    }
+                    case "--output" -> options.output = value.equals("-") ? null : new File(value);
+                    default -> throw new IllegalArgumentException("Unknown option: " + option);
+                }
+            }
+            return options;
+        }
+
+        /**
+         * Returns all combinations of the parameters for the given problem.
+         */
+        private List<Combination> combinations(ProblemArchetype problem) {
+            FridayOrderGenerator.Factory factory = problem.orderGeneratorFactory() instanceof FridayOrderGenerator.Factory friday
+                ? friday
+                : FridayOrderGenerator.Factory.builder().setVehicleManager(problem.vehicleManager()).build();
+
+            List<Combination> combinations = new ArrayList<>();
+            for (int orderCount : orDefault(orderCounts, factory.orderCount)) {
+                for (int deliveryInterval : orDefault(deliveryIntervals, factory.deliveryInterval)) {
+                    for (double standardDeviation : orDefault(standardDeviations, factory.standardDeviation)) {
+                        for (int seed : orDefault(seeds, factory.seed)) {
+                            for (int vehicles : orDefault(fleetSizes, problem.vehicleManager().getAllVehicles().size())) {
+                                combinations.add(new Combination(orderCount, deliveryInterval, standardDeviation, seed, vehicles));
+                            }
+                        }
+                    }
+                }
+            }
+            return combinations;
+        }
+
+        private static <T> List<T> orDefault(List<T> values, T defaultValue) {
+            return values.isEmpty() ? List.of(defaultValue) : values;
+        }
+
+        private static int parsePositive(String option, String value) {
+            int parsed = parseList(option, value, Integer::parseInt).get(0);
+            if (parsed < 1) {
+                throw new IllegalArgumentException("Value of option %s must be positive: %s".formatted(option, value));
+            }
+            return parsed;
+        }
+
+        private static List<Integer> parseIntegers(String option, String value) {
+            List<Integer> values = new ArrayList<>();
+            for (String part : value.split(",")) {
+                if (!part.contains("..")) {
+                    values.add(parseList(option, part, Integer::parseInt).get(0));
+                    continue;
+                }
+                String[] range = part.split("\\.\\.|:");
+                if (range.length < 2 || range.length > 3) {
+                    throw new IllegalArgumentException("Illegal range for option %s: %s".formatted(option, part));
+                }
+                int from = parseList(option, range[0], Integer::parseInt).get(0);
+                int to = parseList(option, range[1], Integer::parseInt).get(0);
+                int step = range.length == 3 ? parseList(option, range[2], Integer::parseInt).get(0) : 1;
+                if (step < 1 || to < from) {
+                    throw new IllegalArgumentException("Illegal range for option %s: %s".formatted(option, part));
+                }
+                for (int i = from; i <= to; i += step) {
+                    values.add(i);
+                }
+            }
+            return values;
+        }
+
+        private static <T> List<T> parseList(String option, String value, Function<String, T> parser) {
+            List<T> values = new ArrayList<>();
+            for (String part : value.split(",")) {
+                try {
+                    values.add(parser.apply(part.trim()));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Illegal value for option %s: %s".formatted(option, part));
+                }
+            }
+            return values;
+        }
+    }
+}
@@ -369,6 +369,9 @@ public class MainMenuScene extends MenuScene<MainMenuSceneController> {
                             raterScene.init(problemGroup.problems(), result);
                         });
                     });
+
+                //persist the paths calculated during the simulations
+                problems.forEach(IOHelper::writeRoutingCache);
             }).start();
         });
 
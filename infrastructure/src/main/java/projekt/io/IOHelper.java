@@ -1,8 +1,10 @@
 package projekt.io;
 
 import projekt.delivery.archetype.ProblemArchetype;
+import projekt.delivery.routing.Region;
 
 import java.io.*;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
 
@@ -12,6 +14,9 @@ import java.util.*;
 public class IOHelper {
 
     public static final File PROBLEMS_DIR = Path.of(System.getProperty("user.dir"), "projekt", "gui", "problems").toFile();
+    public static final File ROUTING_DIR = Path.of(PROBLEMS_DIR.getPath(), "routing").toFile();
+
+    private static final String PROBLEM_EXTENSION = ".txt";
 
     /**
      * Copies the {@link ProblemArchetype} presets from the resource directory into the build directory.
@@ -22,12 +27,19 @@ public class IOHelper {
 
     /**
      * Copies the {@link ProblemArchetype} preset with the given names from the resource directory into the build directory.
+     * Presets are copied as they are, and presets that have already been copied are skipped, so they are not parsed again
+     * on every start.
      */
     private static void copyProblemFiles(String... fileNames) {
         for (String fileName : fileNames) {
-            try (InputStream problem = IOHelper.class.getResourceAsStream("presets/" + fileName + ".txt");
-                 BufferedReader reader = new BufferedReader(new InputStreamReader(Objects.requireNonNull(problem)))) {
-                writeProblem(ProblemArchetypeIO.readProblemArchetype(reader));
+            try (InputStream problem = IOHelper.class.getResourceAsStream("presets/" + fileName + PROBLEM_EXTENSION)) {
+                byte[] content = Objects.requireNonNull(problem).readAllBytes();
+                File file = Path.of(PROBLEMS_DIR.getPath(), fileName + PROBLEM_EXTENSION).toFile();
+                if (file.exists() && Arrays.equals(content, Files.readAllBytes(file.toPath()))) {
+                    continue;
+                }
+                Files.createDirectories(PROBLEMS_DIR.toPath());
+                Files.write(file.toPath(), content);
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
@@ -46,6 +58,7 @@ public class IOHelper {
 
     /**
      * Returns a {@link Set} of {@link File}s containing all {@link ProblemArchetype}s stored in the build dir (build/run/projekt/gui/problems).
+     * Other files in the build dir, e.g. the persisted routing data, are ignored.
      *
      * @return A {@link Set} of {@link File}s containing all {@link ProblemArchetype}s stored in the build dir.
      */
@@ -57,23 +70,36 @@ public class IOHelper {
             dir.mkdirs();
         }
 
-        return new HashSet<>(Arrays.asList(Objects.requireNonNull(dir.listFiles())));
+        return new HashSet<>(Arrays.asList(Objects.requireNonNull(dir.listFiles((ignored, name) -> name.endsWith(PROBLEM_EXTENSION)))));
     }
 
     private static List<ProblemArchetype> readProblemsInFiles(Set<File> files) {
         List<ProblemArchetype> problems = new ArrayList<>();
 
         for (File file : files) {
-            try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-                problems.add(ProblemArchetypeIO.readProblemArchetype(reader));
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
+            problems.add(readProblem(file));
         }
 
         return problems;
     }
 
+    /**
+     * Reads the {@link ProblemArchetype} stored in the given file and the persisted routing data of its region.
+     *
+     * @param file The file containing the {@link ProblemArchetype}.
+     * @return The read {@link ProblemArchetype}.
+     */
+    public static ProblemArchetype readProblem(File file) {
+        ProblemArchetype problem;
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            problem = ProblemArchetypeIO.readProblemArchetype(reader);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        readRoutingCache(problem);
+        return problem;
+    }
+
     /**
      * Writes the given {@link ProblemArchetype} into a text file in the build directory (build/run/projekt/gui/problems).<p>
      * <p>
@@ -90,7 +116,7 @@ public class IOHelper {
         }
         System.out.println("Wrote Archetype. Name: " + problem.name());
 
-        File file = Path.of(PROBLEMS_DIR.getPath(), problem.name() + ".txt").toFile();
+        File file = Path.of(PROBLEMS_DIR.getPath(), problem.name() + PROBLEM_EXTENSION).toFile();
 
         try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
             file.createNewFile();
@@ -99,4 +125,37 @@ public class IOHelper {
             throw new RuntimeException(e);
         }
     }
+
+    /**
+     * Writes the precomputed routing data of the given {@link ProblemArchetype} into the routing directory
+     * (build/run/projekt/gui/problems/routing).<p>
+     *
+     * The files are named after the fingerprint of the {@link Region} of the {@link ProblemArchetype}. Their content
+     * is produced by the {@link RoutingCacheIO#writeRoutingCache(projekt.delivery.routing.VehicleManager, File)} method.
+     * Since the cached paths are only calculated while a simulation runs, this method should be called after the
+     * simulations of the {@link ProblemArchetype} have been run.
+     *
+     * @param problem The {@link ProblemArchetype} to write the routing data of.
+     */
+    public static void writeRoutingCache(ProblemArchetype problem) {
+        try {
+            RoutingCacheIO.writeRoutingCache(problem.vehicleManager(), ROUTING_DIR);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Reads the precomputed routing data of the given {@link ProblemArchetype} from the routing directory
+     * (build/run/projekt/gui/problems/routing) and passes it to its path calculators.<p>
+     *
+     * Data that does not exist or was written for another {@link Region} is ignored, and files that cannot be read,
+     * e.g. because they are damaged, are deleted. In both cases the data is computed when it is needed for the first
+     * time, so loading a {@link ProblemArchetype} never fails because of its routing data.
+     *
+     * @param problem The {@link ProblemArchetype} to read the routing data of.
+     */
+    public static void readRoutingCache(ProblemArchetype problem) {
+        RoutingCacheIO.readRoutingCache(problem.vehicleManager(), ROUTING_DIR);
+    }
 }
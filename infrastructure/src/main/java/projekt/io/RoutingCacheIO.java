@@ -0,0 +1,201 @@
+package projekt.io;
+
+import projekt.delivery.routing.*;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Persists the precomputed routing data of a {@link VehicleManager}, so that it does not have to be computed again when
+ * the same {@link Region} is loaded the next time.<p>
+ *
+ * The data is stored in a directory with one file per kind of data. Files are named after the
+ * {@link Region#getFingerprint() fingerprint} of the {@link Region} and the version of the format, so problems with the
+ * same {@link Region} share them and files of a changed {@link Region} or an older format are never used. The following data is stored, depending on the
+ * {@link PathCalculator}s of the {@link VehicleManager}:
+ * <ul>
+ *     <li>the cached {@link ShortestPathTree}s of a {@link CachedPathCalculator},</li>
+ *     <li>the {@link LandmarkTable} of a {@link LandmarkPathCalculator},</li>
+ *     <li>the contraction hierarchy of a {@link ContractionHierarchyPathCalculator}.</li>
+ * </ul>
+ * Files are memory-mapped when they are read, so loading them costs little more than the page faults of their content.
+ */
+public class RoutingCacheIO {
+
+    // part of the file names, increased whenever the format of a file changes, so files of older versions are not read
+    private static final int CACHE_VERSION = 2;
+
+    private static final String TREES_EXTENSION = ".trees";
+    private static final String LANDMARKS_EXTENSION = ".landmarks";
+    private static final String HIERARCHY_EXTENSION = ".hierarchy";
+
+    /**
+     * Writes the routing data of the given {@link VehicleManager} into the given directory. Landmarks and contraction
+     * hierarchies are computed if they do not exist yet.
+     *
+     * @param vehicleManager The {@link VehicleManager} to write the routing data of.
+     * @param directory The directory to write the files into.
+     * @throws IOException If an I/O error occurs.
+     */
+    public static void writeRoutingCache(VehicleManager vehicleManager, File directory) throws IOException {
+        Region region = vehicleManager.getRegion();
+        PathCalculator pathCalculator = vehicleManager.getPathCalculator();
+        Files.createDirectories(directory.toPath());
+
+        while (pathCalculator instanceof CachedPathCalculator cachedPathCalculator) {
+            List<ShortestPathTree> trees = cachedPathCalculator.getCachedTrees();
+            if (!trees.isEmpty()) {
+                write(getFile(directory, region, TREES_EXTENSION), out -> {
+                    out.writeInt(trees.size());
+                    for (ShortestPathTree tree : trees) {
+                        tree.write(out);
+                    }
+                });
+            }
+            pathCalculator = cachedPathCalculator.getDelegate();
+        }
+
+        if (pathCalculator instanceof LandmarkPathCalculator landmarkPathCalculator) {
+            LandmarkTable table = landmarkPathCalculator.getLandmarkTable(region);
+            write(getFile(directory, region, LANDMARKS_EXTENSION), table::write);
+        } else if (pathCalculator instanceof ContractionHierarchyPathCalculator hierarchyPathCalculator) {
+            write(getFile(directory, region, HIERARCHY_EXTENSION), out -> hierarchyPathCalculator.writeHierarchy(region, out));
+        }
+    }
+
+    /**
+     * Reads the routing data of the given {@link VehicleManager} from the given directory and passes it to its
+     * {@link PathCalculator}s. Missing files are skipped. A file that cannot be read, e.g. because it is damaged, is
+     * deleted without passing any of its data on. In both cases the data is computed when it is needed for the first
+     * time, so the routing data never prevents a problem from being loaded.
+     *
+     * @param vehicleManager The {@link VehicleManager} to read the routing data of.
+     * @param directory The directory to read the files from.
+     */
+    public static void readRoutingCache(VehicleManager vehicleManager, File directory) {
+        Region region = vehicleManager.getRegion();
+        PathCalculator pathCalculator = vehicleManager.getPathCalculator();
+
+        while (pathCalculator instanceof CachedPathCalculator cachedPathCalculator) {
+            read(getFile(directory, region, TREES_EXTENSION), in -> {
+                int count = in.readInt();
+                // the trees are only cached once the whole file has been read
+                List<ShortestPathTree> trees = new ArrayList<>();
+                for (int i = 0; i < count; i++) {
+                    trees.add(ShortestPathTree.read(region, in));
+                }
+                trees.forEach(cachedPathCalculator::putShortestPathTree);
+            });
+            pathCalculator = cachedPathCalculator.getDelegate();
+        }
+
+        if (pathCalculator instanceof LandmarkPathCalculator landmarkPathCalculator) {
+            read(getFile(directory, region, LANDMARKS_EXTENSION), in -> {
+                LandmarkTable table = LandmarkTable.read(in);
+                // a table with another amount of landmarks is computed again
+                if (table.matches(region) && table.getLandmarkCount() == Math.min(landmarkPathCalculator.getLandmarkCount(), region.getNodes().size())) {
+                    landmarkPathCalculator.setLandmarkTable(region, table);
+                }
+            });
+        } else if (pathCalculator instanceof ContractionHierarchyPathCalculator hierarchyPathCalculator) {
+            read(getFile(directory, region, HIERARCHY_EXTENSION), in -> hierarchyPathCalculator.readHierarchy(region, in));
+        }
+    }
+
+    private static File getFile(File directory, Region region, String extension) {
+        return Path.of(directory.getPath(), "%016x.v%d%s".formatted(region.getFingerprint(), CACHE_VERSION, extension)).toFile();
+    }
+
+    /**
+     * Writes a file into a temporary file first and replaces the old file afterwards, so that a file that is currently
+     * mapped is never modified.
+     */
+    private static void write(File file, DataWriter writer) throws IOException {
+        Path temporary = Files.createTempFile(file.getParentFile().toPath(), file.getName(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                writer.write(out);
+            }
+            Files.move(temporary, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Reads a file if it exists and deletes it if it cannot be read. The reader must not pass any data on before it has
+     * read all of it.
+     */
+    private static void read(File file, DataReader reader) {
+        if (!file.exists()) {
+            return;
+        }
+        try {
+            MappedByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            reader.read(new DataInputStream(new ByteBufferInputStream(buffer)));
+        } catch (IOException | RuntimeException e) {
+            // damaged data may also fail with unchecked exceptions, e.g. when an array index is out of range
+            try {
+                Files.deleteIfExists(file.toPath());
+            } catch (IOException ignored) {
+                // the file is replaced the next time the routing data is written
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface DataWriter {
+        void write(DataOutput out) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface DataReader {
+        void read(DataInput in) throws IOException;
+    }
+
+    /**
+     * An {@link InputStream} reading the remaining bytes of a {@link ByteBuffer}.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
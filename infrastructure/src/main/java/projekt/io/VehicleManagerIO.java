@@ -14,7 +14,11 @@ public class VehicleManagerIO {
 
     private static final Map<String, Function<Object, ? extends PathCalculator>> DESERIALIZED_PATH_CALCULATOR = Map.of(
         CachedPathCalculator.class.getSimpleName(), pathCalculator -> new CachedPathCalculator((PathCalculator) pathCalculator),
-        DijkstraPathCalculator.class.getSimpleName(), ignored -> new DijkstraPathCalculator()
+        DijkstraPathCalculator.class.getSimpleName(), ignored -> new DijkstraPathCalculator(),
+        BidirectionalDijkstraPathCalculator.class.getSimpleName(), ignored -> new BidirectionalDijkstraPathCalculator(),
+        AStarPathCalculator.class.getSimpleName(), ignored -> new AStarPathCalculator(),
+        LandmarkPathCalculator.class.getSimpleName(), ignored -> new LandmarkPathCalculator(),
+        ContractionHierarchyPathCalculator.class.getSimpleName(), ignored -> new ContractionHierarchyPathCalculator()
     );
 
     public static VehicleManager readVehicleManager(BufferedReader reader, Region region) {
@@ -98,8 +102,6 @@ public class VehicleManagerIO {
             throw new RuntimeException("unknown name of pathCalculator: %s".formatted(serializedPathCalculator));
         }
 
-        PathCalculator returnPC = currentPC;
-
         //handle cached Path Calculators
         for (int i = split.length - 2; i >= 0; i--) {
             PathCalculator PC;
@@ -107,6 +109,6 @@ public class VehicleManagerIO {
             currentPC = PC;
         }
 
-        return returnPC;
+        return currentPC;
     }
 }
@@ -2,7 +2,11 @@ package projekt;
 
 public class Main {
 
-    public static void main(String[] args) throws ClassNotFoundException, InstantiationException, IllegalAccessException {
+    public static void main(String[] args) throws ReflectiveOperationException {
+        if (args.length > 0 && args[0].equals("--batch")) {
+            startBatch(args);
+            return;
+        }
         startWithGUI();
         //startWithoutGUI(); //can bew used instead to run a simulation without a gui
     }
@@ -13,6 +17,17 @@ public class Main {
         projekt.start();
     }
 
+    /**
+     * Runs simulations for a grid of parameters without a gui, e.g. on a server without a display.
+     * Run with {@code --batch --help} to see the available options.
+     */
+    private static void startBatch(String[] args) throws ReflectiveOperationException {
+        Projekt projekt = (Projekt) Class.forName("projekt.BatchProjektImpl")
+            .getConstructor(String[].class)
+            .newInstance((Object) args);
+        projekt.start();
+    }
+
     @SuppressWarnings("unused")
     private static void startWithoutGUI() {
         Projekt projekt = new BasicProjektImpl();